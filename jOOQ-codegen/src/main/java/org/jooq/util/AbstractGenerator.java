@@ -96,6 +96,8 @@ abstract class AbstractGenerator implements Generator {
     boolean                            generateTableValuedFunctions       = false;
     boolean                            generateEmptyCatalogs              = false;
     boolean                            generateEmptySchemas               = false;
+    boolean                            generateIncremental                = false;
+    String                             configurationFingerprint           = "";
 
     protected GeneratorStrategyWrapper strategy;
     protected String                   targetEncoding                     = "UTF-8";
@@ -633,6 +635,26 @@ abstract class AbstractGenerator implements Generator {
         this.generateEmptySchemas = generateEmptySchemas;
     }
 
+    @Override
+    public boolean generateIncremental() {
+        return generateIncremental;
+    }
+
+    @Override
+    public void setGenerateIncremental(boolean generateIncremental) {
+        this.generateIncremental = generateIncremental;
+    }
+
+    @Override
+    public String getConfigurationFingerprint() {
+        return configurationFingerprint;
+    }
+
+    @Override
+    public void setConfigurationFingerprint(String configurationFingerprint) {
+        this.configurationFingerprint = configurationFingerprint;
+    }
+
     // ----
 
     @Override
@@ -0,0 +1,362 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jooq.Constants;
+import org.jooq.tools.JooqLogger;
+
+/**
+ * A persistent cache of fingerprints of generated {@link Definition}s.
+ * <p>
+ * The cache is stored in a properties file next to the generated code. It
+ * maps each generated file (relative to the file root) to a hash of the
+ * definition it was generated from. If a definition's hash hasn't changed
+ * since the previous code generation run, and the configuration hash hasn't
+ * changed either, the file does not need to be regenerated.
+ *
+ * @author Lukas Eder
+ */
+class Fingerprints {
+
+    private static final JooqLogger   log               = JooqLogger.getLogger(Fingerprints.class);
+
+    /**
+     * The name of the file containing the fingerprints.
+     */
+    static final String               FILE_NAME         = ".jooq-fingerprints.properties";
+
+    /**
+     * The property key containing the configuration fingerprint.
+     */
+    private static final String       KEY_CONFIGURATION = "configuration";
+
+    private final File                root;
+    private final File                file;
+    private final String              configuration;
+    private final Map<String, String> previous;
+    private final Map<String, String> pending;
+    private final Map<String, String> next;
+
+    private Fingerprints(File root, String configuration, Map<String, String> previous) {
+        this.root = root;
+        this.file = new File(root, FILE_NAME);
+        this.configuration = configuration;
+        this.previous = previous;
+        this.pending = new TreeMap<String, String>();
+        this.next = new TreeMap<String, String>();
+    }
+
+    /**
+     * Load the fingerprints of a previous code generation run from a file
+     * root.
+     * <p>
+     * If the previous run used a different configuration (or jOOQ version),
+     * all previous fingerprints are discarded.
+     */
+    static Fingerprints load(File root, String configuration) {
+        String c = hash(Constants.VERSION + "\n" + configuration);
+        Map<String, String> previous = new TreeMap<String, String>();
+        File file = new File(root, FILE_NAME);
+
+        if (file.exists()) {
+            InputStream in = null;
+
+            try {
+                in = new FileInputStream(file);
+                Properties properties = new Properties();
+                properties.load(in);
+
+                if (c.equals(properties.getProperty(KEY_CONFIGURATION))) {
+                    for (String key : properties.stringPropertyNames())
+                        if (!KEY_CONFIGURATION.equals(key))
+                            previous.put(key, properties.getProperty(key));
+                }
+                else {
+                    log.info("Configuration has changed since previous code generation. Regenerating all files.");
+                }
+            }
+            catch (IOException e) {
+                log.warn("Could not read fingerprints from " + file + ". Regenerating all files.", e);
+            }
+            finally {
+                close(in);
+            }
+        }
+
+        return new Fingerprints(root, c, previous);
+    }
+
+    /**
+     * Check whether a file is up to date with respect to the definition it is
+     * generated from.
+     * <p>
+     * The fingerprint of an up to date file is remembered immediately. The
+     * fingerprint of a file that needs to be regenerated is remembered only
+     * once the file has been {@link #generated(File)}.
+     */
+    boolean upToDate(File generated, Definition definition) {
+        String key = key(generated);
+        String hash = fingerprint(definition);
+
+        if (generated.exists() && hash.equals(previous.get(key))) {
+            next.put(key, hash);
+            return true;
+        }
+
+        pending.put(key, hash);
+        return false;
+    }
+
+    /**
+     * Remember the fingerprint of a file that has been written successfully.
+     */
+    void generated(File generated) {
+        String key = key(generated);
+        String hash = pending.remove(key);
+
+        if (hash != null)
+            next.put(key, hash);
+    }
+
+    /**
+     * Store the fingerprints of all files that are part of the current code
+     * generation run.
+     * <p>
+     * Fingerprints of files that were not generated (e.g. because their
+     * definitions were removed, or because they failed to generate) are
+     * discarded, unless they are contained in a directory that was excluded
+     * from this run.
+     */
+    void store(Set<File> files, Set<File> directoriesNotForRemoval) {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_CONFIGURATION, configuration);
+
+        for (File f : files) {
+            String key = key(f);
+            String hash = next.get(key);
+
+            if (hash != null)
+                properties.setProperty(key, hash);
+        }
+
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            File f = new File(root, entry.getKey());
+
+            for (File d : directoriesNotForRemoval)
+                if (contains(d, f))
+                    properties.setProperty(entry.getKey(), entry.getValue());
+        }
+
+        OutputStream out = null;
+
+        try {
+            root.mkdirs();
+            out = new FileOutputStream(file);
+            properties.store(out, "jOOQ code generation fingerprints. Do not edit.");
+        }
+        catch (IOException e) {
+            log.warn("Could not write fingerprints to " + file, e);
+        }
+        finally {
+            close(out);
+        }
+    }
+
+    private String key(File generated) {
+        String r = root.getAbsolutePath();
+        String f = generated.getAbsolutePath();
+
+        if (contains(root, generated))
+            f = f.substring(r.length());
+
+        return f.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Whether a file is contained in a directory, e.g. <code>/a/foo/x</code>
+     * is contained in <code>/a/foo</code>, but <code>/a/foobar/x</code> is
+     * not.
+     */
+    private static boolean contains(File directory, File file) {
+        String d = directory.getAbsolutePath();
+
+        if (!d.endsWith(File.separator))
+            d = d + File.separator;
+
+        return file.getAbsolutePath().startsWith(d);
+    }
+
+    // -------------------------------------------------------------------------
+    // Fingerprint computation
+    // -------------------------------------------------------------------------
+
+    /**
+     * Compute a fingerprint of everything that contributes to the code
+     * generated from a definition.
+     */
+    static String fingerprint(Definition definition) {
+        StringBuilder sb = new StringBuilder();
+
+        describe(sb, definition);
+
+        if (definition instanceof TableDefinition) {
+            TableDefinition table = (TableDefinition) definition;
+
+            sb.append("|tvf:").append(table.isTableValuedFunction());
+            if (table.getParentTable() != null)
+                sb.append("|parent:").append(table.getParentTable().getQualifiedOutputName());
+
+            for (ColumnDefinition column : table.getColumns())
+                describe(sb.append("|column:"), column);
+
+            for (ParameterDefinition parameter : table.getParameters())
+                describe(sb.append("|parameter:"), parameter);
+
+            if (table.getIdentity() != null)
+                sb.append("|identity:").append(table.getIdentity().getColumn().getOutputName());
+
+            if (table.getPrimaryKey() != null)
+                describe(sb.append("|pk:"), table.getPrimaryKey());
+
+            for (UniqueKeyDefinition key : table.getUniqueKeys())
+                describe(sb.append("|uk:"), key);
+
+            for (ForeignKeyDefinition key : table.getForeignKeys()) {
+                describe(sb.append("|fk:"), key);
+                describe(sb.append("->"), key.getReferencedKey());
+            }
+
+            for (IndexDefinition index : table.getIndexes()) {
+                describe(sb.append("|index:"), index);
+                sb.append(":").append(index.isUnique());
+
+                for (IndexColumnDefinition column : index.getIndexColumns())
+                    sb.append(":").append(column.getOutputName()).append(" ").append(column.getSortOrder());
+            }
+        }
+        else if (definition instanceof UDTDefinition) {
+            UDTDefinition udt = (UDTDefinition) definition;
+
+            for (AttributeDefinition attribute : udt.getAttributes())
+                describe(sb.append("|attribute:"), attribute);
+
+            for (RoutineDefinition routine : udt.getRoutines())
+                describe(sb.append("|routine:"), routine);
+        }
+
+        return hash(sb.toString());
+    }
+
+    private static void describe(StringBuilder sb, Definition definition) {
+        sb.append(definition.getQualifiedOutputName())
+          .append(":").append(definition.getOverload())
+          .append(":").append(definition.getComment());
+
+        if (definition instanceof TypedElementDefinition) {
+            DataTypeDefinition type = ((TypedElementDefinition<?>) definition).getType();
+
+            sb.append(":").append(type.getType())
+              .append(":").append(type.getLength())
+              .append(":").append(type.getPrecision())
+              .append(":").append(type.getScale())
+              .append(":").append(type.getUserType())
+              .append(":").append(type.getJavaType())
+              .append(":").append(type.getConverter())
+              .append(":").append(type.getBinding())
+              .append(":").append(type.isNullable())
+              .append(":").append(type.isIdentity())
+              .append(":").append(type.isDefaulted())
+              .append(":").append(type.getDefaultValue());
+        }
+
+        if (definition instanceof ColumnDefinition) {
+            ColumnDefinition column = (ColumnDefinition) definition;
+
+            sb.append(":").append(column.getPosition())
+              .append(":").append(column.isIdentity());
+        }
+        else if (definition instanceof UniqueKeyDefinition) {
+            for (ColumnDefinition column : ((UniqueKeyDefinition) definition).getKeyColumns())
+                sb.append(":").append(column.getOutputName());
+        }
+        else if (definition instanceof ForeignKeyDefinition) {
+            for (ColumnDefinition column : ((ForeignKeyDefinition) definition).getKeyColumns())
+                sb.append(":").append(column.getOutputName());
+        }
+    }
+
+    static String hash(String string) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] bytes = digest.digest(string.getBytes("UTF-8"));
+            StringBuilder sb = new StringBuilder();
+
+            for (byte b : bytes)
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16))
+                  .append(Character.forDigit(b & 0xF, 16));
+
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new GeneratorException("SHA-1 not available", e);
+        }
+        catch (IOException e) {
+            throw new GeneratorException("UTF-8 not available", e);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            }
+            catch (IOException ignore) {}
+        }
+    }
+}
@@ -600,6 +600,15 @@ public class GenerationTool {
                 generator.setGenerateEmptyCatalogs(g.getGenerate().isEmptyCatalogs());
             if (g.getGenerate().isEmptySchemas() != null)
                 generator.setGenerateEmptySchemas(g.getGenerate().isEmptySchemas());
+            if (g.getGenerate().isIncremental() != null)
+                generator.setGenerateIncremental(g.getGenerate().isIncremental());
+
+            // Any change to the configuration may affect any generated file
+            if (generator.generateIncremental()) {
+                StringWriter writer = new StringWriter();
+                JAXB.marshal(configuration, writer);
+                generator.setConfigurationFingerprint(writer.toString());
+            }
 
 
             // [#3669] Optional Database element
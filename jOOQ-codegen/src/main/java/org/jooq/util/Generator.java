@@ -525,6 +525,30 @@ public interface Generator {
      */
     void setGenerateEmptySchemas(boolean generateEmptySchemas);
 
+    /**
+     * Whether files should only be regenerated if their definitions have
+     * changed since the previous code generation run.
+     */
+    boolean generateIncremental();
+
+    /**
+     * Whether files should only be regenerated if their definitions have
+     * changed since the previous code generation run.
+     */
+    void setGenerateIncremental(boolean generateIncremental);
+
+    /**
+     * A textual representation of the code generation configuration, used to
+     * detect configuration changes between incremental code generation runs.
+     */
+    String getConfigurationFingerprint();
+
+    /**
+     * A textual representation of the code generation configuration, used to
+     * detect configuration changes between incremental code generation runs.
+     */
+    void setConfigurationFingerprint(String configurationFingerprint);
+
     /**
      * The target directory
      */
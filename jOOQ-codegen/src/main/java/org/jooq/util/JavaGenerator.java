@@ -208,6 +208,12 @@ public class JavaGenerator extends AbstractGenerator {
      */
     private Set<File>                             directoriesNotForRemoval     = new LinkedHashSet<File>();
 
+    /**
+     * The fingerprints of generated definitions, if incremental code
+     * generation is active.
+     */
+    private Fingerprints                          fingerprints;
+
     private final boolean                         scala;
     private final String                          tokenVoid;
 
@@ -300,6 +306,7 @@ public class JavaGenerator extends AbstractGenerator {
               ((!generateRelations && generateDaos) ? " (forced to true because of <daos/>)" : "")));
         log.info("  table-valued functions", generateTableValuedFunctions());
         log.info("  global references", generateGlobalObjectReferences());
+        log.info("  incremental", generateIncremental());
         log.info("----------------------------------------------------------");
 
         if (!generateInstanceFields()) {
@@ -315,6 +322,9 @@ public class JavaGenerator extends AbstractGenerator {
         log.info("");
         log.info("----------------------------------------------------------");
 
+        if (generateIncremental())
+            fingerprints = Fingerprints.load(getStrategy().getFileRoot(), getConfigurationFingerprint());
+
         // ----------------------------------------------------------------------
         // XXX Generating catalogs
         // ----------------------------------------------------------------------
@@ -334,6 +344,12 @@ public class JavaGenerator extends AbstractGenerator {
         // [#5556] Clean up common parent directory
         log.info("Removing excess files");
         empty(getStrategy().getFileRoot(), (scala ? ".scala" : ".java"), files, directoriesNotForRemoval);
+
+        if (fingerprints != null) {
+            fingerprints.store(files, directoriesNotForRemoval);
+            fingerprints = null;
+        }
+
         directoriesNotForRemoval.clear();
         files.clear();
     }
@@ -1058,6 +1074,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (TableDefinition table : database.getTables(schema)) {
             try {
+                if (upToDate(table, Mode.RECORD))
+                    continue;
+
                 generateRecord(table);
             } catch (Exception e) {
                 log.error("Error while generating table record " + table, e);
@@ -1636,6 +1655,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (TableDefinition table : database.getTables(schema)) {
             try {
+                if (upToDate(table, Mode.INTERFACE))
+                    continue;
+
                 generateInterface(table);
             } catch (Exception e) {
                 log.error("Error while generating table interface " + table, e);
@@ -1819,6 +1841,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (UDTDefinition udt : database.getUDTs(schema)) {
             try {
+                if (upToDate(udt, Mode.DEFAULT))
+                    continue;
+
                 generateUDT(schema, udt);
             } catch (Exception e) {
                 log.error("Error while generating udt " + udt, e);
@@ -1976,6 +2001,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (UDTDefinition udt : database.getUDTs(schema)) {
             try {
+                if (upToDate(udt, Mode.POJO))
+                    continue;
+
                 generateUDTPojo(udt);
             }
             catch (Exception e) {
@@ -2004,6 +2032,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (UDTDefinition udt : database.getUDTs(schema)) {
             try {
+                if (upToDate(udt, Mode.INTERFACE))
+                    continue;
+
                 generateUDTInterface(udt);
             } catch (Exception e) {
                 log.error("Error while generating UDT interface " + udt, e);
@@ -2034,6 +2065,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (UDTDefinition udt : database.getUDTs(schema)) {
             try {
+                if (upToDate(udt, Mode.RECORD))
+                    continue;
+
                 generateUDTRecord(udt);
             } catch (Exception e) {
                 log.error("Error while generating UDT record " + udt, e);
@@ -2710,6 +2744,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (TableDefinition table : database.getTables(schema)) {
             try {
+                if (upToDate(table, Mode.DAO))
+                    continue;
+
                 generateDao(table);
             }
             catch (Exception e) {
@@ -2923,6 +2960,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (TableDefinition table : database.getTables(schema)) {
             try {
+                if (upToDate(table, Mode.POJO))
+                    continue;
+
                 generatePojo(table);
             }
             catch (Exception e) {
@@ -3498,6 +3538,9 @@ public class JavaGenerator extends AbstractGenerator {
 
         for (TableDefinition table : database.getTables(schema)) {
             try {
+                if (upToDate(table, Mode.DEFAULT))
+                    continue;
+
                 generateTable(schema, table);
             }
             catch (Exception e) {
@@ -6025,9 +6068,32 @@ public class JavaGenerator extends AbstractGenerator {
         return file;
     }
 
+    /**
+     * Check whether a file generated from a definition is still up to date
+     * with respect to the previous code generation run, in case of which it
+     * does not need to be regenerated.
+     */
+    protected boolean upToDate(Definition definition, Mode mode) {
+        if (fingerprints == null)
+            return false;
+
+        File file = getFile(definition, mode);
+        if (fingerprints.upToDate(file, definition)) {
+            log.debug("Up to date", file.getName());
+            files.add(file);
+            return true;
+        }
+
+        return false;
+    }
+
     // [#4626] Users may need to call this method
     protected void closeJavaWriter(JavaWriter out) {
-        if (out.close())
+        if (out.close()) {
             files.add(out.file());
+
+            if (fingerprints != null)
+                fingerprints.generated(out.file());
+        }
     }
 }
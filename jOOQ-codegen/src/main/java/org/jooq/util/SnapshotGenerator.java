@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.jooq.tools.JooqLogger;
+import org.jooq.util.xml.InformationSchemaSnapshot;
+import org.jooq.util.xml.SnapshotDatabase;
+import org.jooq.util.xml.jaxb.InformationSchema;
+
+/**
+ * A generator that exports a {@link Database}'s meta data to a binary
+ * {@link InformationSchemaSnapshot}.
+ * <p>
+ * The resulting <code>information_schema.snapshot</code> file can be read
+ * back by the {@link SnapshotDatabase}, e.g. to repeatedly generate code
+ * offline, without connecting to the live database.
+ *
+ * @author Lukas Eder
+ */
+public class SnapshotGenerator extends XMLGenerator {
+
+    private static final JooqLogger log = JooqLogger.getLogger(SnapshotGenerator.class);
+
+    @Override
+    protected void generate(InformationSchema is) {
+        File file = getStrategy().getFile("information_schema.snapshot");
+        log.info("");
+        log.info("Generating snapshot", file.getName());
+        log.info("==========================================================");
+
+        OutputStream out = null;
+
+        try {
+            file.getParentFile().mkdirs();
+            out = new BufferedOutputStream(new FileOutputStream(file));
+            InformationSchemaSnapshot.write(is, out);
+        }
+        catch (IOException e) {
+            throw new GeneratorException("Error writing " + file.getAbsolutePath(), e);
+        }
+        finally {
+            if (out != null) {
+                try {
+                    out.close();
+                }
+                catch (IOException ignore) {}
+            }
+        }
+    }
+}
@@ -82,11 +82,29 @@ public class XMLGenerator extends AbstractGenerator {
         log.info("");
         log.info("----------------------------------------------------------");
 
+        InformationSchema is = informationSchema(db);
+        generate(is);
+    }
+
+    /**
+     * Write the exported {@link InformationSchema} to the target directory.
+     */
+    protected void generate(InformationSchema is) {
         TextWriter out = new TextWriter(getStrategy().getFile("information_schema.xml"), targetEncoding);
         log.info("");
         log.info("Generating XML", out.file().getName());
         log.info("==========================================================");
 
+        StringWriter writer = new StringWriter();
+        JAXB.marshal(is, writer);
+        out.print(writer.toString());
+        out.close();
+    }
+
+    /**
+     * Export a {@link Database}'s meta data to an {@link InformationSchema}.
+     */
+    protected InformationSchema informationSchema(Database db) {
         InformationSchema is = new InformationSchema();
 
         for (CatalogDefinition c : db.getCatalogs()) {
@@ -288,10 +306,7 @@ public class XMLGenerator extends AbstractGenerator {
             }
         }
 
-        StringWriter writer = new StringWriter();
-        JAXB.marshal(is, writer);
-        out.print(writer.toString());
-        out.close();
+        return is;
     }
 
     private void exportRoutine(InformationSchema is, RoutineDefinition r, String catalogName, String schemaName) {
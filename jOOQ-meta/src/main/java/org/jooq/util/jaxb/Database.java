@@ -171,6 +171,7 @@ public class Database implements Serializable
      * This value can be used to reverse-engineer standard jOOQ-meta XML formats.
      * <ul>
      * <li>{@link org.jooq.util.xml.XMLDatabase}</li>
+     * <li>{@link org.jooq.util.xml.SnapshotDatabase}</li>
      * </ul>
      * <p>
      * This value can be used to reverse-engineer JPA annotated entities
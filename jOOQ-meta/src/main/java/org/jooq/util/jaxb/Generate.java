@@ -115,6 +115,8 @@ public class Generate implements Serializable
     protected Boolean emptySchemas = false;
     @XmlElement(defaultValue = "false")
     protected Boolean javaTimeTypes = false;
+    @XmlElement(defaultValue = "false")
+    protected Boolean incremental = false;
 
     /**
      * Generate index information.
@@ -1106,6 +1108,32 @@ public class Generate implements Serializable
         this.javaTimeTypes = value;
     }
 
+    /**
+     * Whether code generation should skip regenerating files whose definitions haven't changed since the previous code generation run.
+     * <p>
+     * Fingerprints of generated definitions are stored along with the generated code. If the configuration changes, all files are regenerated.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Sets the value of the incremental property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setIncremental(Boolean value) {
+        this.incremental = value;
+    }
+
     public Generate withIndexes(Boolean value) {
         setIndexes(value);
         return this;
@@ -1306,4 +1334,9 @@ public class Generate implements Serializable
         return this;
     }
 
+    public Generate withIncremental(Boolean value) {
+        setIncremental(value);
+        return this;
+    }
+
 }
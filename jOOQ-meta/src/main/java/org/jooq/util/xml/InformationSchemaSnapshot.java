@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.util.xml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jooq.Constants;
+import org.jooq.util.xml.jaxb.InformationSchema;
+
+/**
+ * A binary snapshot format for {@link InformationSchema} content.
+ * <p>
+ * Snapshots contain the same information as the XML files consumed by the
+ * {@link XMLDatabase}, but they can be read much faster, as no XML parsing and
+ * JAXB unmarshalling is involved. The format consists of a header containing a
+ * magic number and a format version, followed by the GZIP compressed,
+ * serialised {@link InformationSchema}. Repeated strings (e.g. catalog,
+ * schema, and table names) are written only once.
+ * <p>
+ * Snapshots are not meant to be exchanged between different jOOQ versions. If
+ * a snapshot was written by a different jOOQ version, reading it fails.
+ * Reading a snapshot resolves only the {@link InformationSchema} types and the
+ * JDK collection and value types they use, such that a snapshot cannot
+ * instantiate arbitrary classes.
+ *
+ * @author Lukas Eder
+ * @see SnapshotDatabase
+ */
+public final class InformationSchemaSnapshot {
+
+    /**
+     * The magic number identifying snapshot files.
+     */
+    private static final int         MAGIC        = 0x6A4F4F51;
+
+    /**
+     * The version of the snapshot format.
+     */
+    private static final int         VERSION      = 1;
+
+    /**
+     * The package of the {@link InformationSchema} types.
+     */
+    private static final String      JAXB_PACKAGE = InformationSchema.class.getPackage().getName() + ".";
+
+    /**
+     * The JDK types used by the {@link InformationSchema} types.
+     */
+    private static final Set<String> JDK_TYPES    = new HashSet<String>(Arrays.asList(
+        ArrayList.class.getName(),
+        Boolean.class.getName(),
+        Enum.class.getName(),
+        Integer.class.getName(),
+        Number.class.getName(),
+        String.class.getName()
+    ));
+
+    /**
+     * Write an {@link InformationSchema} snapshot to an {@link OutputStream}.
+     * <p>
+     * The stream is not closed by this method.
+     */
+    public static void write(InformationSchema info, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(Constants.VERSION);
+        data.flush();
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        ObjectOutputStream oos = new StringSharingObjectOutputStream(new BufferedOutputStream(gzip));
+        oos.writeObject(info);
+        oos.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Read an {@link InformationSchema} snapshot from an {@link InputStream}.
+     * <p>
+     * The stream is not closed by this method.
+     */
+    public static InformationSchema read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+
+        if (data.readInt() != MAGIC)
+            throw new IOException("Not an information schema snapshot");
+
+        int version = data.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported snapshot format version: " + version);
+
+        String jooqVersion = data.readUTF();
+        if (!Constants.VERSION.equals(jooqVersion))
+            throw new IOException("Snapshot was written by jOOQ " + jooqVersion + ", but this is jOOQ " + Constants.VERSION);
+
+        ObjectInputStream ois = new InformationSchemaObjectInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+
+        try {
+            return (InformationSchema) ois.readObject();
+        }
+        catch (ClassNotFoundException e) {
+            throw new IOException("Error while reading snapshot", e);
+        }
+        catch (ClassCastException e) {
+            throw new IOException("Error while reading snapshot", e);
+        }
+    }
+
+    /**
+     * An {@link ObjectOutputStream} that replaces equal strings by a single
+     * instance, such that they are serialised as back references.
+     */
+    private static final class StringSharingObjectOutputStream extends ObjectOutputStream {
+        private final Map<String, String> strings = new HashMap<String, String>();
+
+        StringSharingObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            if (obj instanceof String) {
+                String existing = strings.get(obj);
+
+                if (existing != null)
+                    return existing;
+
+                strings.put((String) obj, (String) obj);
+            }
+
+            return obj;
+        }
+    }
+
+    /**
+     * An {@link ObjectInputStream} that resolves only the types that an
+     * {@link InformationSchema} consists of.
+     */
+    private static final class InformationSchemaObjectInputStream extends ObjectInputStream {
+
+        InformationSchemaObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+
+            if (JDK_TYPES.contains(name)
+                    || name.startsWith(JAXB_PACKAGE) && name.indexOf('.', JAXB_PACKAGE.length()) == -1)
+                return super.resolveClass(desc);
+            else
+                throw new InvalidClassException(name, "Type is not allowed in an information schema snapshot");
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed in an information schema snapshot");
+        }
+    }
+
+    private InformationSchemaSnapshot() {}
+}
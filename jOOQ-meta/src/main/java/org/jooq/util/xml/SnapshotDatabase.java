@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.util.xml;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jooq.tools.JooqLogger;
+import org.jooq.util.xml.jaxb.InformationSchema;
+
+/**
+ * A database that reads its meta data from an
+ * {@link InformationSchemaSnapshot}.
+ * <p>
+ * This works just like the {@link XMLDatabase}, except that the meta data is
+ * read from a binary snapshot file, which is much faster than parsing XML.
+ * Snapshots can be produced from any other database using the
+ * <code>org.jooq.util.SnapshotGenerator</code>.
+ *
+ * @author Lukas Eder
+ */
+public class SnapshotDatabase extends XMLDatabase {
+
+    private static final JooqLogger log             = JooqLogger.getLogger(SnapshotDatabase.class);
+
+    /**
+     * The property name for the snapshot file
+     */
+    public static final String      P_SNAPSHOT_FILE = "snapshot-file";
+
+    @Override
+    InformationSchema info() {
+        if (info == null) {
+            String snapshot = getProperties().getProperty(P_SNAPSHOT_FILE);
+            InputStream is = null;
+
+            log.info("Using snapshot file", snapshot);
+
+            try {
+                is = SnapshotDatabase.class.getResourceAsStream(snapshot);
+                if (is == null)
+                    is = new FileInputStream(snapshot);
+
+                info = InformationSchemaSnapshot.read(is);
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Error while reading snapshot file " + snapshot, e);
+            }
+            finally {
+                if (is != null) {
+                    try {
+                        is.close();
+                    }
+                    catch (Exception ignore) {}
+                }
+            }
+        }
+
+        return info;
+    }
+}
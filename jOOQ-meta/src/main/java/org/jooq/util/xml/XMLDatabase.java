@@ -132,7 +132,7 @@ public class XMLDatabase extends AbstractDatabase {
 
     InformationSchema               info;
 
-    private InformationSchema info() {
+    InformationSchema info() {
         if (info == null) {
             String xml = getProperties().getProperty(P_XML_FILE);
             String xsl = getProperties().getProperty(P_XSL_FILE);
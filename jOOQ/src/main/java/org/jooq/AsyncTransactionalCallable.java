@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An <code>FunctionalInterface</code> that wraps asynchronous transactional
+ * code.
+ * <p>
+ * Unlike a {@link TransactionalCallable}, which runs all of its queries
+ * synchronously on a single thread, an <code>AsyncTransactionalCallable</code>
+ * composes the {@link CompletionStage}s of individual asynchronous queries,
+ * such as {@link ResultQuery#fetchAsync()} or {@link Query#executeAsync()}.
+ * No thread is held while waiting for these stages to complete. The
+ * transaction is committed or rolled back once the returned stage completes.
+ * <p>
+ * Transactional code should not depend on any captured scope, but use the
+ * argument {@link Configuration} passed to the {@link #run(Configuration)}
+ * method to derive its transaction context. The transaction's connection is
+ * tracked by that <code>Configuration</code>, not by the current thread. As a
+ * single JDBC connection is used, the composed stages must be run
+ * sequentially, not concurrently.
+ *
+ * @author Lukas Eder
+ */
+
+@FunctionalInterface
+
+public interface AsyncTransactionalCallable<T> {
+
+    /**
+     * Run the transactional code.
+     * <p>
+     * If the returned stage completes normally, and this is not a nested
+     * transaction, then the transaction will be committed. If this method
+     * throws an exception, or if the returned stage completes exceptionally,
+     * then the transaction is rolled back.
+     *
+     * @param configuration The <code>Configuration</code> in whose context the
+     *            transaction is run.
+     * @return A stage producing the outcome of the transaction.
+     * @throws Throwable Any exception that will cause a rollback of the code
+     *             contained in this transaction.
+     */
+    CompletionStage<T> run(Configuration configuration) throws Throwable;
+}
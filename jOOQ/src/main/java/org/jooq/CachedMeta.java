@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.sql.DatabaseMetaData;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Meta} implementation that caches the meta information it reads
+ * from the underlying {@link DatabaseMetaData}.
+ * <p>
+ * This object can be obtained through {@link DSLContext#meta(long, TimeUnit)}.
+ * Catalogs, schemas, tables, and each table's keys and indexes are loaded
+ * lazily, the first time they're accessed, and then kept for the configured
+ * time to live. Loading happens individually per catalog, schema, and table,
+ * such that concurrent lookups of different objects don't block each other,
+ * while reads of already cached objects don't acquire any locks.
+ * <p>
+ * Lists returned from a <code>CachedMeta</code> (or from any of the objects
+ * it produces) are shared among callers and cannot be modified.
+ *
+ * @author Lukas Eder
+ */
+public interface CachedMeta extends Meta {
+
+    /**
+     * Discard all cached meta information.
+     * <p>
+     * This affects all objects previously obtained from this
+     * <code>CachedMeta</code>, which will reload their content on the next
+     * access.
+     */
+    void invalidate();
+
+    /**
+     * Discard the cached tables of a schema.
+     * <p>
+     * The schema's table list (including columns) is reloaded on the next
+     * access. Cached information about other schemas is retained.
+     */
+    void invalidate(Schema schema);
+
+    /**
+     * Discard the cached information about a single table.
+     * <p>
+     * The table's columns are reloaded immediately and the table replaces
+     * its previous version in its schema's cached table list. A table that no
+     * longer exists is removed from that list. The table's keys and indexes
+     * are reloaded on the next access. Other tables of the same schema are
+     * retained, including their keys and indexes. Use
+     * {@link #invalidate(Schema)} to discover newly created tables.
+     */
+    void invalidate(Table<?> table);
+}
@@ -34,6 +34,7 @@
  */
 package org.jooq;
 
+import java.io.OutputStream;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
@@ -44,6 +45,7 @@ import java.util.stream.Stream;
 
 import org.jooq.conf.Settings;
 import org.jooq.exception.DataAccessException;
+import org.jooq.exception.IOException;
 import org.jooq.exception.MappingException;
 import org.jooq.impl.DefaultRecordMapper;
 
@@ -326,6 +328,20 @@ public interface Cursor<R extends Record> extends Iterable<R> , AutoCloseable  {
      */
     <H extends RecordHandler<? super R>> H fetchNextInto(H handler) throws DataAccessException;
 
+    /**
+     * Write all remaining records onto an {@link OutputStream} in the binary
+     * format produced by {@link Result#writeTo(OutputStream)}.
+     * <p>
+     * Records are encoded in blocks while they are fetched, without
+     * materialising a {@link Result}. This will conveniently close the
+     * <code>Cursor</code>, after the last <code>Record</code> was fetched.
+     *
+     * @throws DataAccessException if something went wrong executing the query
+     * @throws IOException - an unchecked wrapper for {@link java.io.IOException}, if anything goes wrong.
+     * @see DSLContext#readResult(java.io.InputStream)
+     */
+    void writeTo(OutputStream stream) throws DataAccessException, IOException;
+
     /**
      * @deprecated - 3.10 - [#6363] - Use {@link #fetchNextInto(Class)} instead.
      */
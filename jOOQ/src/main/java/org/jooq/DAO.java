@@ -238,6 +238,19 @@ public interface DAO<R extends TableRecord<R>, P, T> {
      */
     P findById(T id) throws DataAccessException;
 
+    /**
+     * Find records of the underlying table by IDs.
+     * <p>
+     * Large collections of IDs are split into several statements, each of
+     * which binds at most as many values as supported by the dialect.
+     *
+     * @param ids The IDs of records in the underlying table
+     * @return The records of the underlying table given their IDs. Records
+     *         that were not found are omitted.
+     * @throws DataAccessException if something went wrong executing the query
+     */
+    List<P> findAllById(Collection<T> ids) throws DataAccessException;
+
     /**
      * Find records by a given field and a set of values.
      *
@@ -59,6 +59,7 @@ import static org.jooq.SQLDialect.SQLITE;
 // ...
 // ...
 
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -72,6 +73,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -221,6 +223,23 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     Meta meta();
 
+    /**
+     * Access the database meta data, caching it for a given time to live.
+     * <p>
+     * Unlike {@link #meta()}, which reads the JDBC connection's database meta
+     * data on each access, the returned object caches catalogs, schemas,
+     * tables, and each table's keys and indexes once they have been loaded.
+     * Reads of cached objects are lock-free, making the returned object
+     * suitable to be shared among threads and to be used on hot paths. Cached
+     * objects can be discarded explicitly using the
+     * {@link CachedMeta#invalidate()} methods.
+     *
+     * @param ttl The time to live of cached objects. A non-positive value
+     *            keeps objects cached until they are invalidated.
+     * @param unit The time unit of <code>ttl</code>
+     */
+    CachedMeta meta(long ttl, TimeUnit unit);
+
     /**
      * Access the databse meta data from its serialised form.
      */
@@ -454,6 +473,57 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     CompletionStage<Void> transactionAsync(Executor executor, TransactionalRunnable transactional) throws ConfigurationException;
 
+    /**
+     * Run an {@link AsyncTransactionalCallable} asynchronously.
+     * <p>
+     * The transaction is started in the context of this
+     * <code>DSLContext</code>'s underlying {@link #configuration()}'s
+     * {@link Configuration#transactionProvider()} by a task run by an
+     * {@link Executor} provided by the underlying {@link #configuration()}'s
+     * {@link Configuration#executorProvider()}. The
+     * <code>transactional</code>'s stage is then composed of individual
+     * asynchronous queries, between which no thread is held. Once that stage
+     * completes, the transaction is committed or rolled back, and the
+     * returned {@link CompletionStage} is completed with the outcome.
+     * <p>
+     * All stages composed by the <code>transactional</code> share the
+     * transaction's single JDBC connection, so they must run sequentially,
+     * not concurrently. If the {@link Executor} rejects the task that commits
+     * or rolls back the transaction, the transaction is rolled back in the
+     * thread that completes the <code>transactional</code>'s stage.
+     *
+     * @param transactional The transactional code
+     * @return The transactional outcome
+     * @throws ConfigurationException If this is run with a
+     *             {@link ThreadLocalTransactionProvider}.
+     */
+    <T> CompletionStage<T> transactionStageAsync(AsyncTransactionalCallable<T> transactional) throws ConfigurationException;
+
+    /**
+     * Run an {@link AsyncTransactionalCallable} asynchronously.
+     * <p>
+     * The transaction is started in the context of this
+     * <code>DSLContext</code>'s underlying {@link #configuration()}'s
+     * {@link Configuration#transactionProvider()} by a task run by a given
+     * {@link Executor}. The <code>transactional</code>'s stage is then
+     * composed of individual asynchronous queries, between which no thread is
+     * held. Once that stage completes, the transaction is committed or rolled
+     * back, and the returned {@link CompletionStage} is completed with the
+     * outcome.
+     * <p>
+     * All stages composed by the <code>transactional</code> share the
+     * transaction's single JDBC connection, so they must run sequentially,
+     * not concurrently. If the {@link Executor} rejects the task that commits
+     * or rolls back the transaction, the transaction is rolled back in the
+     * thread that completes the <code>transactional</code>'s stage.
+     *
+     * @param transactional The transactional code
+     * @return The transactional outcome
+     * @throws ConfigurationException If this is run with a
+     *             {@link ThreadLocalTransactionProvider}.
+     */
+    <T> CompletionStage<T> transactionStageAsync(Executor executor, AsyncTransactionalCallable<T> transactional) throws ConfigurationException;
+
 
 
     /**
@@ -3648,6 +3718,58 @@ public interface DSLContext extends Scope , AutoCloseable  {
      */
     Result<Record> fetchFromStringData(List<String[]> data, boolean header);
 
+    /**
+     * Read a result from an {@link InputStream} that was written using
+     * {@link Result#writeTo(java.io.OutputStream)} or
+     * {@link Cursor#writeTo(java.io.OutputStream)}.
+     * <p>
+     * The fields of the resulting records have the names and the Java types of
+     * the original fields, if those types have a dedicated binary encoding.
+     * Fields of other types are read as
+     * {@link org.jooq.impl.SQLDataType#OTHER}.
+     * <p>
+     * The stream is treated as untrusted input: no classes are loaded by the
+     * names contained in the stream, and values that were written using Java
+     * serialisation are rejected. Use
+     * {@link #readResult(InputStream, Class...)} to read such values from a
+     * trusted source.
+     *
+     * @param stream The input stream
+     * @return The result. This will never be <code>null</code>.
+     * @throws org.jooq.exception.IOException - an unchecked wrapper for
+     *             {@link java.io.IOException}, if anything goes wrong, e.g.
+     *             if the stream does not contain a binary result, or if it
+     *             contains Java serialised values.
+     */
+    Result<Record> readResult(InputStream stream);
+
+    /**
+     * Read a result from an {@link InputStream} that was written using
+     * {@link Result#writeTo(java.io.OutputStream)} or
+     * {@link Cursor#writeTo(java.io.OutputStream)}, allowing values of the
+     * argument types to be read using Java serialisation.
+     * <p>
+     * Values of types without a dedicated binary encoding are written using
+     * Java serialisation. Deserialising such values may execute code of any
+     * class that is reachable from their object graphs, which is why only the
+     * argument types, their supertypes, their serialisation proxies (e.g.
+     * <code>java.time.Ser</code>) and a few <code>java.lang</code> value types
+     * are resolved. Only use this method with streams from a trusted source.
+     * Fields of the argument types keep their Java types, other
+     * fields of types without a dedicated binary encoding are read as
+     * {@link org.jooq.impl.SQLDataType#OTHER}.
+     *
+     * @param stream The input stream
+     * @param allowed The types whose values may be read using Java
+     *            serialisation
+     * @return The result. This will never be <code>null</code>.
+     * @throws org.jooq.exception.IOException - an unchecked wrapper for
+     *             {@link java.io.IOException}, if anything goes wrong, e.g.
+     *             if the stream does not contain a binary result, or if it
+     *             contains Java serialised values of other types.
+     */
+    Result<Record> readResult(InputStream stream, Class<?>... allowed);
+
     // -------------------------------------------------------------------------
     // XXX Global Query factory
     // -------------------------------------------------------------------------
@@ -8163,6 +8285,17 @@ public interface DSLContext extends Scope , AutoCloseable  {
      * Create a batch statement to execute a set of <code>INSERT</code> queries
      * in batch mode (with bind values) according to
      * {@link TableRecord#insert()} semantics.
+     * <p>
+     * <h5>Generated identity values</h5>
+     * <p>
+     * If {@link Settings#isReturnIdentityOnBatchInsert()} is active, in
+     * {@link SQLDialect#POSTGRES}, records of tables with an
+     * {@link Table#getIdentity()} are inserted using multi-row
+     * <code>INSERT .. RETURNING</code> statements instead of JDBC batches, and
+     * generated identity values are written back to the records. This also
+     * applies to records that are inserted through
+     * {@link #batchStore(UpdatableRecord...)}. Otherwise, identity values are
+     * not fetched.
      *
      * @see #batchStore(UpdatableRecord...)
      * @see TableRecord#insert()
@@ -8264,6 +8397,20 @@ public interface DSLContext extends Scope , AutoCloseable  {
     @Support
     Batch batchDelete(Collection<? extends UpdatableRecord<?>> records);
 
+    /**
+     * Create a new {@link UnitOfWork} that collects changed
+     * {@link UpdatableRecord}s and stores them in batches.
+     * <p>
+     * Unlike {@link #batchStore(UpdatableRecord...)}, records are registered
+     * with the unit of work while they are being modified, and only those
+     * records that have actually been changed are stored when the unit of
+     * work is flushed, grouped by table and by the set of changed columns.
+     *
+     * @see UnitOfWork
+     */
+    @Support
+    UnitOfWork unitOfWork();
+
     // -------------------------------------------------------------------------
     // XXX DDL Statements from existing meta data
     // -------------------------------------------------------------------------
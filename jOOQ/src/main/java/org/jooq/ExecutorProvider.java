@@ -59,6 +59,10 @@ import java.util.concurrent.ForkJoinPool;
  * The SPI will not be called if an asynchronous operation explicitly overrides
  * the {@link Executor}, e.g. as is the case for
  * {@link ResultQuery#fetchAsync(Executor)}.
+ * <p>
+ * On Java 21 or later, the
+ * {@link org.jooq.impl.VirtualThreadExecutorProvider} can be used to run
+ * asynchronous tasks in virtual threads.
  *
  * @author Lukas Eder
  */
@@ -50,6 +50,7 @@ import org.jooq.exception.DataTypeException;
 import org.jooq.exception.IOException;
 import org.jooq.exception.InvalidResultException;
 import org.jooq.exception.MappingException;
+import org.jooq.exception.NoDataFoundException;
 import org.jooq.impl.DefaultRecordMapper;
 import org.jooq.tools.Convert;
 
@@ -790,6 +791,26 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     void formatInsert(OutputStream stream, Table<?> table, Field<?>... fields) throws IOException;
 
+    /**
+     * Write this result onto an {@link OutputStream} in a compact, versioned
+     * binary format.
+     * <p>
+     * Unlike Java serialisation, this format writes the record type only once,
+     * followed by the values column by column in blocks of records, using
+     * type-specific encodings, such as variable length integers, dictionary
+     * encoded strings and <code>NULL</code> bitmaps. Use
+     * {@link DSLContext#readResult(java.io.InputStream)} to read the result
+     * back.
+     * <p>
+     * Values of types without a dedicated encoding are written using Java
+     * serialisation. Readers reject them unless their types are allowed
+     * explicitly through {@link DSLContext#readResult(java.io.InputStream, Class...)}.
+     *
+     * @throws IOException - an unchecked wrapper for {@link java.io.IOException}, if anything goes wrong.
+     * @see Cursor#writeTo(OutputStream)
+     */
+    void writeTo(OutputStream stream) throws IOException;
+
     /**
      * Like {@link #format()}, but the data is output onto a {@link Writer}.
      *
@@ -983,6 +1004,27 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     <K> Map<K, R> intoMap(Field<K> key) throws IllegalArgumentException, InvalidResultException;
 
+    /**
+     * Return a {@link Map} with one of the result's columns as key and the
+     * corresponding records as value, building the map in parallel.
+     * <p>
+     * This produces the same result as {@link #intoMap(Field)}, including the
+     * ordering of map entries, but partitions large results by key hash and
+     * checks each partition on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. Small results
+     * are processed sequentially.
+     *
+     * @param <K> The key's generic field type
+     * @param key The key field. Client code must assure that this field is
+     *            unique in the result set.
+     * @return A Map containing the results
+     * @throws IllegalArgumentException If the argument field is not contained
+     *             in {@link #fieldsRow()}
+     * @throws InvalidResultException if the key field returned two or more
+     *             equal values from the result set.
+     */
+    <K> Map<K, R> intoMapParallel(Field<K> key) throws IllegalArgumentException, InvalidResultException;
+
     /**
      * Return a {@link Map} with one of the result's columns as key and the
      * corresponding records as value.
@@ -1321,6 +1363,27 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     Map<Record, R> intoMap(Field<?>[] keys) throws IllegalArgumentException, InvalidResultException;
 
+    /**
+     * Return a {@link Map} with the given keys as a map key and the
+     * corresponding record as value, building the map in parallel.
+     * <p>
+     * This produces the same result as {@link #intoMap(Field[])}, including
+     * the ordering of map entries, but partitions large results by key hash
+     * and checks each partition on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. Small results
+     * are processed sequentially.
+     *
+     * @param keys The keys. Client code must assure that keys are unique in the
+     *            result set. If this is <code>null</code> or an empty array,
+     *            the resulting map will contain at most one entry.
+     * @return A Map containing the results.
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in {@link #fieldsRow()}
+     * @throws InvalidResultException if the keys are non-unique in the result
+     *             set.
+     */
+    Map<Record, R> intoMapParallel(Field<?>[] keys) throws IllegalArgumentException, InvalidResultException;
+
     /**
      * Return a {@link Map} with the given keys as a map key and the
      * corresponding record as value.
@@ -1890,6 +1953,24 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     <K> Map<K, Result<R>> intoGroups(Field<K> key) throws IllegalArgumentException;
 
+    /**
+     * Return a {@link Map} with one of the result's columns as key and a list
+     * of corresponding records as value, grouping records in parallel.
+     * <p>
+     * This produces the same result as {@link #intoGroups(Field)}, including
+     * the ordering of map entries and of records within each group, but
+     * partitions large results by key hash and groups each partition on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. Small results
+     * are grouped sequentially.
+     *
+     * @param <K> The key's generic field type
+     * @param key The key field.
+     * @return A Map containing the results
+     * @throws IllegalArgumentException If the argument field is not contained
+     *             in {@link #fieldsRow()}
+     */
+    <K> Map<K, Result<R>> intoGroupsParallel(Field<K> key) throws IllegalArgumentException;
+
     /**
      * Return a {@link Map} with one of the result's columns as key and a list
      * of corresponding records as value.
@@ -2132,6 +2213,24 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     Map<Record, Result<R>> intoGroups(Field<?>[] keys) throws IllegalArgumentException;
 
+    /**
+     * Return a {@link Map} with the result grouped by the given keys, grouping
+     * records in parallel.
+     * <p>
+     * This produces the same result as {@link #intoGroups(Field[])}, including
+     * the ordering of map entries and of records within each group, but
+     * partitions large results by key hash and groups each partition on the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. Small results
+     * are grouped sequentially.
+     *
+     * @param keys The keys. If this is <code>null</code> or an empty array, the
+     *            resulting map will contain at most one entry.
+     * @return A Map containing grouped results
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in {@link #fieldsRow()}
+     */
+    Map<Record, Result<R>> intoGroupsParallel(Field<?>[] keys) throws IllegalArgumentException;
+
     /**
      * Return a {@link Map} with the result grouped by the given keys.
      * <p>
@@ -3441,6 +3540,39 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     Result<R> sortDesc(java.util.Comparator<? super R> comparator);
 
+    /**
+     * Sort this result by several sort fields.
+     * <p>
+     * This is the in-memory equivalent of an <code>ORDER BY</code> clause,
+     * e.g. <code>result.sortBy(A.asc(), B.desc().nullsLast())</code>. By
+     * default, <code>NULL</code> values are considered smaller than any other
+     * value, i.e. they are sorted first in ascending order and last in
+     * descending order. The sort is stable.
+     * <p>
+     * Sort keys are extracted from each record only once, such that no boxed
+     * values need to be compared while sorting.
+     *
+     * @param sortFields The sort fields. Each field must be contained in
+     *            {@link #fieldsRow()}.
+     * @return The result itself
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in {@link #fieldsRow()}
+     */
+    Result<R> sortBy(SortField<?>... sortFields) throws IllegalArgumentException;
+
+    /**
+     * Sort this result by several sort fields, sorting large results in
+     * parallel on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *
+     * @param sortFields The sort fields. Each field must be contained in
+     *            {@link #fieldsRow()}.
+     * @return The result itself
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in {@link #fieldsRow()}
+     * @see #sortBy(SortField...)
+     */
+    Result<R> parallelSortBy(SortField<?>... sortFields) throws IllegalArgumentException;
+
     /**
      * Specify a set of fields whose values should be interned.
      * <p>
@@ -3514,6 +3646,70 @@ public interface Result<R extends Record> extends List<R>, Attachable {
     @Deprecated
     Result<R> intern(Name... fieldNames);
 
+    // ------------------------------------------------------------------------
+    // In-memory joins with other results
+    // ------------------------------------------------------------------------
+
+    /**
+     * Inner join this result with another result in memory.
+     * <p>
+     * This is useful to join results that were fetched from different data
+     * sources. A hash table is built from the smaller of the two results and
+     * probed with the other, such that the join runs in linear time.
+     * <p>
+     * The resulting records contain the fields of this result followed by the
+     * fields of the other result. They are ordered by the records of this
+     * result first, then by the records of the other result. As in SQL,
+     * <code>NULL</code> keys never match. The values of <code>otherKeys</code>
+     * are converted to the types of <code>keys</code> before comparison.
+     *
+     * @param other The other result.
+     * @param keys The key fields of this result.
+     * @param otherKeys The key fields of the other result.
+     * @return The joined result.
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in the respective {@link #fieldsRow()}, or if the
+     *             number of keys does not match.
+     */
+    Result<Record> join(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) throws IllegalArgumentException;
+
+    /**
+     * Semi join this result with another result in memory.
+     * <p>
+     * This returns the records of this result for which there exists at least
+     * one record in the other result with equal key values, in the order of
+     * this result. As in SQL, <code>NULL</code> keys never match.
+     *
+     * @param other The other result.
+     * @param keys The key fields of this result.
+     * @param otherKeys The key fields of the other result.
+     * @return The filtered result.
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in the respective {@link #fieldsRow()}, or if the
+     *             number of keys does not match.
+     * @see #join(Result, Field[], Field[])
+     */
+    Result<R> semiJoin(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) throws IllegalArgumentException;
+
+    /**
+     * Anti join this result with another result in memory.
+     * <p>
+     * This returns the records of this result for which there exists no
+     * record in the other result with equal key values, in the order of this
+     * result. As with SQL's <code>NOT EXISTS</code>, records with
+     * <code>NULL</code> keys are retained.
+     *
+     * @param other The other result.
+     * @param keys The key fields of this result.
+     * @param otherKeys The key fields of the other result.
+     * @return The filtered result.
+     * @throws IllegalArgumentException If any of the argument fields is not
+     *             contained in the respective {@link #fieldsRow()}, or if the
+     *             number of keys does not match.
+     * @see #join(Result, Field[], Field[])
+     */
+    Result<R> antiJoin(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) throws IllegalArgumentException;
+
     // ------------------------------------------------------------------------
     // Fetching of new results based on records in this result
     // ------------------------------------------------------------------------
@@ -3538,6 +3734,66 @@ public interface Result<R extends Record> extends List<R>, Attachable {
      */
     <O extends TableRecord<O>> Result<O> fetchChildren(ForeignKey<O, R> key) throws DataAccessException;
 
+    /**
+     * Fetch parent records of this result's records, given a foreign key, and
+     * associate each record with its parent.
+     * <p>
+     * Parent records are fetched in as few queries as possible, rather than
+     * one query per record. Records whose foreign key value is
+     * <code>NULL</code>, or whose parent record was not found are associated
+     * with <code>null</code>.
+     *
+     * @return A map containing all records of this result in their order of
+     *         appearance, and their parent records. The map compares records by
+     *         identity, such that equal records of this result are contained
+     *         as distinct keys.
+     * @throws DataAccessException if something went wrong executing the query.
+     * @see #fetchParents(ForeignKey)
+     */
+    <O extends UpdatableRecord<O>> Map<R, O> fetchParentMap(ForeignKey<R, O> key) throws DataAccessException;
+
+    /**
+     * Fetch child records of this result's records, given a foreign key, and
+     * associate each record with its children.
+     * <p>
+     * Child records are fetched in as few queries as possible, rather than
+     * one query per record. Records without children are associated with an
+     * empty result.
+     *
+     * @return A map containing all records of this result in their order of
+     *         appearance, and their child records. The map compares records by
+     *         identity, such that equal records of this result are contained
+     *         as distinct keys.
+     * @throws DataAccessException if something went wrong executing the query.
+     * @see #fetchChildren(ForeignKey)
+     */
+    <O extends TableRecord<O>> Map<R, Result<O>> fetchChildrenMap(ForeignKey<O, R> key) throws DataAccessException;
+
+    /**
+     * Refresh all records in this result from the database.
+     * <p>
+     * This has the same effect as calling {@link UpdatableRecord#refresh()}
+     * on each record, but records are fetched in as few queries as possible,
+     * by their primary key values.
+     *
+     * @throws DataAccessException This exception is thrown if something went
+     *             wrong executing the refresh <code>SELECT</code> statement
+     * @throws NoDataFoundException If any record does not exist anymore in the
+     *             database. All other records are refreshed nonetheless.
+     * @throws IllegalStateException If this result contains records that are
+     *             not {@link UpdatableRecord}s.
+     * @see UpdatableRecord#refresh()
+     */
+    void refreshAll() throws DataAccessException, NoDataFoundException;
+
+    /**
+     * Refresh parts of all records in this result from the database.
+     *
+     * @see #refreshAll()
+     * @see UpdatableRecord#refresh(Field...)
+     */
+    void refreshAll(Field<?>... fields) throws DataAccessException, NoDataFoundException;
+
     // ------------------------------------------------------------------------
     // Specialisations of Attachable methods
     // ------------------------------------------------------------------------
@@ -38,9 +38,9 @@ import static org.jooq.tools.StringUtils.isBlank;
 
 import java.io.Serializable;
 import java.io.StringWriter;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXB;
 
@@ -307,29 +307,26 @@ public class SchemaMapping implements Serializable {
                 if (!getSchemata().containsKey(schemaName)) {
 
                     // [#1857] thread-safe lazy initialisation for those users who
-                    // want to use a Configuration and dependent objects in a "thread-safe" manner
-                    synchronized (this) {
-                        if (!getSchemata().containsKey(schemaName)) {
-                            for (MappedSchema s : mapping().getSchemata()) {
-
-                                // A configured mapping was found, add a renamed schema
-                                if (matches(s, schemaName)) {
-
-                                    // Ignore self-mappings and void-mappings
-                                    if (!isBlank(s.getOutput()))
-                                        if (s.getInput() != null && !s.getOutput().equals(schemaName))
-                                            result = new RenamedSchema(result, s.getOutput());
-                                        else if (s.getInputExpression() != null)
-                                            result = new RenamedSchema(result, s.getInputExpression().matcher(schemaName).replaceAll(s.getOutput()));
-
-                                    break;
-                                }
-                            }
+                    // want to use Configuration and dependent objects in a "thread-safe" manner.
+                    // Concurrently computed mappings are equivalent, so no lock is needed.
+                    for (MappedSchema s : mapping().getSchemata()) {
+
+                        // A configured mapping was found, add a renamed schema
+                        if (matches(s, schemaName)) {
+
+                            // Ignore self-mappings and void-mappings
+                            if (!isBlank(s.getOutput()))
+                                if (s.getInput() != null && !s.getOutput().equals(schemaName))
+                                    result = new RenamedSchema(result, s.getOutput());
+                                else if (s.getInputExpression() != null)
+                                    result = new RenamedSchema(result, s.getInputExpression().matcher(schemaName).replaceAll(s.getOutput()));
 
-                            // Add mapped schema or self if no mapping was found
-                            getSchemata().put(schemaName, result);
+                            break;
                         }
                     }
+
+                    // Add mapped schema or self if no mapping was found
+                    getSchemata().putIfAbsent(schemaName, result);
                 }
 
                 result = getSchemata().get(schemaName);
@@ -370,35 +367,31 @@ public class SchemaMapping implements Serializable {
             if (!getTables().containsKey(key)) {
 
                 // [#1857] thread-safe lazy initialisation for those users who
-                // want to use Configuration and dependent objects in a "thread-safe" manner
-                synchronized (this) {
-                    if (!getTables().containsKey(key)) {
-
-                        schemaLoop:
-                        for (MappedSchema s : mapping().getSchemata()) {
-                            if (matches(s, schemaName)) {
-                                for (MappedTable t : s.getTables()) {
-
-                                    // A configured mapping was found, add a renamed table
-                                    if (matches(t, tableName)) {
-
-                                        // Ignore self-mappings and void-mappings
-                                        if (!isBlank(t.getOutput()))
-                                            if (t.getInput() != null && !t.getOutput().equals(tableName))
-                                                result = new RenamedTable<R>(result, t.getOutput());
-                                            else if (t.getInputExpression() != null)
-                                                result = new RenamedTable<R>(result, t.getInputExpression().matcher(tableName).replaceAll(t.getOutput()));
-
-                                        break schemaLoop;
-                                    }
-                                }
+                // want to use Configuration and dependent objects in a "thread-safe" manner.
+                // Concurrently computed mappings are equivalent, so no lock is needed.
+                schemaLoop:
+                for (MappedSchema s : mapping().getSchemata()) {
+                    if (matches(s, schemaName)) {
+                        for (MappedTable t : s.getTables()) {
+
+                            // A configured mapping was found, add a renamed table
+                            if (matches(t, tableName)) {
+
+                                // Ignore self-mappings and void-mappings
+                                if (!isBlank(t.getOutput()))
+                                    if (t.getInput() != null && !t.getOutput().equals(tableName))
+                                        result = new RenamedTable<R>(result, t.getOutput());
+                                    else if (t.getInputExpression() != null)
+                                        result = new RenamedTable<R>(result, t.getInputExpression().matcher(tableName).replaceAll(t.getOutput()));
+
+                                break schemaLoop;
                             }
                         }
-
-                        // Add mapped table or self if no mapping was found
-                        getTables().put(key, result);
                     }
                 }
+
+                // Add mapped table or self if no mapping was found
+                getTables().putIfAbsent(key, result);
             }
 
             result = (Table<R>) getTables().get(key);
@@ -441,7 +434,7 @@ public class SchemaMapping implements Serializable {
             // want to use Configuration and dependent objects in a "thread-safe" manner
             synchronized (this) {
                 if (schemata == null) {
-                    schemata = new HashMap<String, Schema>();
+                    schemata = new ConcurrentHashMap<String, Schema>();
                 }
             }
         }
@@ -455,7 +448,7 @@ public class SchemaMapping implements Serializable {
             // want to use Configuration and dependent objects in a "thread-safe" manner
             synchronized (this) {
                 if (tables == null) {
-                    tables = new HashMap<String, Table<?>>();
+                    tables = new ConcurrentHashMap<String, Table<?>>();
                 }
             }
         }
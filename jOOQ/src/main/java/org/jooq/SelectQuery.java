@@ -62,6 +62,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import org.jooq.exception.DataAccessException;
 
@@ -512,6 +514,58 @@ public interface SelectQuery<R extends Record> extends Select<R>, ConditionProvi
     @Support
     void addSeekBefore(Collection<? extends Field<?>> fields);
 
+
+
+    /**
+     * Stream all records of this query, fetching them page by page using
+     * keyset pagination.
+     * <p>
+     * This is the same as calling {@link #fetchStreamByKeyset(int, Executor)}
+     * without prefetching.
+     *
+     * @param pageSize The number of records to fetch per page
+     * @throws IllegalStateException If this query has no
+     *             <code>ORDER BY</code> clause, or, while consuming the
+     *             stream, if the last record of a page contains a
+     *             <code>NULL</code> <code>ORDER BY</code> value.
+     */
+    @Support
+    Stream<R> fetchStreamByKeyset(int pageSize) throws DataAccessException;
+
+    /**
+     * Stream all records of this query, fetching them page by page using
+     * keyset pagination, optionally prefetching the next page.
+     * <p>
+     * Each page is fetched eagerly, by executing this query with a
+     * <code>LIMIT</code> of <code>pageSize</code>, and with a
+     * <code>SEEK</code> clause containing the <code>ORDER BY</code> values of
+     * the previous page's last record (see {@link #addSeekAfter(Field...)}).
+     * Pages are fetched lazily while the stream is consumed, until a page
+     * contains fewer than <code>pageSize</code> records. This allows for
+     * scanning arbitrarily large tables without <code>OFFSET</code> and
+     * without keeping a server side cursor open.
+     * <p>
+     * For this to work, the <code>ORDER BY</code> clause must be unique (e.g.
+     * by including a primary key), all of its fields must be contained in the
+     * <code>SELECT</code> clause, and they must not contain
+     * <code>NULL</code> values. If this query already has a <code>SEEK</code>
+     * clause, the first page starts from there. Any <code>LIMIT</code> and
+     * <code>OFFSET</code> clauses are ignored. Each page is fetched through a
+     * copy of this query, which is not modified.
+     *
+     * @param pageSize The number of records to fetch per page
+     * @param executor The executor to prefetch the next page with, while the
+     *            current page is being consumed, or <code>null</code> to
+     *            fetch pages only once they're needed.
+     * @throws IllegalStateException If this query has no
+     *             <code>ORDER BY</code> clause, or, while consuming the
+     *             stream, if the last record of a page contains a
+     *             <code>NULL</code> <code>ORDER BY</code> value.
+     */
+    @Support
+    Stream<R> fetchStreamByKeyset(int pageSize, Executor executor) throws DataAccessException;
+
+
     /**
      * Add an <code>OFFSET</code> clause to the query.
      * <p>
@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+/**
+ * A {@link VisitListener} that declares the {@link QueryPart} types and
+ * {@link Clause} events it is interested in.
+ * <p>
+ * Most <code>VisitListener</code> implementations only care about a small
+ * subset of all the events emitted while traversing a query, e.g. a listener
+ * injecting a multi-tenancy predicate may only be interested in {@link Table}
+ * references and in {@link Clause#SELECT_WHERE}. By implementing this
+ * interface, such listeners allow jOOQ to skip all the bookkeeping involved
+ * with calling them for query parts and clauses that they do not observe.
+ * <p>
+ * As a consequence, {@link VisitContext#queryParts()} and
+ * {@link VisitContext#clauses()} only contain those query parts and clauses
+ * that are observed by at least one listener of the current
+ * {@link Context}. Query parts that are not observed also cannot be replaced
+ * through {@link VisitContext#queryPart(QueryPart)}.
+ * <p>
+ * The subscription is read once when a {@link Context} is created and must
+ * not change afterwards.
+ *
+ * @author Lukas Eder
+ */
+public interface SelectiveVisitListener extends VisitListener {
+
+    /**
+     * The {@link QueryPart} types whose
+     * {@link #visitStart(VisitContext)} and {@link #visitEnd(VisitContext)}
+     * events this listener observes.
+     * <p>
+     * A query part is observed if it is an instance of any of the returned
+     * types. Return <code>null</code> to observe all query parts, or an empty
+     * array to observe none.
+     */
+    Class<?>[] observedQueryParts();
+
+    /**
+     * The {@link Clause} types whose {@link #clauseStart(VisitContext)} and
+     * {@link #clauseEnd(VisitContext)} events this listener observes.
+     * <p>
+     * Return <code>null</code> to observe all clauses, or an empty array to
+     * observe none.
+     */
+    Clause[] observedClauses();
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq;
+
+import java.sql.Statement;
+import java.util.Collection;
+
+import org.jooq.exception.DataAccessException;
+import org.jooq.exception.DataChangedException;
+
+/**
+ * A unit of work that keeps track of {@link UpdatableRecord}s and stores their
+ * changes in batches.
+ * <p>
+ * Rather than calling {@link UpdatableRecord#store()} on each individual
+ * record, which results in one round trip per record, records can be
+ * registered with a unit of work, modified by client code, and then flushed
+ * all at once: <code><pre>
+ * UnitOfWork work = create.unitOfWork();
+ *
+ * for (BookRecord book : create.fetch(BOOK))
+ *     work.register(book).setTitle(book.getTitle().trim());
+ *
+ * work.register(create.newRecord(BOOK)).setTitle("1984");
+ * work.flush();
+ * </pre></code>
+ * <p>
+ * Upon {@link #flush()}, all registered records whose
+ * {@link Record#changed()} flag is set are grouped by the SQL of the
+ * <code>INSERT</code> or <code>UPDATE</code> statement that
+ * {@link UpdatableRecord#store()} would execute. Each group is executed as a
+ * single JDBC batch statement. Groups are executed in the order in which their
+ * first record was registered. Unchanged records are skipped.
+ * <p>
+ * Just like {@link UpdatableRecord#store()}, flushing records honours
+ * {@link org.jooq.conf.Settings#isExecuteWithOptimisticLocking()}. Version and
+ * timestamp columns are incremented and checked as part of the batch
+ * statement. If the JDBC driver reports that a versioned record could not be
+ * updated, a {@link DataChangedException} is thrown right after the batch that
+ * contains that record, and no further batches are executed. Batches that have
+ * already been executed are not rolled back, so a flush should be run in a
+ * transaction, e.g. using {@link #transaction(TransactionalRunnable)}. The
+ * optimistic locking check for unversioned records requires
+ * an additional <code>SELECT .. FOR UPDATE</code> statement per record.
+ * <p>
+ * Records stay registered after flushing, such that further changes can be
+ * flushed again later on. Unlike {@link UpdatableRecord#store()}, flushing
+ * does not notify {@link RecordListener}s. Generated identity values are
+ * fetched back into inserted records only if
+ * {@link org.jooq.conf.Settings#isReturnIdentityOnBatchInsert()} is active
+ * and supported, see {@link DSLContext#batchInsert(TableRecord...)}.
+ * <p>
+ * Instances of this type are not thread-safe.
+ *
+ * @author Lukas Eder
+ * @see DSLContext#unitOfWork()
+ */
+public interface UnitOfWork {
+
+    /**
+     * Register a record with this unit of work.
+     *
+     * @return The argument record, for convenience.
+     */
+    <R extends UpdatableRecord<R>> R register(R record);
+
+    /**
+     * Register records with this unit of work.
+     */
+    UnitOfWork register(UpdatableRecord<?>... records);
+
+    /**
+     * Register records with this unit of work.
+     */
+    UnitOfWork register(Collection<? extends UpdatableRecord<?>> records);
+
+    /**
+     * Unregister records from this unit of work without storing their
+     * changes.
+     */
+    UnitOfWork unregister(UpdatableRecord<?>... records);
+
+    /**
+     * Unregister all records from this unit of work without storing their
+     * changes.
+     */
+    void clear();
+
+    /**
+     * The number of registered records.
+     */
+    int size();
+
+    /**
+     * The number of registered records whose changes have not yet been
+     * flushed.
+     */
+    int pending();
+
+    /**
+     * Store the changes of all registered records in batches.
+     *
+     * @return The update counts of all flushed records, in the order of their
+     *         registration.
+     * @throws DataAccessException if something went wrong executing the query
+     * @throws DataChangedException If optimistic locking is enabled and a
+     *             record has been changed in the database in the meantime.
+     * @see Statement#executeBatch()
+     */
+    int[] flush() throws DataAccessException, DataChangedException;
+
+    /**
+     * Run a {@link TransactionalRunnable} in a new transaction and flush this
+     * unit of work right before the transaction is committed.
+     * <p>
+     * The flush happens within the transaction, such that a failing flush
+     * rolls back the whole transaction.
+     *
+     * @see DSLContext#transaction(TransactionalRunnable)
+     */
+    void transaction(TransactionalRunnable transactional);
+
+    /**
+     * Run a {@link TransactionalCallable} in a new transaction and flush this
+     * unit of work right before the transaction is committed.
+     * <p>
+     * The flush happens within the transaction, such that a failing flush
+     * rolls back the whole transaction.
+     *
+     * @see DSLContext#transactionResult(TransactionalCallable)
+     */
+    <T> T transactionResult(TransactionalCallable<T> transactional);
+}
@@ -50,6 +50,8 @@ public class Settings
     protected Boolean renderFormatted = false;
     protected RenderFormatting renderFormatting;
     @XmlElement(defaultValue = "false")
+    protected Boolean renderBufferPooling = false;
+    @XmlElement(defaultValue = "false")
     protected Boolean renderScalarSubqueriesForStoredFunctions = false;
     @XmlElement(defaultValue = "DEFAULT")
     @XmlSchemaType(name = "string")
@@ -82,6 +84,8 @@ public class Settings
     protected Boolean fetchWarnings = true;
     @XmlElement(defaultValue = "false")
     protected Boolean returnAllOnUpdatableRecord = false;
+    @XmlElement(defaultValue = "false")
+    protected Boolean returnIdentityOnBatchInsert = false;
     @XmlElement(defaultValue = "true")
     protected Boolean returnRecordToPojo = true;
     @XmlElement(defaultValue = "true")
@@ -92,10 +96,16 @@ public class Settings
     protected Integer maxRows = 0;
     @XmlElement(defaultValue = "0")
     protected Integer fetchSize = 0;
+    @XmlElement(defaultValue = "0")
+    protected Integer fetchBufferSize = 0;
+    @XmlElement(defaultValue = "0")
+    protected Integer statementCacheSize = 0;
     @XmlElement(defaultValue = "true")
     protected Boolean debugInfoOnStackTrace = true;
     @XmlElement(defaultValue = "false")
     protected Boolean inListPadding = false;
+    @XmlElement(defaultValue = "0")
+    protected Integer inListArrayBindThreshold = 0;
     @XmlElement(defaultValue = ";")
     protected String delimiter = ";";
 
@@ -279,6 +289,31 @@ public class Settings
         this.renderFormatting = value;
     }
 
+    /**
+     * Whether the character buffers used for rendering SQL should be reused across executions in the same thread.
+     * This reduces garbage when rendering large statements, at the cost of retaining a buffer per thread.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isRenderBufferPooling() {
+        return renderBufferPooling;
+    }
+
+    /**
+     * Sets the value of the renderBufferPooling property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setRenderBufferPooling(Boolean value) {
+        this.renderBufferPooling = value;
+    }
+
     /**
      * Whether stored function calls should be wrapped in scalar subqueries.
      * <p>
@@ -637,6 +672,33 @@ public class Settings
         this.returnAllOnUpdatableRecord = value;
     }
 
+    /**
+     * Whether batch inserts of records into tables with an identity should fetch the generated identity values into the records.
+     * <p>
+     * This is supported only in PostgreSQL, where batches are then executed as multi-row INSERT .. RETURNING statements
+     * instead of JDBC batches. ExecuteListeners are notified of these statements as WRITE rather than BATCH executions.
+     *
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *
+     */
+    public Boolean isReturnIdentityOnBatchInsert() {
+        return returnIdentityOnBatchInsert;
+    }
+
+    /**
+     * Sets the value of the returnIdentityOnBatchInsert property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *
+     */
+    public void setReturnIdentityOnBatchInsert(Boolean value) {
+        this.returnIdentityOnBatchInsert = value;
+    }
+
     /**
      * Whether calls to store(), insert(), update(), and delete() that are called on an UpdatableRecord
      * that is created from a POJO (e.g. in a DAO) should return all Record values to the POJO, including
@@ -762,6 +824,57 @@ public class Settings
         this.fetchSize = value;
     }
 
+    /**
+     * The target size in bytes of the rows that the JDBC driver should buffer per round trip when
+     * results are fetched lazily. If positive, jOOQ adapts the JDBC fetchSize while fetching, based on the estimated
+     * size of the rows fetched so far. A value of 0 disables this adaptation.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getFetchBufferSize() {
+        return fetchBufferSize;
+    }
+
+    /**
+     * Sets the value of the fetchBufferSize property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setFetchBufferSize(Integer value) {
+        this.fetchBufferSize = value;
+    }
+
+    /**
+     * The maximum number of JDBC PreparedStatements that jOOQ should cache per
+     * Connection, for Connections provided by a DefaultConnectionProvider. A value of 0 disables the cache.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Sets the value of the statementCacheSize property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setStatementCacheSize(Integer value) {
+        this.statementCacheSize = value;
+    }
+
     /**
      * [#5570] Whether exception stack traces should be enhanced with additional debug information.
      *
@@ -810,6 +923,32 @@ public class Settings
         this.inListPadding = value;
     }
 
+    /**
+     * The number of elements above which IN lists in IN predicates should be bound as a single array bind value
+     * on dialects that support it (H2, HSQLDB, PostgreSQL), rather than as individual bind values. A value of 0 disables
+     * array binding.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getInListArrayBindThreshold() {
+        return inListArrayBindThreshold;
+    }
+
+    /**
+     * Sets the value of the inListArrayBindThreshold property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setInListArrayBindThreshold(Integer value) {
+        this.inListArrayBindThreshold = value;
+    }
+
     /**
      * [#5826] The delimiter character to be used to delimit statements in batches.
      *
@@ -869,6 +1008,11 @@ public class Settings
         return this;
     }
 
+    public Settings withRenderBufferPooling(Boolean value) {
+        setRenderBufferPooling(value);
+        return this;
+    }
+
     public Settings withRenderScalarSubqueriesForStoredFunctions(Boolean value) {
         setRenderScalarSubqueriesForStoredFunctions(value);
         return this;
@@ -939,6 +1083,11 @@ public class Settings
         return this;
     }
 
+    public Settings withReturnIdentityOnBatchInsert(Boolean value) {
+        setReturnIdentityOnBatchInsert(value);
+        return this;
+    }
+
     public Settings withReturnRecordToPojo(Boolean value) {
         setReturnRecordToPojo(value);
         return this;
@@ -964,6 +1113,16 @@ public class Settings
         return this;
     }
 
+    public Settings withFetchBufferSize(Integer value) {
+        setFetchBufferSize(value);
+        return this;
+    }
+
+    public Settings withStatementCacheSize(Integer value) {
+        setStatementCacheSize(value);
+        return this;
+    }
+
     public Settings withDebugInfoOnStackTrace(Boolean value) {
         setDebugInfoOnStackTrace(value);
         return this;
@@ -974,6 +1133,11 @@ public class Settings
         return this;
     }
 
+    public Settings withInListArrayBindThreshold(Integer value) {
+        setInListArrayBindThreshold(value);
+        return this;
+    }
+
     public Settings withDelimiter(String value) {
         setDelimiter(value);
         return this;
@@ -167,6 +167,13 @@ public final class SettingsTools {
         return defaultIfNull(settings.isReflectionCaching(), true);
     }
 
+    /**
+     * Whether render buffers should be reused.
+     */
+    public static final boolean renderBufferPooling(Settings settings) {
+        return defaultIfNull(settings.isRenderBufferPooling(), false);
+    }
+
     /**
      * Lazy access to {@link RenderMapping}.
      */
@@ -245,4 +252,34 @@ public final class SettingsTools {
              ? settings.getFetchSize()
              : 0;
     }
+
+    /**
+     * Return the specified {@link Settings#getFetchBufferSize()}, or
+     * <code>0</code> if the fetch size should not be adapted.
+     */
+    public static int getFetchBufferSize(Settings settings) {
+        return settings.getFetchBufferSize() != null
+             ? Math.max(0, settings.getFetchBufferSize())
+             : 0;
+    }
+
+    /**
+     * Return the specified {@link Settings#getInListArrayBindThreshold()}, or
+     * <code>0</code> if IN lists should not be bound as arrays.
+     */
+    public static int getInListArrayBindThreshold(Settings settings) {
+        return settings.getInListArrayBindThreshold() != null
+             ? Math.max(0, settings.getInListArrayBindThreshold())
+             : 0;
+    }
+
+    /**
+     * Return the specified {@link Settings#getStatementCacheSize()}, or
+     * <code>0</code> if statements should not be cached.
+     */
+    public static int getStatementCacheSize(Settings settings) {
+        return settings.getStatementCacheSize() != null
+             ? Math.max(0, settings.getStatementCacheSize())
+             : 0;
+    }
 }
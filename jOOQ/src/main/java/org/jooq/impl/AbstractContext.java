@@ -46,6 +46,7 @@ import static org.jooq.impl.Tools.DataKey.DATA_OMIT_CLAUSE_EVENT_EMISSION;
 
 import java.sql.PreparedStatement;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Map;
 
@@ -59,6 +60,7 @@ import org.jooq.QueryPartInternal;
 import org.jooq.RenderContext;
 import org.jooq.RenderContext.CastMode;
 import org.jooq.SQLDialect;
+import org.jooq.SelectiveVisitListener;
 import org.jooq.Table;
 import org.jooq.VisitContext;
 import org.jooq.VisitListener;
@@ -76,6 +78,8 @@ import org.jooq.conf.StatementType;
 @SuppressWarnings("unchecked")
 abstract class AbstractContext<C extends Context<C>> extends AbstractScope implements Context<C> {
 
+    private static final Clause[]     CLAUSES                  = Clause.values();
+
     final PreparedStatement           stmt;
 
     boolean                           declareFields;
@@ -90,6 +94,11 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
     // [#2665] VisitListener API
     final VisitListener[]             visitListeners;
+    private final Class<?>[][]        visitListenerParts;
+    private final boolean[][]         visitListenerClauses;
+    private final boolean             visitAllParts;
+    private final boolean[]           visitObservedClauses;
+    private final boolean             visitAnyClauses;
     private final Deque<Clause>       visitClauses;
     private final DefaultVisitContext visitContext;
     private final Deque<QueryPart>    visitParts;
@@ -131,11 +140,62 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
             this.visitContext = new DefaultVisitContext();
             this.visitParts = new ArrayDeque<QueryPart>();
             this.visitClauses = new ArrayDeque<Clause>();
+
+            // SelectiveVisitListeners declare the events they observe, which
+            // allows for skipping events that no listener is interested in
+            Class<?>[][] parts = new Class<?>[visitListeners.length][];
+            boolean[][] clauses = new boolean[visitListeners.length][];
+            boolean allParts = false;
+            boolean anyClauses = false;
+            boolean selective = false;
+            boolean[] observed = new boolean[CLAUSES.length];
+
+            for (int i = 0; i < visitListeners.length; i++) {
+                if (visitListeners[i] instanceof SelectiveVisitListener) {
+                    SelectiveVisitListener listener = (SelectiveVisitListener) visitListeners[i];
+                    Clause[] c = listener.observedClauses();
+
+                    parts[i] = listener.observedQueryParts();
+                    selective = true;
+
+                    if (c != null) {
+                        clauses[i] = new boolean[CLAUSES.length];
+
+                        for (Clause clause : c) {
+                            clauses[i][clause.ordinal()] = true;
+                            observed[clause.ordinal()] = true;
+                            anyClauses = true;
+                        }
+                    }
+                    else {
+                        Arrays.fill(observed, true);
+                        anyClauses = true;
+                    }
+                }
+                else {
+                    Arrays.fill(observed, true);
+                    anyClauses = true;
+                }
+
+                if (parts[i] == null)
+                    allParts = true;
+            }
+
+            this.visitListenerParts = selective ? parts : null;
+            this.visitListenerClauses = selective ? clauses : null;
+            this.visitAllParts = allParts;
+            this.visitObservedClauses = observed;
+            this.visitAnyClauses = anyClauses;
         }
         else {
             this.visitContext = null;
             this.visitParts = null;
             this.visitClauses = null;
+            this.visitListenerParts = null;
+            this.visitListenerClauses = null;
+            this.visitAllParts = false;
+            this.visitObservedClauses = null;
+            this.visitAnyClauses = false;
         }
 
         this.forcedParamType = SettingsTools.getStatementType(settings()) == StatementType.STATIC_STATEMENT
@@ -164,7 +224,7 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
             // Issue start clause events
             // -----------------------------------------------------------------
-            Clause[] clauses = visitListeners.length > 0 ? clause(part) : null;
+            Clause[] clauses = visitAnyClauses ? clause(part) : null;
             if (clauses != null)
                 for (int i = 0; i < clauses.length; i++)
                     start(clauses[i]);
@@ -172,14 +232,16 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
             // Perform the actual visiting, or recurse into the replacement
             // -----------------------------------------------------------------
             QueryPart original = part;
-            QueryPart replacement = start(part);
+            boolean observed = visitParts != null && (visitAllParts || observes(original));
+            QueryPart replacement = observed ? start(part) : part;
 
             if (original == replacement)
                 visit0(original);
             else
                 visit0(replacement);
 
-            end(replacement);
+            if (observed)
+                end(original, replacement);
 
             // Issue end clause events
             // -----------------------------------------------------------------
@@ -216,11 +278,12 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
     @Override
     public final C start(Clause clause) {
-        if (clause != null && visitClauses != null) {
+        if (clause != null && visitClauses != null && visitObservedClauses[clause.ordinal()]) {
             visitClauses.addLast(clause);
 
-            for (VisitListener listener : visitListeners)
-                listener.clauseStart(visitContext);
+            for (int i = 0; i < visitListeners.length; i++)
+                if (observes(i, clause))
+                    visitListeners[i].clauseStart(visitContext);
         }
 
         return (C) this;
@@ -228,9 +291,10 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
 
     @Override
     public final C end(Clause clause) {
-        if (clause != null && visitClauses != null) {
-            for (VisitListener listener : visitListeners)
-                listener.clauseEnd(visitContext);
+        if (clause != null && visitClauses != null && visitObservedClauses[clause.ordinal()]) {
+            for (int i = 0; i < visitListeners.length; i++)
+                if (observes(i, clause))
+                    visitListeners[i].clauseEnd(visitContext);
 
             if (visitClauses.removeLast() != clause)
                 throw new IllegalStateException("Mismatch between visited clauses!");
@@ -240,27 +304,69 @@ abstract class AbstractContext<C extends Context<C>> extends AbstractScope imple
     }
 
     private final QueryPart start(QueryPart part) {
-        if (visitParts != null) {
-            visitParts.addLast(part);
+        visitParts.addLast(part);
 
-            for (VisitListener listener : visitListeners)
-                listener.visitStart(visitContext);
+        for (int i = 0; i < visitListeners.length; i++)
+            if (observes(i, part))
+                visitListeners[i].visitStart(visitContext);
 
-            return visitParts.peekLast();
-        }
-        else {
-            return part;
-        }
+        return visitParts.peekLast();
     }
 
-    private final void end(QueryPart part) {
-        if (visitParts != null) {
-            for (VisitListener listener : visitListeners)
-                listener.visitEnd(visitContext);
+    /**
+     * Leave a query part.
+     * <p>
+     * Listeners are selected by the original query part, such that the same
+     * listeners receive the start and end events, even if the query part has
+     * been replaced.
+     */
+    private final void end(QueryPart original, QueryPart replacement) {
+        for (int i = 0; i < visitListeners.length; i++)
+            if (observes(i, original))
+                visitListeners[i].visitEnd(visitContext);
+
+        if (visitParts.removeLast() != replacement)
+            throw new RuntimeException("Mismatch between visited query parts");
+    }
 
-            if (visitParts.removeLast() != part)
-                throw new RuntimeException("Mismatch between visited query parts");
-        }
+    /**
+     * Whether any listener observes a query part.
+     */
+    private final boolean observes(QueryPart part) {
+        for (int i = 0; i < visitListeners.length; i++)
+            if (observes(i, part))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Whether the listener at a given index observes a query part.
+     */
+    private final boolean observes(int listener, QueryPart part) {
+        if (visitListenerParts == null)
+            return true;
+
+        Class<?>[] types = visitListenerParts[listener];
+        if (types == null)
+            return true;
+
+        for (Class<?> type : types)
+            if (type.isInstance(part))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Whether the listener at a given index observes a clause.
+     */
+    private final boolean observes(int listener, Clause clause) {
+        if (visitListenerClauses == null)
+            return true;
+
+        boolean[] clauses = visitListenerClauses[listener];
+        return clauses == null || clauses[clause.ordinal()];
     }
 
     /**
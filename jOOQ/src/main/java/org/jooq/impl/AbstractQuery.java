@@ -68,6 +68,7 @@ import org.jooq.ExecuteListener;
 import org.jooq.Param;
 import org.jooq.Query;
 import org.jooq.RenderContext;
+import org.jooq.ResultQuery;
 import org.jooq.Select;
 import org.jooq.conf.ParamType;
 import org.jooq.conf.SettingsTools;
@@ -113,6 +114,14 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
         return configuration;
     }
 
+    /**
+     * Copy this query's execution properties, such as its timeout, to another
+     * query.
+     */
+    void copyPropertiesTo(AbstractQuery target) {
+        target.timeout = timeout;
+    }
+
     // -------------------------------------------------------------------------
     // The QueryPart API
     // -------------------------------------------------------------------------
@@ -283,7 +292,7 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
             //         in case this Query / Configuration was previously
             //         deserialised
             DefaultExecuteContext ctx = new DefaultExecuteContext(c, this);
-            ExecuteListener listener = new ExecuteListeners(ctx);
+            ExecuteListener listener = ExecuteListeners.get(ctx);
 
             int result = 0;
             try {
@@ -305,6 +314,12 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
                     listener.renderEnd(ctx);
                     rendered.sql = ctx.sql();
 
+                    // An ExecuteListener (e.g. a ResultCacheListener) may
+                    // supply a ResultSet for a ResultQuery, in case of which
+                    // no statement needs to be prepared, bound, or executed
+                    if (ctx.resultSet() != null && this instanceof ResultQuery)
+                        return execute(ctx, listener);
+
                     // [#3234] Defer initialising of a connection until the prepare step
                     // This optimises unnecessary ConnectionProvider.acquire() calls when
                     // ControlFlowSignals are thrown
@@ -485,24 +500,28 @@ abstract class AbstractQuery extends AbstractQueryPart implements Query {
         // [#3542] [#4977] Some dialects do not support bind values in DDL statements
         if (ctx.type() == DDL) {
             ctx.data(DATA_FORCE_STATIC_STATEMENT, true);
-            DefaultRenderContext render = new DefaultRenderContext(configuration);
-            result = new Rendered(render.paramType(INLINED).visit(this).render(), null, render.peekSkipUpdateCounts());
+            DefaultRenderContext render = new DefaultRenderContext(configuration, this);
+            render.paramType(INLINED).visit(this);
+            result = new Rendered(render.renderAndRelease(), null, render.peekSkipUpdateCounts());
         }
         else if (executePreparedStatements(configuration().settings())) {
             try {
-                DefaultRenderContext render = new DefaultRenderContext(configuration);
+                DefaultRenderContext render = new DefaultRenderContext(configuration, this);
                 render.data(DATA_COUNT_BIND_VALUES, true);
-                result = new Rendered(render.visit(this).render(), render.bindValues(), render.peekSkipUpdateCounts());
+                render.visit(this);
+                result = new Rendered(render.renderAndRelease(), render.bindValues(), render.peekSkipUpdateCounts());
             }
             catch (DefaultRenderContext.ForceInlineSignal e) {
                 ctx.data(DATA_FORCE_STATIC_STATEMENT, true);
-                DefaultRenderContext render = new DefaultRenderContext(configuration);
-                result = new Rendered(render.paramType(INLINED).visit(this).render(), null, render.peekSkipUpdateCounts());
+                DefaultRenderContext render = new DefaultRenderContext(configuration, this);
+                render.paramType(INLINED).visit(this);
+                result = new Rendered(render.renderAndRelease(), null, render.peekSkipUpdateCounts());
             }
         }
         else {
-            DefaultRenderContext render = new DefaultRenderContext(configuration);
-            result = new Rendered(render.paramType(INLINED).visit(this).render(), null, render.peekSkipUpdateCounts());
+            DefaultRenderContext render = new DefaultRenderContext(configuration, this);
+            render.paramType(INLINED).visit(this);
+            result = new Rendered(render.renderAndRelease(), null, render.peekSkipUpdateCounts());
         }
 
 
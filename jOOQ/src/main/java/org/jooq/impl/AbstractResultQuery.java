@@ -46,6 +46,7 @@ import static org.jooq.impl.DSL.name;
 import static org.jooq.impl.Tools.blocking;
 import static org.jooq.impl.Tools.consumeResultSets;
 import static org.jooq.impl.Tools.executeStatementAndGetFirstResultSet;
+import static org.jooq.impl.Tools.DataKey.DATA_FETCH_METRICS;
 import static org.jooq.impl.Tools.DataKey.DATA_LOCK_ROWS_FOR_UPDATE;
 
 import java.lang.reflect.Array;
@@ -233,6 +234,17 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
         // [#1263] [#4753] Allow for negative fetch sizes to support some non-standard
         // MySQL feature, where Integer.MIN_VALUE is used
         int f = SettingsTools.getFetchSize(fetchSize, ctx.settings());
+
+        // Lazy fetching may adapt the fetch size to a target buffer size,
+        // starting with the explicit fetch size, if any
+        int b = SettingsTools.getFetchBufferSize(ctx.settings());
+        if (b > 0 && lazy && f >= 0) {
+            if (f == 0)
+                f = FetchMetrics.INITIAL_FETCH_SIZE;
+
+            ctx.data(DATA_FETCH_METRICS, new FetchMetrics(b, f));
+        }
+
         if (f != 0) {
             if (log.isDebugEnabled())
                 log.debug("Setting fetch size", f);
@@ -253,10 +265,13 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
 
         // [#4511] [#4753] PostgreSQL doesn't like fetchSize with autoCommit == true
         int f = SettingsTools.getFetchSize(fetchSize, ctx.settings());
-        if (ctx.family() == POSTGRES && f != 0 && ctx.connection().getAutoCommit())
+        if (ctx.family() == POSTGRES && f != 0 && ctx.resultSet() == null && ctx.connection().getAutoCommit())
             log.info("Fetch Size", "A fetch size of " + f + " was set on a auto-commit PostgreSQL connection, which is not recommended. See http://jdbc.postgresql.org/documentation/head/query.html#query-with-cursor");
 
-        SQLException e = executeStatementAndGetFirstResultSet(ctx, rendered.skipUpdateCounts);
+        // The ResultSet may have been supplied by an ExecuteListener
+        SQLException e = ctx.resultSet() == null
+            ? executeStatementAndGetFirstResultSet(ctx, rendered.skipUpdateCounts)
+            : null;
         listener.executeEnd(ctx);
 
         // Fetch a single result set
@@ -304,11 +319,34 @@ abstract class AbstractResultQuery<R extends Record> extends AbstractQuery imple
         return lazy;
     }
 
+    @Override
+    final void copyPropertiesTo(AbstractQuery target) {
+        super.copyPropertiesTo(target);
+
+        if (target instanceof AbstractResultQuery) {
+            AbstractResultQuery<?> t = (AbstractResultQuery<?>) target;
+
+            t.maxRows = maxRows;
+            t.fetchSize = fetchSize;
+            t.resultSetConcurrency = resultSetConcurrency;
+            t.resultSetType = resultSetType;
+            t.resultSetHoldability = resultSetHoldability;
+        }
+    }
+
     /**
      * Subclasses should indicate whether they want an updatable {@link ResultSet}
      */
     abstract boolean isForUpdate();
 
+    /**
+     * The <code>maxRows</code> value that is applied to this query's
+     * statements, or <code>0</code> if there is no limit.
+     */
+    final int maxRows(Configuration c) {
+        return SettingsTools.getMaxRows(maxRows, c.settings());
+    }
+
     @Override
     public final Result<R> fetch() {
         execute();
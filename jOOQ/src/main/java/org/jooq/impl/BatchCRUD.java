@@ -34,9 +34,11 @@
  */
 package org.jooq.impl;
 
+import static java.lang.Boolean.TRUE;
 import static org.jooq.conf.SettingsTools.executeStaticStatements;
 import static org.jooq.impl.Tools.DataKey.DATA_OMIT_RETURNING_CLAUSE;
 
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,9 +50,15 @@ import org.jooq.BatchBindStep;
 import org.jooq.Configuration;
 import org.jooq.DSLContext;
 import org.jooq.ExecuteContext;
+import org.jooq.Field;
+import org.jooq.InsertQuery;
 import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
 import org.jooq.TableRecord;
 import org.jooq.UpdatableRecord;
+import org.jooq.conf.Settings;
 import org.jooq.exception.ControlFlowSignal;
 import org.jooq.exception.DataAccessException;
 
@@ -96,6 +104,7 @@ final class BatchCRUD implements Batch {
 
     private final int[] executePrepared() {
         Map<String, List<Query>> queries = new LinkedHashMap<String, List<Query>>();
+        Map<String, List<TableRecord<?>>> queryRecords = new LinkedHashMap<String, List<TableRecord<?>>>();
         QueryCollector collector = new QueryCollector();
 
         // Add the QueryCollector to intercept query execution after rendering
@@ -124,13 +133,17 @@ final class BatchCRUD implements Batch {
                 // Aggregate executable queries by identical SQL
                 if (query.isExecutable()) {
                     List<Query> list = queries.get(sql);
+                    List<TableRecord<?>> recordList = queryRecords.get(sql);
 
                     if (list == null) {
                         list = new ArrayList<Query>();
+                        recordList = new ArrayList<TableRecord<?>>();
                         queries.put(sql, list);
+                        queryRecords.put(sql, recordList);
                     }
 
                     list.add(query);
+                    recordList.add(records[i]);
                 }
             }
             finally {
@@ -143,13 +156,23 @@ final class BatchCRUD implements Batch {
         // The order is preserved as much as possible
         List<Integer> result = new ArrayList<Integer>();
         for (Entry<String, List<Query>> entry : queries.entrySet()) {
-            BatchBindStep batch = create.batch(entry.getValue().get(0));
+            int[] array;
 
-            for (Query query : entry.getValue()) {
-                batch.bind(query.getBindValues().toArray());
+            // [#3327] Fetch generated identity values using multi-row INSERT
+            //         statements where this is supported
+            if (isInsertReturningIdentity(entry.getValue().get(0))) {
+                array = executeInsertReturning(create, entry.getValue(), queryRecords.get(entry.getKey()));
+            }
+            else {
+                BatchBindStep batch = create.batch(entry.getValue().get(0));
+
+                for (Query query : entry.getValue()) {
+                    batch.bind(query.getBindValues().toArray());
+                }
+
+                array = batch.execute();
             }
 
-            int[] array = batch.execute();
             for (int i : array) {
                 result.add(i);
             }
@@ -164,6 +187,103 @@ final class BatchCRUD implements Batch {
         return array;
     }
 
+    /**
+     * Whether a collected query is an <code>INSERT</code> statement into a
+     * table with an identity, whose generated values can be fetched for
+     * several rows at once.
+     */
+    private final boolean isInsertReturningIdentity(Query query) {
+        return (action == Action.INSERT || action == Action.STORE)
+            && query instanceof InsertQueryImpl
+            && ((InsertQueryImpl<?>) query).table.getIdentity() != null
+            && returnIdentityOnBatchInsert(configuration);
+    }
+
+    /**
+     * Whether batch inserts should fetch generated identity values using
+     * multi-row <code>INSERT .. RETURNING</code> statements.
+     * <p>
+     * This requires {@link Settings#isReturnIdentityOnBatchInsert()} and a
+     * dialect that returns generated values for all rows of a multi-row
+     * <code>INSERT</code> statement in the order of insertion. MySQL's
+     * <code>getGeneratedKeys()</code> does not qualify, as it relies on
+     * consecutive auto increment values, which are not guaranteed, e.g. with
+     * <code>innodb_autoinc_lock_mode = 2</code>.
+     */
+    static final boolean returnIdentityOnBatchInsert(Configuration configuration) {
+        if (!TRUE.equals(configuration.settings().isReturnIdentityOnBatchInsert()))
+            return false;
+
+        switch (configuration.family()) {
+            case POSTGRES:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Execute a set of single-row <code>INSERT</code> statements with
+     * identical SQL as multi-row <code>INSERT</code> statements, and write the
+     * generated identity values back to the records.
+     */
+    @SuppressWarnings("unchecked")
+    static final int[] executeInsertReturning(DSLContext create, List<? extends Query> queries, List<? extends TableRecord<?>> list) {
+        InsertQueryImpl<Record> first = (InsertQueryImpl<Record>) queries.get(0);
+        Table<Record> table = first.table;
+        Field<?> identity = table.getIdentity().getField();
+        int chunkSize = Math.max(1, Tools.maxBindValues(create.configuration()) / Math.max(1, first.getBindValues().size()));
+        int[] result = new int[queries.size()];
+
+        for (int i = 0; i < queries.size(); i += chunkSize) {
+            int size = Math.min(chunkSize, queries.size() - i);
+            InsertQuery<Record> insert = create.insertQuery(table);
+
+            for (int j = i; j < i + size; j++) {
+                insert.newRecord();
+
+                for (Entry<Field<?>, Field<?>> value : ((InsertQueryImpl<?>) queries.get(j)).getInsertMaps().maps().get(0).entrySet())
+                    addValue(insert, value.getKey(), value.getValue());
+            }
+
+            insert.setReturning(identity);
+            int rows = insert.execute();
+            Result<Record> returned = insert.getReturnedRecords();
+
+            // The mapping between returned values and records is only
+            // reliable if all rows have been returned
+            if (returned.size() != size)
+                throw new DataAccessException("Expected " + size + " generated identity values, but got " + returned.size());
+
+            for (int j = 0; j < size; j++) {
+                AbstractRecord record = (AbstractRecord) list.get(i + j);
+                int index = record.fieldsRow().indexOf(identity);
+
+                if (index >= 0) {
+                    Object value = identity.getDataType().convert(returned.get(j).get(identity));
+
+                    record.values[index] = value;
+                    record.originals[index] = value;
+                    record.changed.clear(index);
+                }
+            }
+
+            for (int j = i; j < i + size; j++)
+                result[j] = rows == size ? 1 : Statement.SUCCESS_NO_INFO;
+        }
+
+        return result;
+    }
+
+    /**
+     * Extracted method to ensure generic type safety.
+     */
+    @SuppressWarnings("unchecked")
+    private static final <T> void addValue(InsertQuery<?> insert, Field<T> field, Field<?> value) {
+        insert.addValue(field, (Field<T>) value);
+    }
+
     private final int[] executeStatic() {
         List<Query> queries = new ArrayList<Query>();
         QueryCollector collector = new QueryCollector();
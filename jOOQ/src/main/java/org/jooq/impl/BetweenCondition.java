@@ -97,6 +97,26 @@ final class BetweenCondition<T> extends AbstractCondition implements BetweenAndS
         this.symmetric = symmetric;
     }
 
+    final Field<T> getField() {
+        return field;
+    }
+
+    final Field<T> getMinValue() {
+        return minValue;
+    }
+
+    final Field<T> getMaxValue() {
+        return maxValue;
+    }
+
+    final boolean isNot() {
+        return not;
+    }
+
+    final boolean isSymmetric() {
+        return symmetric;
+    }
+
     @Override
     public final Condition and(T value) {
         return and(val(value, field.getDataType()));
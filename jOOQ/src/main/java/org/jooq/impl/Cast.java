@@ -76,6 +76,10 @@ final class Cast<T> extends AbstractFunction<T> {
         this.field = field;
     }
 
+    final Field<?> getField() {
+        return field;
+    }
+
     private final DataType<T> getSQLDataType() {
         return getDataType().getSQLDataType();
     }
@@ -81,6 +81,14 @@ final class CombinedCondition extends AbstractCondition {
         init(operator, conditions);
     }
 
+    final Operator getOperator() {
+        return operator;
+    }
+
+    final List<Condition> getConditions() {
+        return conditions;
+    }
+
     private final void init(Operator op, Collection<? extends Condition> cond) {
         for (Condition condition : cond) {
             if (condition instanceof CombinedCondition) {
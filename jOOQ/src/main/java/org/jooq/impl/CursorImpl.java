@@ -36,10 +36,12 @@ package org.jooq.impl;
 
 import static java.lang.Boolean.TRUE;
 // ...
+import static org.jooq.impl.Tools.attachRecords;
 import static org.jooq.impl.Tools.recordFactory;
 import static org.jooq.impl.Tools.DataKey.DATA_LOCK_ROWS_FOR_UPDATE;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
@@ -70,6 +72,7 @@ import java.util.Spliterators;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.jooq.Binding;
 import org.jooq.BindingGetResultSetContext;
 import org.jooq.Cursor;
 import org.jooq.ExecuteContext;
@@ -78,6 +81,7 @@ import org.jooq.Field;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.RecordHandler;
+import org.jooq.RecordListenerProvider;
 import org.jooq.RecordMapper;
 import org.jooq.RecordType;
 import org.jooq.Result;
@@ -104,6 +108,9 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
     private final boolean                                  keepStatement;
     private final int                                      maxRows;
     private final RecordFactory<? extends R>               factory;
+    private final FetchMetrics                             metrics;
+    private final boolean                                  recordListeners;
+    private final boolean                                  attach;
     private boolean                                        isClosed;
 
     private transient CursorResultSet                      rs;
@@ -124,7 +131,7 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
 
     CursorImpl(ExecuteContext ctx, ExecuteListener listener, Field<?>[] fields, int[] internIndexes, boolean keepStatement, boolean keepResultSet, Class<? extends R> type, int maxRows) {
         this.ctx = ctx;
-        this.listener = (listener != null ? listener : new ExecuteListeners(ctx));
+        this.listener = (listener != null ? listener : ExecuteListeners.get(ctx));
         this.cursorFields = fields;
         this.factory = recordFactory(type, fields);
         this.keepStatement = keepStatement;
@@ -138,6 +145,13 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
         this.intern = new boolean[fields.length];
         this.maxRows = maxRows;
         this.lockRowsForUpdate = TRUE.equals(ctx.data(DATA_LOCK_ROWS_FOR_UPDATE));
+        this.metrics = FetchMetrics.of(ctx);
+
+        // Record lifecycle decisions are made once per cursor, not
+        // once per fetched record
+        RecordListenerProvider[] providers = ctx.configuration().recordListenerProviders();
+        this.recordListeners = providers != null && providers.length > 0;
+        this.attach = attachRecords(ctx.configuration());
 
         if (internIndexes != null) {
             for (int i : internIndexes) {
@@ -446,6 +460,13 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
         return fetch().into(table);
     }
 
+    @Override
+    public final void writeTo(OutputStream stream) {
+        ResultCodec.Writer writer = new ResultCodec.Writer(stream, cursorFields);
+        writer.write(this);
+        writer.finish();
+    }
+
     @Override
     public final void close() {
         JDBCUtils.safeClose(rs);
@@ -1559,6 +1580,11 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
          */
         private Boolean hasNext;
 
+        /**
+         * The initialiser that is reused for all top level records.
+         */
+        private final CursorRecordInitialiser initialiser = new CursorRecordInitialiser(cursorFields, 0);
+
         @Override
         public final boolean hasNext() {
             if (hasNext == null) {
@@ -1599,10 +1625,19 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
                         rs.updateRow();
                     }
 
-                    record = Tools.newRecord(true, (RecordFactory<AbstractRecord>) factory, ctx.configuration())
-                                  .operate(new CursorRecordInitialiser(cursorFields, 0));
+                    if (recordListeners)
+                        record = Tools.newRecord(true, (RecordFactory<AbstractRecord>) factory, ctx.configuration())
+                                      .operate(initialiser.reset());
+
+                    // Without any RecordListeners, there is no need to
+                    // allocate a RecordDelegate per row
+                    else
+                        record = initialiser.reset().operate(newRecord());
 
                     rows++;
+
+                    if (metrics != null)
+                        adaptFetchSize(record);
                 }
             }
 
@@ -1631,6 +1666,53 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
             return (R) record;
         }
 
+        /**
+         * Create a new fetched, and possibly attached record, bypassing the
+         * {@link RecordDelegate}.
+         */
+        private final AbstractRecord newRecord() {
+            AbstractRecord record;
+
+            try {
+                record = (AbstractRecord) factory.newInstance();
+            }
+            catch (Exception e) {
+                throw new IllegalStateException("Could not construct new record", e);
+            }
+
+            record.fetched = true;
+
+            // [#1684] Do not attach configuration if settings say no
+            if (attach)
+                record.attach(ctx.configuration());
+
+            return record;
+        }
+
+        /**
+         * Adapt the fetch size of the next round trip to the size of the rows
+         * fetched in the previous round trip.
+         */
+        private final void adaptFetchSize(AbstractRecord record) {
+            int f = metrics.row(record.values);
+
+            if (f > 0) {
+                try {
+                    if (log.isDebugEnabled())
+                        log.debug("Adapting fetch size", f);
+
+                    ctx.resultSet().setFetchSize(f);
+                }
+
+                // Some JDBC drivers do not support changing the fetch size
+                // of an open ResultSet
+                catch (SQLException e) {
+                    log.debug("Adapting fetch size", "Unsupported by JDBC driver: " + e.getMessage());
+                    metrics.disable();
+                }
+            }
+        }
+
         @Override
         public final void remove() {
             throw new UnsupportedOperationException();
@@ -1638,12 +1720,26 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
 
         private class CursorRecordInitialiser implements RecordOperation<AbstractRecord, SQLException> {
 
-            private final Field<?>[] initialiserFields;
-            private int              offset;
+            private final Field<?>[]       initialiserFields;
+            private final Binding<?, ?>[] bindings;
+            private int                    offset;
 
             CursorRecordInitialiser(Field<?>[] fields, int offset) {
                 this.initialiserFields = fields;
+                this.bindings = new Binding[fields.length];
                 this.offset = offset;
+
+                for (int i = 0; i < fields.length; i++)
+                    if (!(fields[i] instanceof RowField))
+                        bindings[i] = fields[i].getBinding();
+            }
+
+            /**
+             * Prepare this initialiser for the next row.
+             */
+            final CursorRecordInitialiser reset() {
+                offset = 0;
+                return this;
             }
 
             @Override
@@ -1701,7 +1797,7 @@ final class CursorImpl<R extends Record> implements Cursor<R> {
                     }
                     else {
                         rsContext.index(offset + index + 1);
-                        field.getBinding().get((BindingGetResultSetContext<T>) rsContext);
+                        ((Binding<?, T>) bindings[index]).get((BindingGetResultSetContext<T>) rsContext);
                         value = (T) rsContext.value();
                     }
 
@@ -44,8 +44,13 @@ import static org.jooq.impl.Tools.EMPTY_RECORD;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.jooq.Condition;
@@ -53,6 +58,7 @@ import org.jooq.Configuration;
 import org.jooq.DAO;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+import org.jooq.InsertQuery;
 import org.jooq.Record;
 import org.jooq.RecordContext;
 import org.jooq.RecordListenerProvider;
@@ -159,13 +165,24 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         // Execute a batch INSERT
         if (objects.size() > 1)
 
-            // [#2536] [#3327] We cannot batch INSERT RETURNING calls yet
-            if (!FALSE.equals(configuration.settings().isReturnRecordToPojo()))
-                for (P object : objects)
-                    insert(object);
-            else
+            // [#2536] [#3327] We can batch INSERT RETURNING calls only for identities
+            if (!FALSE.equals(configuration.settings().isReturnRecordToPojo()) && returnsGeneratedValues())
+                if (returnsIdentityOnly() && BatchCRUD.returnIdentityOnBatchInsert(configuration))
+                    insertReturningIdentity(objects);
+                else
+                    for (P object : objects)
+                        insert(object);
+
+            // UpdatableRecord.insert() initialises version and timestamp
+            // values, and notifies RecordListeners
+            else if (table.getRecordVersion() != null || table.getRecordTimestamp() != null || hasRecordListeners())
                 using(configuration).batchInsert(records(objects, false)).execute();
 
+            // Records are inserted with multi-row INSERT .. VALUES statements,
+            // chunked by the maximum number of bind values per statement
+            else
+                insertChunked(records(objects, false));
+
         // Execute a regular INSERT
         else if (objects.size() == 1)
             records(objects, false).get(0).insert();
@@ -223,9 +240,16 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
                  TRUE.equals(configuration.settings().isReturnAllOnUpdatableRecord()))
                 for (P object : objects)
                     delete(object);
-            else
+
+            // Optimistic locking needs to check each record individually, and
+            // RecordListeners need to be notified of each record
+            else if (TRUE.equals(configuration.settings().isExecuteWithOptimisticLocking()) || pk() == null || hasRecordListeners())
                 using(configuration).batchDelete(records(objects, true)).execute();
 
+            // Otherwise, records can be deleted by ID in chunks
+            else
+                deleteById(ids(objects));
+
         // Execute a regular DELETE
         else if (objects.size() == 1)
             records(objects, true).get(0).delete();
@@ -242,7 +266,10 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         Field<?>[] pk = pk();
 
         if (pk != null) {
-            using(configuration).delete(table).where(equal(pk, ids)).execute();
+            DSLContext ctx = using(configuration);
+
+            for (List<T> chunk : chunks(ids, pk.length))
+                ctx.delete(table).where(equal(pk, chunk)).execute();
         }
     }
 
@@ -283,6 +310,25 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
                  .map(mapper());
     }
 
+    @Override
+    public /* non-final */ List<P> findAllById(Collection<T> ids) {
+        Field<?>[] pk = pk();
+        List<P> result = new ArrayList<P>();
+
+        if (pk != null) {
+            DSLContext ctx = using(configuration);
+
+            // Duplicate IDs in different chunks would fetch rows twice
+            for (List<T> chunk : chunks(new LinkedHashSet<T>(ids), pk.length))
+                result.addAll(ctx.selectFrom(table)
+                                 .where(equal(pk, chunk))
+                                 .fetch()
+                                 .map(mapper()));
+        }
+
+        return result;
+    }
+
     @Override
     public /* non-final */ P findById(T id) {
         Field<?>[] pk = pk();
@@ -301,11 +347,26 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
     @SuppressWarnings("unchecked")
     @Override
     public /* non-final */ <Z> List<P> fetch(Field<Z> field, Z... values) {
-        return using(configuration)
-                 .selectFrom(table)
-                 .where(field.in(values))
-                 .fetch()
-                 .map(mapper());
+        int chunkSize = chunkSize(1);
+
+        if (values.length <= chunkSize)
+            return using(configuration)
+                     .selectFrom(table)
+                     .where(field.in(values))
+                     .fetch()
+                     .map(mapper());
+
+        DSLContext ctx = using(configuration);
+        List<P> result = new ArrayList<P>();
+
+        // Duplicate values in different chunks would fetch rows twice
+        for (List<Z> chunk : chunks(new LinkedHashSet<Z>(asList(values)), 1))
+            result.addAll(ctx.selectFrom(table)
+                             .where(field.in(chunk))
+                             .fetch()
+                             .map(mapper()));
+
+        return result;
     }
 
     @Override
@@ -390,6 +451,134 @@ public abstract class DAOImpl<R extends UpdatableRecord<R>, P, T> implements DAO
         }
     }
 
+    /**
+     * Whether any {@link org.jooq.RecordListener} needs to be notified of
+     * records being inserted or deleted.
+     */
+    private /* non-final */ boolean hasRecordListeners() {
+        return configuration.recordListenerProviders().length > 0;
+    }
+
+    /**
+     * Whether inserting records produces values in the database that need to
+     * be copied back to POJOs.
+     */
+    private /* non-final */ boolean returnsGeneratedValues() {
+        return table.getIdentity() != null
+            || table.getRecordVersion() != null
+            || table.getRecordTimestamp() != null
+            || TRUE.equals(configuration.settings().isReturnAllOnUpdatableRecord());
+    }
+
+    /**
+     * Whether inserting records produces only identity values in the database
+     * that need to be copied back to POJOs.
+     */
+    private /* non-final */ boolean returnsIdentityOnly() {
+        return table.getIdentity() != null
+            && table.getRecordVersion() == null
+            && table.getRecordTimestamp() == null
+            && !TRUE.equals(configuration.settings().isReturnAllOnUpdatableRecord());
+    }
+
+    /**
+     * Insert records in batch, and copy generated identity values back to
+     * POJOs.
+     */
+    private /* non-final */ void insertReturningIdentity(Collection<P> objects) {
+        List<R> records = records(objects, false);
+        using(configuration).batchInsert(records).execute();
+
+        int i = 0;
+        for (P object : objects)
+            records.get(i++).into(object);
+    }
+
+    /**
+     * Insert records using multi-row <code>INSERT .. VALUES</code> statements.
+     * <p>
+     * Records are grouped by their set of changed fields, as unchanged fields
+     * (e.g. <code>NULL</code> values) are omitted to let the database apply
+     * <code>DEFAULT</code> values.
+     */
+    private /* non-final */ void insertChunked(List<R> records) {
+        Map<BitSet, List<R>> groups = new LinkedHashMap<BitSet, List<R>>();
+        Field<?>[] fields = table.fields();
+
+        for (R record : records) {
+            BitSet changed = new BitSet(fields.length);
+
+            for (int i = 0; i < fields.length; i++)
+                if (record.changed(i))
+                    changed.set(i);
+
+            List<R> list = groups.get(changed);
+            if (list == null) {
+                list = new ArrayList<R>();
+                groups.put(changed, list);
+            }
+
+            list.add(record);
+        }
+
+        DSLContext ctx = using(configuration);
+        for (Entry<BitSet, List<R>> entry : groups.entrySet()) {
+            BitSet changed = entry.getKey();
+
+            for (List<R> chunk : chunks(entry.getValue(), Math.max(1, changed.cardinality()))) {
+                InsertQuery<R> insert = ctx.insertQuery(table);
+
+                for (R record : chunk) {
+                    insert.newRecord();
+
+                    for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1))
+                        addValue(insert, fields[i], record.get(i));
+                }
+
+                insert.execute();
+            }
+
+            for (R record : entry.getValue())
+                record.changed(false);
+        }
+    }
+
+    private static final <Z> void addValue(InsertQuery<?> insert, Field<Z> field, Object value) {
+        insert.addValue(field, Tools.field(value, field));
+    }
+
+    private /* non-final */ List<T> ids(Collection<P> objects) {
+        List<T> result = new ArrayList<T>(objects.size());
+
+        for (P object : objects)
+            result.add(getId(object));
+
+        return result;
+    }
+
+    /**
+     * The number of elements per statement, given the number of bind values
+     * per element.
+     */
+    private /* non-final */ int chunkSize(int bindValuesPerElement) {
+        return Math.max(1, Tools.maxBindValues(configuration) / Math.max(1, bindValuesPerElement));
+    }
+
+    /**
+     * Split a collection into chunks that can be sent to the database in a
+     * single statement.
+     */
+    private /* non-final */ <E> List<List<E>> chunks(Collection<E> elements, int bindValuesPerElement) {
+        List<E> list = elements instanceof List ? (List<E>) elements : new ArrayList<E>(elements);
+        List<List<E>> result = new ArrayList<List<E>>();
+        int chunkSize = chunkSize(bindValuesPerElement);
+
+        for (int i = 0; i < list.size(); i += chunkSize)
+            result.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+
+        return result;
+    }
+
     private /* non-final */ Field<?>[] pk() {
         UniqueKey<?> key = table.getPrimaryKey();
         return key == null ? null : key.getFieldsArray();
@@ -39,6 +39,7 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 
 import org.jooq.ConnectionProvider;
+import org.jooq.conf.Settings;
 import org.jooq.exception.DataAccessException;
 import org.jooq.tools.JooqLogger;
 import org.jooq.tools.jdbc.JDBCUtils;
@@ -60,6 +61,7 @@ public class DefaultConnectionProvider implements ConnectionProvider {
     private static final JooqLogger log = JooqLogger.getLogger(DefaultConnectionProvider.class);
     Connection                      connection;
     final boolean                   finalize;
+    private volatile StatementCache statements;
 
     public DefaultConnectionProvider(Connection connection) {
         this(connection, false);
@@ -95,9 +97,39 @@ public class DefaultConnectionProvider implements ConnectionProvider {
     // -------------------------------------------------------------------------
 
     public final void setConnection(Connection connection) {
+        clearStatementCache();
         this.connection = connection;
     }
 
+    /**
+     * The cache of prepared statements for this provider's
+     * connection, if {@link Settings#getStatementCacheSize()} is enabled.
+     */
+    final StatementCache statementCache() {
+        StatementCache result = statements;
+
+        if (result == null) {
+            synchronized (this) {
+                result = statements;
+
+                if (result == null)
+                    statements = result = new StatementCache();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Close all cached prepared statements of this provider's connection.
+     */
+    final void clearStatementCache() {
+        StatementCache result = statements;
+
+        if (result != null)
+            result.clear();
+    }
+
     /**
      * Convenience method to access {@link Connection#commit()}.
      */
@@ -54,6 +54,7 @@ import static org.jooq.impl.Tools.list;
 import static org.jooq.tools.Convert.convert;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.math.BigInteger;
@@ -72,8 +73,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -86,10 +90,12 @@ import org.jooq.AlterSchemaStep;
 import org.jooq.AlterSequenceStep;
 import org.jooq.AlterTableStep;
 import org.jooq.AlterViewStep;
+import org.jooq.AsyncTransactionalCallable;
 import org.jooq.Attachable;
 import org.jooq.Batch;
 import org.jooq.BatchBindStep;
 import org.jooq.BindContext;
+import org.jooq.CachedMeta;
 import org.jooq.Catalog;
 import org.jooq.CommonTableExpression;
 import org.jooq.Condition;
@@ -222,6 +228,7 @@ import org.jooq.TransactionalRunnable;
 import org.jooq.TruncateIdentityStep;
 import org.jooq.UDT;
 import org.jooq.UDTRecord;
+import org.jooq.UnitOfWork;
 import org.jooq.UpdatableRecord;
 import org.jooq.UpdateQuery;
 import org.jooq.UpdateSetFirstStep;
@@ -249,6 +256,7 @@ import org.jooq.WithAsStep7;
 import org.jooq.WithAsStep8;
 import org.jooq.WithAsStep9;
 import org.jooq.WithStep;
+import org.jooq.conf.ParamType;
 import org.jooq.conf.Settings;
 import org.jooq.exception.ConfigurationException;
 import org.jooq.exception.DataAccessException;
@@ -372,6 +380,11 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         return new MetaImpl(configuration());
     }
 
+    @Override
+    public CachedMeta meta(long ttl, TimeUnit unit) {
+        return new MetaImpl(configuration(), ttl, unit);
+    }
+
     @Override
     public Meta meta(InformationSchema schema) {
         return new InformationSchemaMetaImpl(configuration(), schema);
@@ -455,23 +468,9 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
             TransactionListeners listeners = new TransactionListeners(ctx.configuration());
 
             try {
-                try {
-                    listeners.beginStart(ctx);
-                    provider.begin(ctx);
-                }
-                finally {
-                    listeners.beginEnd(ctx);
-                }
-
+                begin(ctx, provider, listeners);
                 result = transactional.run(ctx.configuration());
-
-                try {
-                    listeners.commitStart(ctx);
-                    provider.commit(ctx);
-                }
-                finally {
-                    listeners.commitEnd(ctx);
-                }
+                commit(ctx, provider, listeners);
             }
 
             // [#6608] Propagating errors directly
@@ -479,37 +478,64 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
                 throw error;
             }
             catch (Throwable cause) {
-                if (cause instanceof Exception)
-                    ctx.cause((Exception) cause);
-                else
-                    ctx.causeThrowable(cause);
+                throw rollback(ctx, provider, listeners, cause);
+            }
 
-                listeners.rollbackStart(ctx);
-                try {
-                    provider.rollback(ctx);
-                }
+            return result;
 
-                // [#3718] Use reflection to support also JDBC 4.0
-                catch (Exception suppress) {
 
-                    cause.addSuppressed(suppress);
+        }, threadLocal).get();
 
-                }
-                listeners.rollbackEnd(ctx);
+    }
 
-                if (cause instanceof RuntimeException) {
-                    throw (RuntimeException) cause;
-                }
-                else {
-                    throw new DataAccessException("Rollback caused", cause);
-                }
-            }
+    private static void begin(DefaultTransactionContext ctx, TransactionProvider provider, TransactionListeners listeners) {
+        try {
+            listeners.beginStart(ctx);
+            provider.begin(ctx);
+        }
+        finally {
+            listeners.beginEnd(ctx);
+        }
+    }
 
-            return result;
+    private static void commit(DefaultTransactionContext ctx, TransactionProvider provider, TransactionListeners listeners) {
+        try {
+            listeners.commitStart(ctx);
+            provider.commit(ctx);
+        }
+        finally {
+            listeners.commitEnd(ctx);
+        }
+    }
+
+    /**
+     * Roll back a transaction and return the exception to be propagated.
+     */
+    private static RuntimeException rollback(DefaultTransactionContext ctx, TransactionProvider provider, TransactionListeners listeners, Throwable cause) {
+        if (cause instanceof Exception)
+            ctx.cause((Exception) cause);
+        else
+            ctx.causeThrowable(cause);
+
+        listeners.rollbackStart(ctx);
+        try {
+            provider.rollback(ctx);
+        }
 
+        // [#3718] Use reflection to support also JDBC 4.0
+        catch (Exception suppress) {
 
-        }, threadLocal).get();
+            cause.addSuppressed(suppress);
 
+        }
+        listeners.rollbackEnd(ctx);
+
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        else {
+            return new DataAccessException("Rollback caused", cause);
+        }
     }
 
     @Override
@@ -568,6 +594,98 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         );
     }
 
+    /**
+     * Commit or roll back an asynchronous transaction and complete its result.
+     */
+    private static <T> void complete(
+        DefaultTransactionContext ctx,
+        TransactionProvider provider,
+        TransactionListeners listeners,
+        CompletableFuture<T> result,
+        T value,
+        Throwable error
+    ) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+
+        if (cause == null) {
+            try {
+                commit(ctx, provider, listeners);
+                result.complete(value);
+                return;
+            }
+            catch (Throwable t) {
+                cause = t;
+            }
+        }
+
+        try {
+            result.completeExceptionally(rollback(ctx, provider, listeners, cause));
+        }
+        catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+
+    @Override
+    public <T> CompletionStage<T> transactionStageAsync(AsyncTransactionalCallable<T> transactional) {
+        return transactionStageAsync(Tools.configuration(configuration()).executorProvider().provide(), transactional);
+    }
+
+    @Override
+    public <T> CompletionStage<T> transactionStageAsync(Executor executor, AsyncTransactionalCallable<T> transactional) {
+        if (configuration().transactionProvider() instanceof ThreadLocalTransactionProvider)
+            throw new ConfigurationException("Cannot use AsyncTransactionalCallable with ThreadLocalTransactionProvider");
+
+        DefaultTransactionContext ctx = new DefaultTransactionContext(configuration().derive());
+        TransactionProvider provider = ctx.configuration().transactionProvider();
+        TransactionListeners listeners = new TransactionListeners(ctx.configuration());
+        CompletableFuture<T> result = new CompletableFuture<T>();
+
+        // The connection is tracked by the TransactionContext's Configuration.
+        // Only begin, commit, and rollback block an executor thread. The
+        // transactional stages release it while waiting for their queries.
+        CompletableFuture<Void> begun;
+
+        try {
+            begun = CompletableFuture.runAsync(() -> blocking(() -> { begin(ctx, provider, listeners); return null; }).get(), executor);
+        }
+
+        // The transaction has not been started yet, if the executor rejects the task
+        catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return ExecutorProviderCompletionStage.of(result, () -> executor);
+        }
+
+        begun
+            .thenCompose(v -> {
+                try {
+                    CompletionStage<T> stage = transactional.run(ctx.configuration());
+                    return stage != null ? stage : CompletableFuture.completedFuture((T) null);
+                }
+                catch (Throwable cause) {
+                    CompletableFuture<T> failed = new CompletableFuture<T>();
+                    failed.completeExceptionally(cause);
+                    return failed;
+                }
+            })
+            .whenCompleteAsync((value, error) -> blocking(() -> {
+                complete(ctx, provider, listeners, result, value, error);
+                return null;
+            }).get(), executor)
+
+            // If the executor rejects the commit or rollback task, the
+            // transaction is rolled back in the current thread, such that the
+            // connection is released and the result is completed
+            .whenComplete((v, error) -> {
+                if (!result.isDone())
+                    complete(ctx, provider, listeners, result, null, error);
+            });
+
+        return ExecutorProviderCompletionStage.of(result, () -> executor);
+    }
+
 
 
     @Override
@@ -631,22 +749,32 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
 
     @Override
     public String render(QueryPart part) {
-        return renderContext().visit(part).render();
+        return render(part, null);
     }
 
     @Override
     public String renderNamedParams(QueryPart part) {
-        return renderContext().paramType(NAMED).visit(part).render();
+        return render(part, NAMED);
     }
 
     @Override
     public String renderNamedOrInlinedParams(QueryPart part) {
-        return renderContext().paramType(NAMED_OR_INLINED).visit(part).render();
+        return render(part, NAMED_OR_INLINED);
     }
 
     @Override
     public String renderInlined(QueryPart part) {
-        return renderContext().paramType(INLINED).visit(part).render();
+        return render(part, INLINED);
+    }
+
+    private final String render(QueryPart part, ParamType paramType) {
+        DefaultRenderContext render = new DefaultRenderContext(configuration(), part);
+
+        if (paramType != null)
+            render.paramType(paramType);
+
+        render.visit(part);
+        return render.renderAndRelease();
     }
 
     @Override
@@ -1199,7 +1327,7 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
     @Override
     public Cursor<Record> fetchLazy(ResultSet rs, Field<?>... fields) {
         ExecuteContext ctx = new DefaultExecuteContext(configuration());
-        ExecuteListener listener = new ExecuteListeners(ctx);
+        ExecuteListener listener = ExecuteListeners.get(ctx);
 
         ctx.resultSet(rs);
         return new CursorImpl<Record>(ctx, listener, fields, null, false, true);
@@ -1433,6 +1561,16 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         }
     }
 
+    @Override
+    public Result<Record> readResult(InputStream stream) {
+        return ResultCodec.read(configuration(), stream);
+    }
+
+    @Override
+    public Result<Record> readResult(InputStream stream, Class<?>... allowed) {
+        return ResultCodec.read(configuration(), stream, allowed);
+    }
+
     // -------------------------------------------------------------------------
     // XXX Global Query factory
     // -------------------------------------------------------------------------
@@ -2787,6 +2925,11 @@ public class DefaultDSLContext extends AbstractScope implements DSLContext, Seri
         return batchDelete(records.toArray(EMPTY_UPDATABLE_RECORD));
     }
 
+    @Override
+    public UnitOfWork unitOfWork() {
+        return new UnitOfWorkImpl(configuration());
+    }
+
     // -------------------------------------------------------------------------
     // XXX DDL Statements from existing meta data
     // -------------------------------------------------------------------------
@@ -34,6 +34,11 @@
  */
 package org.jooq.impl;
 
+import static org.jooq.conf.SettingsTools.getStatementCacheSize;
+import static org.jooq.impl.Tools.EMPTY_INT;
+import static org.jooq.impl.Tools.EMPTY_QUERY;
+import static org.jooq.impl.Tools.EMPTY_STRING;
+
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -190,28 +195,48 @@ class DefaultExecuteContext implements ExecuteContext {
      * Register a blob for later cleanup with {@link #clean()}
      */
     static final void register(Blob blob) {
-        BLOBS.get().add(blob);
+        List<Blob> list = BLOBS.get();
+
+        if (list == null)
+            BLOBS.set(list = new ArrayList<Blob>());
+
+        list.add(blob);
     }
 
     /**
      * Register a clob for later cleanup with {@link #clean()}
      */
     static final void register(Clob clob) {
-        CLOBS.get().add(clob);
+        List<Clob> list = CLOBS.get();
+
+        if (list == null)
+            CLOBS.set(list = new ArrayList<Clob>());
+
+        list.add(clob);
     }
 
     /**
      * Register an xml for later cleanup with {@link #clean()}
      */
     static final void register(SQLXML xml) {
-        SQLXMLS.get().add(xml);
+        List<SQLXML> list = SQLXMLS.get();
+
+        if (list == null)
+            SQLXMLS.set(list = new ArrayList<SQLXML>());
+
+        list.add(xml);
     }
 
     /**
      * Register an array for later cleanup with {@link #clean()}
      */
     static final void register(Array array) {
-        ARRAYS.get().add(array);
+        List<Array> list = ARRAYS.get();
+
+        if (list == null)
+            ARRAYS.set(list = new ArrayList<Array>());
+
+        list.add(array);
     }
 
     // ------------------------------------------------------------------------
@@ -369,7 +394,7 @@ class DefaultExecuteContext implements ExecuteContext {
 
         if (routine != null) {
             this.batch = false;
-            this.batchQueries = new Query[0];
+            this.batchQueries = EMPTY_QUERY;
             this.batchRows = new int[] { -1 };
             this.batchSQL = new String[1];
         }
@@ -383,9 +408,9 @@ class DefaultExecuteContext implements ExecuteContext {
         }
         else if (query == null) {
             this.batch = false;
-            this.batchQueries = new Query[0];
-            this.batchRows = new int[0];
-            this.batchSQL = new String[0];
+            this.batchQueries = EMPTY_QUERY;
+            this.batchRows = EMPTY_INT;
+            this.batchSQL = EMPTY_STRING;
         }
         else {
             this.batch = false;
@@ -394,11 +419,9 @@ class DefaultExecuteContext implements ExecuteContext {
             this.batchSQL = new String[1];
         }
 
+        // The lists of resources to be freed are created lazily, when
+        // the first resource is registered
         clean();
-        BLOBS.set(new ArrayList<Blob>());
-        CLOBS.set(new ArrayList<Clob>());
-        SQLXMLS.set(new ArrayList<SQLXML>());
-        ARRAYS.set(new ArrayList<Array>());
         LOCAL_CONFIGURATION.set(configuration);
         LOCAL_DATA.set(this.data);
     }
@@ -597,7 +620,14 @@ class DefaultExecuteContext implements ExecuteContext {
     final void connection(ConnectionProvider provider, Connection c) {
         if (c != null) {
             LOCAL_CONNECTION.set(c);
-            connection = new SettingsEnabledConnection(new ProviderEnabledConnection(provider, c), configuration.settings());
+
+            // Statements can only be cached for connections with a known lifecycle
+            int size = getStatementCacheSize(configuration.settings());
+            Connection p = size > 0 && provider instanceof DefaultConnectionProvider
+                ? new StatementCachingConnection(c, ((DefaultConnectionProvider) provider).statementCache(), size)
+                : c;
+
+            connection = new SettingsEnabledConnection(new ProviderEnabledConnection(provider, p), configuration.settings());
         }
     }
 
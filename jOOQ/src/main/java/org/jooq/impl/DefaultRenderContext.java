@@ -51,6 +51,7 @@ import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.jooq.BindContext;
@@ -66,6 +67,7 @@ import org.jooq.conf.RenderFormatting;
 import org.jooq.conf.RenderKeywordStyle;
 import org.jooq.conf.RenderNameStyle;
 import org.jooq.conf.Settings;
+import org.jooq.conf.SettingsTools;
 import org.jooq.exception.ControlFlowSignal;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.Tools.DataKey;
@@ -83,7 +85,38 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
     private static final Pattern          NEWLINE            = Pattern.compile("[\\n\\r]");
     private static final Set<String>      SQLITE_KEYWORDS;
 
+    /**
+     * Estimates of the rendered SQL length, per type of top level query part.
+     * <p>
+     * This is a coarse, per-class estimate: e.g. all <code>SELECT</code>
+     * statements share the same estimate, regardless of their contents.
+     */
+    private static final ConcurrentHashMap<Class<?>, Integer> SIZE_HINTS = new ConcurrentHashMap<Class<?>, Integer>();
+
+    /**
+     * The largest initial capacity derived from {@link #SIZE_HINTS}.
+     */
+    private static final int              MAX_SIZE_HINT      = 1 << 16;
+
+    /**
+     * Reusable buffers, if {@link SettingsTools#renderBufferPooling(Settings)}
+     * is active.
+     */
+    private static final ThreadLocal<StringBuilder[]> BUFFERS = new ThreadLocal<StringBuilder[]>() {
+        @Override
+        protected StringBuilder[] initialValue() {
+            return new StringBuilder[1];
+        }
+    };
+
+    /**
+     * The largest buffer capacity that is retained for reuse.
+     */
+    private static final int              MAX_POOLED_BUFFER  = 1 << 22;
+
     private final StringBuilder           sql;
+    private final Class<?>                shape;
+    private boolean                       pooled;
     private final QueryPartList<Param<?>> bindValues;
     private int                           params;
     private int                           alias;
@@ -105,11 +138,26 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
     int                                   cachedPrintMargin;
 
     DefaultRenderContext(Configuration configuration) {
+        this(configuration, (QueryPart) null);
+    }
+
+    /**
+     * Create a render context for a top level query part, which is discarded
+     * after {@link #renderAndRelease()}.
+     * <p>
+     * The initial buffer size is estimated from previous renderings of query
+     * parts of the same type. If {@link Settings#isRenderBufferPooling()} is
+     * active, the buffer is taken from a thread local pool, and returned to it
+     * by {@link #renderAndRelease()}, after which this context must no longer
+     * be used.
+     */
+    DefaultRenderContext(Configuration configuration, QueryPart root) {
         super(configuration, null);
 
         Settings settings = configuration.settings();
 
-        this.sql = new StringBuilder();
+        this.shape = root == null ? null : root.getClass();
+        this.sql = buffer(settings);
         this.bindValues = new QueryPartList<Param<?>>();
         this.cachedRenderKeywordStyle = settings.getRenderKeywordStyle();
         this.cachedRenderFormatted = Boolean.TRUE.equals(settings.isRenderFormatted());
@@ -177,6 +225,49 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
         return "alias_" + (++alias);
     }
 
+    private final StringBuilder buffer(Settings settings) {
+        if (shape == null)
+            return new StringBuilder();
+
+        if (SettingsTools.renderBufferPooling(settings)) {
+            StringBuilder[] buffers = BUFFERS.get();
+            StringBuilder result = buffers[0];
+            pooled = true;
+
+            // If the pooled buffer is in use by an enclosing render context,
+            // a new buffer is allocated, and possibly pooled by
+            // renderAndRelease()
+            if (result != null) {
+                buffers[0] = null;
+                result.setLength(0);
+                return result;
+            }
+        }
+
+        Integer hint = SIZE_HINTS.get(shape);
+        return hint == null ? new StringBuilder() : new StringBuilder(Math.min(hint + (hint >> 3), MAX_SIZE_HINT));
+    }
+
+    /**
+     * Update the size estimate of the current shape with a rendered length.
+     * <p>
+     * The estimate is a moving average, which is only written when it changes
+     * significantly, to avoid contention on the shared map.
+     */
+    private static final void hint(Class<?> shape, int length) {
+        Integer previous = SIZE_HINTS.get(shape);
+
+        if (previous == null) {
+            SIZE_HINTS.put(shape, length);
+        }
+        else {
+            int next = previous + (length - previous) / 4;
+
+            if (Math.abs(next - previous) > (previous >> 3))
+                SIZE_HINTS.put(shape, next);
+        }
+    }
+
     @Override
     public final String render() {
         String prepend = null;
@@ -184,6 +275,31 @@ class DefaultRenderContext extends AbstractContext<RenderContext> implements Ren
         return prepend == null ? result : prepend + result;
     }
 
+    /**
+     * Render the complete SQL string of a top level query part, and release
+     * this context's buffer.
+     * <p>
+     * Unlike {@link #render()}, which may be called at any time, e.g. by
+     * {@link org.jooq.VisitListener}s or through {@link #toString()}, this
+     * must only be called once, by the creator of this context, after
+     * visiting the top level query part.
+     */
+    final String renderAndRelease() {
+        String result = render();
+
+        if (shape != null)
+            hint(shape, sql.length());
+
+        if (pooled) {
+            pooled = false;
+
+            if (sql.capacity() <= MAX_POOLED_BUFFER)
+                BUFFERS.get()[0] = sql;
+        }
+
+        return result;
+    }
+
     @Override
     public final String render(QueryPart part) {
         return new DefaultRenderContext(this).visit(part).render();
@@ -246,6 +246,10 @@ public class DefaultTransactionProvider implements TransactionProvider {
         //         try-finally will ensure that the ConnectionProvider.release() call is made
         finally {
             if (!start) {
+
+                // Cached statements must not outlive the transaction, as the
+                // connection may be returned to a pool
+                connection.clearStatementCache();
                 connectionProvider.release(connection.connection);
                 configuration.data().remove(DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION);
             }
@@ -40,6 +40,7 @@ import static org.jooq.impl.Tools.EMPTY_EXECUTE_LISTENER;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jooq.Configuration;
 import org.jooq.ExecuteContext;
 import org.jooq.ExecuteListener;
 import org.jooq.ExecuteListenerProvider;
@@ -57,9 +58,14 @@ final class ExecuteListeners implements ExecuteListener {
     /**
      * Generated UID
      */
-    private static final long       serialVersionUID = 7399239846062763212L;
+    private static final long            serialVersionUID = 7399239846062763212L;
 
-    private final ExecuteListener[] listeners;
+    /**
+     * A no-op listener used when no listeners are configured.
+     */
+    private static final ExecuteListener EMPTY_LISTENER   = new DefaultExecuteListener();
+
+    private final ExecuteListener[]      listeners;
 
     // In some setups, these two events may get mixed up chronologically by the
     // Cursor. Postpone fetchEnd event until after resultEnd event, if there is
@@ -67,10 +73,39 @@ final class ExecuteListeners implements ExecuteListener {
     private boolean                 resultStart;
     private boolean                 fetchEnd;
 
-    ExecuteListeners(ExecuteContext ctx) {
-        listeners = listeners(ctx);
+    private ExecuteListeners(ExecuteListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Provide an {@link ExecuteListener} for an <code>ExecuteContext</code>
+     * and issue the {@link ExecuteListener#start(ExecuteContext)} event.
+     * <p>
+     * If no listeners are configured and execute logging is turned off, this
+     * returns a shared no-op listener, avoiding the per-execution allocation
+     * of the listener queue and its delegates.
+     */
+    static final ExecuteListener get(ExecuteContext ctx) {
+        if (!listening(ctx.configuration()))
+            return EMPTY_LISTENER;
+
+        ExecuteListeners result = new ExecuteListeners(listeners(ctx));
+        result.start(ctx);
+        return result;
+    }
+
+    /**
+     * Whether a <code>Configuration</code> produces any listeners.
+     */
+    private static final boolean listening(Configuration configuration) {
+        if (!FALSE.equals(configuration.settings().isExecuteLogging()))
+            return true;
+
+        for (ExecuteListenerProvider provider : configuration.executeListenerProviders())
+            if (provider != null)
+                return true;
 
-        start(ctx);
+        return false;
     }
 
     /**
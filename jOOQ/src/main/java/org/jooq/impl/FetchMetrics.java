@@ -0,0 +1,234 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.Tools.DataKey.DATA_FETCH_METRICS;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Record;
+import org.jooq.conf.Settings;
+
+/**
+ * Metrics about a lazily fetched result, whose JDBC fetch size is adapted to a
+ * target buffer size.
+ * <p>
+ * If {@link Settings#getFetchBufferSize()} is positive, the size of each row
+ * that is fetched from a lazy {@link org.jooq.Cursor} or
+ * {@link java.util.stream.Stream} is estimated from its values. Whenever the
+ * rows of one round trip (i.e. one fetch size) have been consumed, the fetch
+ * size of the next round trip is adjusted, such that approximately
+ * {@link Settings#getFetchBufferSize()} bytes are transferred and buffered
+ * per round trip.
+ * <p>
+ * JDBC does not expose actual network round trips nor transferred bytes. The
+ * values reported here are estimates based on the fetch size and on the
+ * fetched values. They can be accessed from an {@link ExecuteListener}, e.g.
+ * in {@link ExecuteListener#fetchEnd(ExecuteContext)}, through
+ * {@link #of(ExecuteContext)}.
+ *
+ * @author Lukas Eder
+ */
+public final class FetchMetrics {
+
+    /**
+     * The initial fetch size, if none is specified explicitly.
+     */
+    static final int         INITIAL_FETCH_SIZE = 100;
+    static final int         MIN_FETCH_SIZE     = 10;
+    static final int         MAX_FETCH_SIZE     = 50000;
+
+    /**
+     * The estimated per-row overhead in bytes.
+     */
+    private static final int ROW_OVERHEAD       = 8;
+
+    private final int        target;
+    private int              fetchSize;
+    private int              batchRows;
+    private long             batchBytes;
+    private long             rows;
+    private long             bytes;
+    private int              roundTrips;
+    private int              adjustments;
+    private boolean          adaptive;
+
+    FetchMetrics(int target, int fetchSize) {
+        this.target = target;
+        this.fetchSize = fetchSize;
+        this.adaptive = true;
+    }
+
+    /**
+     * Get the metrics of a lazily fetched result, or <code>null</code> if
+     * the result's fetch size is not adapted.
+     */
+    public static FetchMetrics of(ExecuteContext ctx) {
+        return (FetchMetrics) ctx.data(DATA_FETCH_METRICS);
+    }
+
+    /**
+     * The number of rows fetched so far.
+     */
+    public final long rows() {
+        return rows;
+    }
+
+    /**
+     * The estimated number of bytes fetched so far.
+     */
+    public final long bytes() {
+        return bytes;
+    }
+
+    /**
+     * The estimated number of round trips so far.
+     */
+    public final int roundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * The number of times the fetch size has been adjusted so far.
+     */
+    public final int adjustments() {
+        return adjustments;
+    }
+
+    /**
+     * The current fetch size.
+     */
+    public final int fetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * The target buffer size in bytes.
+     */
+    public final int targetBufferSize() {
+        return target;
+    }
+
+    /**
+     * Account for a fetched row.
+     *
+     * @return The fetch size for the next round trip, or <code>0</code> if
+     *         the fetch size should not be changed.
+     */
+    final int row(Object[] values) {
+        if (batchRows++ == 0)
+            roundTrips++;
+
+        long b = ROW_OVERHEAD;
+        for (Object value : values)
+            b += size(value);
+
+        rows++;
+        bytes += b;
+        batchBytes += b;
+
+        if (batchRows < fetchSize)
+            return 0;
+
+        // The rows of one round trip have been consumed
+        long average = Math.max(1L, batchBytes / batchRows);
+        batchRows = 0;
+        batchBytes = 0L;
+
+        if (!adaptive)
+            return 0;
+
+        // Grow at most four fold per round trip, to dampen outliers
+        int next = (int) Math.max(MIN_FETCH_SIZE, Math.min(Math.min(MAX_FETCH_SIZE, 4L * fetchSize), target / average));
+
+        if (next == fetchSize)
+            return 0;
+
+        fetchSize = next;
+        adjustments++;
+        return next;
+    }
+
+    /**
+     * Stop adapting the fetch size, e.g. if the JDBC driver does not support
+     * changing it.
+     */
+    final void disable() {
+        adaptive = false;
+    }
+
+    /**
+     * Estimate the size of a value in bytes.
+     */
+    private static final int size(Object value) {
+        if (value == null)
+            return 1;
+        else if (value instanceof String)
+            return 4 + ((String) value).length();
+        else if (value instanceof byte[])
+            return 4 + ((byte[]) value).length;
+        else if (value instanceof BigDecimal)
+            return 4 + ((BigDecimal) value).unscaledValue().bitLength() / 8;
+        else if (value instanceof BigInteger)
+            return 4 + ((BigInteger) value).bitLength() / 8;
+        else if (value instanceof Number || value instanceof java.util.Date)
+            return 8;
+        else if (value instanceof Boolean)
+            return 1;
+        else if (value instanceof Record) {
+            int result = 0;
+
+            for (Object v : ((Record) value).intoArray())
+                result += size(v);
+
+            return result;
+        }
+        else
+            return 16;
+    }
+
+    @Override
+    public String toString() {
+        return "FetchMetrics [rows=" + rows
+             + ", bytes=" + bytes
+             + ", roundTrips=" + roundTrips
+             + ", adjustments=" + adjustments
+             + ", fetchSize=" + fetchSize
+             + ", targetBufferSize=" + target + "]";
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.DataType;
+import org.jooq.Record;
+import org.jooq.impl.ParallelGrouping.Group;
+import org.jooq.impl.ParallelGrouping.Key;
+
+/**
+ * A utility for joining in-memory {@link org.jooq.Result} objects by key.
+ * <p>
+ * A hash table is built from the record indexes of one side, which is then
+ * probed once for each record of the other side, such that joins run in
+ * linear time. As in SQL, <code>NULL</code> keys never match. Key values of
+ * the right side are converted to the data types of the left side's keys
+ * before they are compared.
+ *
+ * @author Lukas Eder
+ */
+final class HashJoin {
+
+    /**
+     * Inner join two lists of records.
+     * <p>
+     * The hash table is built from the smaller side. The resulting pairs of
+     * left and right record indexes are encoded as
+     * <code>(left &lt;&lt; 32) | right</code> and ordered by left index first,
+     * then by right index.
+     */
+    static final long[] join(
+        List<? extends Record> left, int[] leftIndexes,
+        List<? extends Record> right, int[] rightIndexes,
+        DataType<?>[] types
+    ) {
+        boolean buildLeft = left.size() < right.size();
+        List<? extends Record> build = buildLeft ? left : right;
+        List<? extends Record> probe = buildLeft ? right : left;
+        int[] buildIndexes = buildLeft ? leftIndexes : rightIndexes;
+        int[] probeIndexes = buildLeft ? rightIndexes : leftIndexes;
+
+        Map<Object, Group> table = build(build, buildIndexes, types);
+        long[] result = new long[Math.max(16, Math.min(left.size(), right.size()))];
+        int size = 0;
+
+        for (int i = 0; i < probe.size(); i++) {
+            Object key = key(probe.get(i), probeIndexes, types);
+
+            if (key != null) {
+                Group group = table.get(key);
+
+                if (group != null) {
+                    for (int j = 0; j < group.size; j++) {
+                        if (size == result.length)
+                            result = Arrays.copyOf(result, size * 2);
+
+                        result[size++] = buildLeft
+                            ? pair(group.rows[j], i)
+                            : pair(i, group.rows[j]);
+                    }
+                }
+            }
+        }
+
+        result = Arrays.copyOf(result, size);
+
+        // When probing the right side, pairs are ordered by right index first
+        if (buildLeft)
+            Arrays.sort(result);
+
+        return result;
+    }
+
+    /**
+     * Check for each record of the left side whether there is at least one
+     * matching record on the right side.
+     */
+    static final boolean[] matches(
+        List<? extends Record> left, int[] leftIndexes,
+        List<? extends Record> right, int[] rightIndexes,
+        DataType<?>[] types
+    ) {
+        Map<Object, Group> table = build(right, rightIndexes, types);
+        boolean[] result = new boolean[left.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            Object key = key(left.get(i), leftIndexes, types);
+            result[i] = key != null && table.containsKey(key);
+        }
+
+        return result;
+    }
+
+    static final int left(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    static final int right(long pair) {
+        return (int) pair;
+    }
+
+    private static final long pair(int left, int right) {
+        return ((long) left << 32) | (right & 0xFFFFFFFFL);
+    }
+
+    private static final Map<Object, Group> build(List<? extends Record> records, int[] indexes, DataType<?>[] types) {
+        Map<Object, Group> result = new HashMap<Object, Group>();
+
+        for (int i = 0; i < records.size(); i++) {
+            Object key = key(records.get(i), indexes, types);
+
+            if (key != null) {
+                Group group = result.get(key);
+
+                if (group == null)
+                    result.put(key, group = new Group(key));
+
+                group.add(i);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Extract a record's join key, or <code>null</code> if any of the key
+     * values is <code>null</code>.
+     */
+    private static final Object key(Record record, int[] indexes, DataType<?>[] types) {
+        if (indexes.length == 1)
+            return types[0].convert(record.get(indexes[0]));
+
+        Object[] values = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++)
+            if ((values[i] = types[i].convert(record.get(indexes[i]))) == null)
+                return null;
+
+        return new Key(values);
+    }
+}
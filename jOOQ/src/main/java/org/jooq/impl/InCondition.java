@@ -46,11 +46,16 @@ import static org.jooq.SQLDialect.FIREBIRD;
 // ...
 // ...
 import static org.jooq.conf.ParamType.INDEXED;
+import static org.jooq.conf.SettingsTools.getInListArrayBindThreshold;
+import static org.jooq.impl.DSL.all;
+import static org.jooq.impl.DSL.any;
 import static org.jooq.impl.DSL.falseCondition;
 import static org.jooq.impl.DSL.trueCondition;
+import static org.jooq.impl.DSL.val;
 import static org.jooq.impl.Keywords.K_AND;
 import static org.jooq.impl.Keywords.K_OR;
 
+import java.lang.reflect.Array;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.List;
@@ -58,7 +63,9 @@ import java.util.List;
 import org.jooq.Clause;
 import org.jooq.Comparator;
 import org.jooq.Context;
+import org.jooq.DataType;
 import org.jooq.Field;
+import org.jooq.Param;
 
 /**
  * @author Lukas Eder
@@ -80,6 +87,18 @@ final class InCondition<T> extends AbstractCondition {
         this.comparator = comparator;
     }
 
+    final Field<T> getField() {
+        return field;
+    }
+
+    final Field<?>[] getValues() {
+        return values;
+    }
+
+    final Comparator getComparator() {
+        return comparator;
+    }
+
     @Override
     public final Clause[] clauses(Context<?> ctx) {
         return comparator == IN ? CLAUSES_IN : CLAUSES_IN_NOT;
@@ -95,6 +114,17 @@ final class InCondition<T> extends AbstractCondition {
             else
                 ctx.visit(trueCondition());
         }
+        else if (arrayBind(ctx)) {
+
+            // Bind long IN lists as a single array, such that neither the SQL
+            // string nor the number of bind values depend on the list length
+            Field<T[]> array = val(array(), field.getDataType().getArrayDataType());
+
+            if (comparator == IN)
+                ctx.visit(field.eq(any(array)));
+            else
+                ctx.visit(field.ne(all(array)));
+        }
         else if (list.size() > IN_LIMIT) {
             // [#798] Oracle and some other dialects can only hold 1000 values
             // in an IN (...) clause
@@ -147,6 +177,58 @@ final class InCondition<T> extends AbstractCondition {
         }
     }
 
+    /**
+     * Whether the values should be bound as a single array.
+     * <p>
+     * This is possible only for dialects that support quantified comparison
+     * predicates with array arguments, if all values are bind values, and if
+     * the field's data type is a built-in {@link SQLDataType} (or one of its
+     * dialect specific variants) without any custom converter or binding.
+     */
+    private final boolean arrayBind(Context<?> ctx) {
+        int threshold = getInListArrayBindThreshold(ctx.settings());
+
+        if (threshold == 0 || values.length <= threshold || ctx.paramType() != INDEXED)
+            return false;
+
+        switch (ctx.family()) {
+            case H2:
+            case HSQLDB:
+            case POSTGRES:
+                break;
+
+            default:
+                return false;
+        }
+
+        DataType<T> type = field.getDataType();
+
+        // Subclasses of DefaultDataType include converted, array, UDT and
+        // table types, and only DefaultDataType's subclasses can have custom
+        // bindings
+        if (type.getClass() != DefaultDataType.class
+                || type.getSQLDataType() == null
+                || type.getType() == Object.class
+                || type.getType().isArray())
+            return false;
+
+        for (Field<?> value : values)
+            if (!(value instanceof Param) || ((Param<?>) value).isInline())
+                return false;
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private final T[] array() {
+        T[] result = (T[]) Array.newInstance(field.getType(), values.length);
+
+        for (int i = 0; i < values.length; i++)
+            result[i] = field.getDataType().convert(((Param<?>) values[i]).getValue());
+
+        return result;
+    }
+
     private static List<Field<?>> padded(Context<?> ctx, List<Field<?>> list) {
         return ctx.paramType() == INDEXED && TRUE.equals(ctx.settings().isInListPadding())
             ? new PaddedList<Field<?>>(list, asList(FIREBIRD).contains(ctx.family())
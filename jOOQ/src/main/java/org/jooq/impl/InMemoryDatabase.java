@@ -0,0 +1,1347 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.jooq.Comparator;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Name;
+import org.jooq.Operator;
+import org.jooq.Param;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+
+/**
+ * An in-memory {@link MockDataProvider} that stores table contents in memory.
+ * <p>
+ * This data provider parses incoming SQL with the jOOQ {@link org.jooq.Parser}
+ * and evaluates a simple subset of SQL against in-memory tables:
+ * <ul>
+ * <li><code>SELECT</code> from a single table, with a projection of columns or
+ * <code>*</code>, a <code>WHERE</code> clause, <code>ORDER BY</code> without
+ * <code>NULLS FIRST</code> or <code>NULLS LAST</code>, and
+ * <code>LIMIT .. OFFSET</code> without <code>WITH TIES</code></li>
+ * <li><code>INSERT .. VALUES</code> with an explicit column list, and one or
+ * more rows</li>
+ * <li><code>UPDATE .. SET .. WHERE</code></li>
+ * <li><code>DELETE .. WHERE</code></li>
+ * </ul>
+ * <code>WHERE</code> clauses may combine comparison predicates (<code>=</code>,
+ * <code>&lt;&gt;</code>, <code>&lt;</code>, <code>&lt;=</code>,
+ * <code>&gt;</code>, <code>&gt;=</code>), <code>[ NOT ] BETWEEN</code>,
+ * <code>[ NOT ] IN</code>, and <code>IS [ NOT ] NULL</code> predicates
+ * between columns and constants or bind values using <code>AND</code>,
+ * <code>OR</code>, and <code>NOT</code>. Predicates are evaluated using
+ * SQL's three-valued logic, where comparisons involving <code>NULL</code>
+ * values are <code>UNKNOWN</code>, and only rows for which the
+ * <code>WHERE</code> clause is <code>TRUE</code> qualify. Columns must be
+ * referenced by their unqualified names, or qualified by the table's name or
+ * alias. Everything else, including <code>DISTINCT</code>, set operations,
+ * common table expressions, and locking clauses, is rejected with a
+ * {@link SQLFeatureNotSupportedException}.
+ * <p>
+ * Each statement is applied atomically: if any row of a multi-row
+ * <code>INSERT</code> or <code>UPDATE</code> violates a unique constraint, no
+ * rows are modified.
+ * <p>
+ * Tables must be registered using {@link #create(Table)} before they can be
+ * accessed. Primary key columns are indexed automatically. Additional columns
+ * can be indexed using {@link #index(Table, Field...)}. Equality and
+ * <code>IN</code> predicates on indexed columns are evaluated through hash
+ * lookups, range predicates through sorted index lookups. Single column
+ * primary keys are enforced to be unique.
+ * <p>
+ * Parsed statements are cached per SQL string, such that repeated executions
+ * of the same statement with different bind values do not need to be parsed
+ * again. The cache is bounded, as SQL strings with inlined values may be
+ * distinct for each execution. This makes this data provider suitable for load testing
+ * {@link MockConnection} based code without a database.
+ * <p>
+ * This implementation is still very experimental and not officially
+ * supported!
+ *
+ * @author Lukas Eder
+ */
+public class InMemoryDatabase implements MockDataProvider {
+
+    /**
+     * The maximum number of parsed statements that are cached.
+     */
+    private static final int                    MAX_STATEMENTS = 10000;
+
+    private final DSLContext                    create;
+    private final Map<String, InMemoryTable>    tables;
+    private final Map<String, Statement>        statements;
+
+    public InMemoryDatabase() {
+        this(SQLDialect.DEFAULT);
+    }
+
+    public InMemoryDatabase(SQLDialect dialect) {
+        this.create = DSL.using(dialect);
+        this.tables = new ConcurrentHashMap<String, InMemoryTable>();
+        this.statements = new ConcurrentHashMap<String, Statement>();
+    }
+
+    /**
+     * Register a new, empty table.
+     * <p>
+     * The table is identified by its unqualified name, case-insensitively. The
+     * columns of its primary key, if any, are indexed.
+     */
+    public final InMemoryDatabase create(Table<?> table) {
+        InMemoryTable t = new InMemoryTable(table.fields());
+        UniqueKey<?> pk = table.getPrimaryKey();
+
+        if (pk != null) {
+            for (Field<?> field : pk.getFields())
+                t.index(t.indexOf(field.getName()));
+
+            if (pk.getFields().size() == 1)
+                t.unique = t.indexOf(pk.getFields().get(0).getName());
+        }
+
+        tables.put(key(table.getName()), t);
+        statements.clear();
+        return this;
+    }
+
+    /**
+     * Add hash and sorted indexes on columns of a table.
+     */
+    public final InMemoryDatabase index(Table<?> table, Field<?>... fields) {
+        InMemoryTable t = table(table.getName());
+
+        for (Field<?> field : fields) {
+            int index = t.indexOf(field.getName());
+
+            if (index < 0)
+                throw new IllegalArgumentException("Field " + field + " is not contained in table " + table);
+
+            t.index(index);
+        }
+
+        return this;
+    }
+
+    /**
+     * Insert records into a table.
+     * <p>
+     * Record values are mapped to the table's columns by name.
+     */
+    public final InMemoryDatabase insert(Table<?> table, Collection<? extends Record> records) throws SQLException {
+        InMemoryTable t = table(table.getName());
+        Lock lock = t.lock.writeLock();
+
+        lock.lock();
+        try {
+            List<Object[]> rows = new ArrayList<Object[]>(records.size());
+
+            for (Record record : records) {
+                Object[] row = new Object[t.fields.length];
+
+                for (int i = 0; i < t.fields.length; i++) {
+                    Field<?> field = record.field(t.fields[i].getName());
+
+                    if (field != null)
+                        row[i] = t.fields[i].getDataType().convert(record.get(field));
+                }
+
+                rows.add(row);
+            }
+
+            t.insert(rows);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        return this;
+    }
+
+    private final InMemoryTable table(String name) {
+        InMemoryTable result = tables.get(key(name));
+
+        if (result == null)
+            throw new IllegalArgumentException("Table " + name + " does not exist. It must be created first");
+
+        return result;
+    }
+
+    private static final String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // -------------------------------------------------------------------------
+    // MockDataProvider API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public MockResult[] execute(MockExecuteContext ctx) throws SQLException {
+        if (ctx.batchSingle()) {
+            Object[][] bindings = ctx.batchBindings();
+            Statement statement = statement(ctx.sql(), bindings.length > 0 ? bindings[0].length : 0);
+            MockResult[] result = new MockResult[bindings.length];
+
+            for (int i = 0; i < bindings.length; i++)
+                result[i] = statement.execute(bindings[i]);
+
+            return result;
+        }
+        else if (ctx.batchMultiple()) {
+            String[] sql = ctx.batchSQL();
+            MockResult[] result = new MockResult[sql.length];
+
+            for (int i = 0; i < sql.length; i++)
+                result[i] = statement(sql[i], 0).execute(new Object[0]);
+
+            return result;
+        }
+        else {
+            Object[] bindings = ctx.bindings();
+            return new MockResult[] { statement(ctx.sql(), bindings.length).execute(bindings) };
+        }
+    }
+
+    private final Statement statement(String sql, int bindCount) throws SQLException {
+        Statement result = statements.get(sql);
+
+        if (result == null) {
+            Object[] markers = new Object[bindCount];
+            for (int i = 0; i < bindCount; i++)
+                markers[i] = new BindMarker(i);
+
+            Query query;
+            try {
+                query = create.parser().parseQuery(sql, markers);
+            }
+            catch (ParserException e) {
+                throw new SQLException("Cannot parse SQL: " + sql, e);
+            }
+
+            result = compile(query);
+
+            // The cache doesn't need to be exact, it just needs to be bounded
+            if (statements.size() >= MAX_STATEMENTS)
+                statements.clear();
+
+            statements.put(sql, result);
+        }
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Statement compilation
+    // -------------------------------------------------------------------------
+
+    @SuppressWarnings("rawtypes")
+    private final Statement compile(Query query) throws SQLException {
+        if (query instanceof SelectQueryImpl)
+            return compileSelect((SelectQueryImpl<?>) query);
+
+        if (query instanceof AbstractDelegatingQuery) {
+            Query delegate = ((AbstractDelegatingQuery) query).getDelegate();
+
+            if (delegate instanceof InsertQueryImpl)
+                return compileInsert((InsertQueryImpl<?>) delegate);
+            else if (delegate instanceof UpdateQueryImpl)
+                return compileUpdate((UpdateQueryImpl<?>) delegate);
+            else if (delegate instanceof DeleteQueryImpl)
+                return compileDelete((DeleteQueryImpl<?>) delegate);
+        }
+
+        throw notSupported(query);
+    }
+
+    private final Statement compileSelect(SelectQueryImpl<?> select) throws SQLException {
+        if (!select.isSimple()
+                || select.getFrom().size() != 1
+                || !select.getGroupBy().isEmpty()
+                || !(select.getHaving().getWhere() instanceof TrueCondition)
+                || select.getLimit().withTies())
+            throw notSupported(select);
+
+        Compiler c = compiler(select, select.getFrom().get(0));
+        InMemoryTable table = c.table;
+
+        List<Field<?>> projection = select.getSelect0();
+        int[] columns;
+        Field<?>[] fields;
+
+        if (projection.isEmpty()) {
+            columns = new int[table.fields.length];
+            fields = table.fields;
+
+            for (int i = 0; i < columns.length; i++)
+                columns[i] = i;
+        }
+        else {
+            columns = new int[projection.size()];
+            fields = new Field[projection.size()];
+
+            for (int i = 0; i < columns.length; i++) {
+                Field<?> f = projection.get(i);
+
+                if (f instanceof FieldAlias) {
+                    columns[i] = c.column(((FieldAlias<?>) f).getAliasedField());
+                    fields[i] = table.fields[columns[i]].as(f.getName());
+                }
+                else {
+                    columns[i] = c.column(f);
+                    fields[i] = table.fields[columns[i]];
+                }
+            }
+        }
+
+        SortFieldList orderBy = select.getOrderBy();
+        int[] sortColumns = new int[orderBy.size()];
+        boolean[] sortDesc = new boolean[orderBy.size()];
+
+        for (int i = 0; i < sortColumns.length; i++) {
+            SortField<?> s = orderBy.get(i);
+
+            if (!(s instanceof SortFieldImpl)
+                    || ((SortFieldImpl<?>) s).getNullsFirst()
+                    || ((SortFieldImpl<?>) s).getNullsLast())
+                throw notSupported(select);
+
+            sortColumns[i] = c.column(((SortFieldImpl<?>) s).getField());
+            sortDesc[i] = s.getOrder() == SortOrder.DESC;
+        }
+
+        Predicate where = c.predicate(select.getWhere().getWhere());
+        Limit limit = select.getLimit();
+        int limitSlot = limit.getNumberOfRows() == null ? -1 : c.slot(limit.getNumberOfRows(), SQLDataType.INTEGER);
+        int offsetSlot = limit.getOffset() == null ? -1 : c.slot(limit.getOffset(), SQLDataType.INTEGER);
+
+        return new SelectStatement(c, where, columns, new RowImpl(fields), sortColumns, sortDesc, limitSlot, offsetSlot);
+    }
+
+    private final Statement compileInsert(InsertQueryImpl<?> insert) throws SQLException {
+        FieldMapsForInsert maps = insert.getInsertMaps();
+
+        if (!insert.returning.isEmpty() || !maps.isExecutable())
+            throw notSupported(insert);
+
+        Compiler c = compiler(insert, insert.table);
+        InMemoryTable table = c.table;
+        List<Map<Field<?>, Field<?>>> rows = maps.maps();
+        int[][] slots = new int[rows.size()][];
+
+        for (int r = 0; r < slots.length; r++) {
+            slots[r] = new int[table.fields.length];
+            Arrays.fill(slots[r], -1);
+
+            for (Map.Entry<Field<?>, Field<?>> entry : rows.get(r).entrySet()) {
+                if (entry.getKey() == null)
+                    throw notSupported(insert);
+
+                int column = c.column(entry.getKey());
+                slots[r][column] = c.slot(entry.getValue(), table.fields[column].getDataType());
+            }
+        }
+
+        return new InsertStatement(c, slots);
+    }
+
+    private final Statement compileUpdate(UpdateQueryImpl<?> update) throws SQLException {
+        if (!update.returning.isEmpty())
+            throw notSupported(update);
+
+        Compiler c = compiler(update, update.table);
+        InMemoryTable table = c.table;
+        Map<Field<?>, Field<?>> values = update.getValues();
+        int[] columns = new int[values.size()];
+        int[] slots = new int[values.size()];
+        int i = 0;
+
+        for (Map.Entry<Field<?>, Field<?>> entry : values.entrySet()) {
+            columns[i] = c.column(entry.getKey());
+            slots[i] = c.slot(entry.getValue(), table.fields[columns[i]].getDataType());
+            i++;
+        }
+
+        return new UpdateStatement(c, c.predicate(update.getWhere()), columns, slots);
+    }
+
+    private final Statement compileDelete(DeleteQueryImpl<?> delete) throws SQLException {
+        if (!delete.returning.isEmpty())
+            throw notSupported(delete);
+
+        Compiler c = compiler(delete, delete.table);
+        return new DeleteStatement(c, c.predicate(delete.getWhere()));
+    }
+
+    private final Compiler compiler(Query query, Table<?> table) throws SQLException {
+
+        // Once a table is aliased, its columns can only be qualified by the alias
+        String qualifier = key(table.getName());
+
+        if (table instanceof TableAlias)
+            table = ((TableAlias<?>) table).getAliasedTable();
+
+        if (!(table instanceof TableImpl))
+            throw notSupported(query);
+
+        InMemoryTable result = tables.get(key(table.getName()));
+
+        if (result == null)
+            throw new SQLException("Table does not exist: " + table.getName());
+
+        return new Compiler(result, qualifier);
+    }
+
+    private static final SQLFeatureNotSupportedException notSupported(Object part) {
+        return new SQLFeatureNotSupportedException("Statement or expression not supported by InMemoryDatabase: " + part);
+    }
+
+    /**
+     * A placeholder for a bind value, used to parse statements independently
+     * of their actual bind values.
+     */
+    private static final class BindMarker {
+        final int index;
+
+        BindMarker(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return "?" + (index + 1);
+        }
+    }
+
+    /**
+     * Translates jOOQ expressions to column indexes, value slots and
+     * predicates.
+     */
+    private static final class Compiler {
+        final InMemoryTable       table;
+        final String              qualifier;
+        final List<Object>        constants = new ArrayList<Object>();
+        final List<Integer>       binds     = new ArrayList<Integer>();
+        final List<DataType<?>>   types     = new ArrayList<DataType<?>>();
+
+        Compiler(InMemoryTable table, String qualifier) {
+            this.table = table;
+            this.qualifier = qualifier;
+        }
+
+        /**
+         * Resolve a column reference. Expressions other than column
+         * references, and column references qualified by another table, are
+         * rejected, even if their names coincide with a column's name.
+         */
+        int column(Field<?> field) throws SQLException {
+            if (!(field instanceof TableField))
+                throw notSupported(field);
+
+            Name name = field.getQualifiedName();
+            if (name.qualified() && !key(name.qualifier().last()).equals(qualifier))
+                throw notSupported(field);
+
+            int result = table.indexOf(name.last());
+
+            if (result < 0)
+                throw notSupported(field);
+
+            return result;
+        }
+
+        int slot(Field<?> field, DataType<?> type) throws SQLException {
+            while (field instanceof Cast)
+                field = ((Cast<?>) field).getField();
+
+            if (!(field instanceof Param))
+                throw notSupported(field);
+
+            Object value = ((Param<?>) field).getValue();
+
+            if (value instanceof BindMarker) {
+                constants.add(null);
+                binds.add(((BindMarker) value).index);
+            }
+            else {
+                constants.add(type.convert(value));
+                binds.add(-1);
+            }
+
+            types.add(type);
+            return types.size() - 1;
+        }
+
+        /**
+         * Resolve all slot values for an execution.
+         */
+        Object[] args(Object[] bindings) {
+            Object[] result = new Object[types.size()];
+
+            for (int i = 0; i < result.length; i++) {
+                int bind = binds.get(i);
+                result[i] = bind < 0 ? constants.get(i) : types.get(i).convert(bindings[bind]);
+            }
+
+            return result;
+        }
+
+        Predicate predicate(Condition condition) throws SQLException {
+            if (condition == null || condition instanceof TrueCondition)
+                return null;
+
+            if (condition instanceof CombinedCondition) {
+                CombinedCondition combined = (CombinedCondition) condition;
+                List<Predicate> predicates = new ArrayList<Predicate>();
+
+                for (Condition c : combined.getConditions())
+                    predicates.add(predicate(c));
+
+                return combined.getOperator() == Operator.AND
+                    ? new And(predicates)
+                    : new Or(predicates);
+            }
+            else if (condition instanceof NotCondition) {
+                return new Not(predicate(((NotCondition) condition).getCondition()));
+            }
+            else if (condition instanceof CompareCondition) {
+                CompareCondition compare = (CompareCondition) condition;
+                Field<?> lhs = compare.getField1();
+                Field<?> rhs = compare.getField2();
+                Comparator comparator = compare.getComparator();
+
+                if (lhs instanceof Param || lhs instanceof Cast) {
+                    Field<?> f = lhs;
+                    lhs = rhs;
+                    rhs = f;
+                    comparator = flip(comparator);
+                }
+
+                if (comparator == null)
+                    throw notSupported(condition);
+
+                switch (comparator) {
+                    case EQUALS:
+                    case NOT_EQUALS:
+                    case LESS:
+                    case LESS_OR_EQUAL:
+                    case GREATER:
+                    case GREATER_OR_EQUAL: {
+                        int column = column(lhs);
+                        return new Compare(column, comparator, slot(rhs, table.fields[column].getDataType()));
+                    }
+
+                    default:
+                        throw notSupported(condition);
+                }
+            }
+            else if (condition instanceof BetweenCondition) {
+                BetweenCondition<?> between = (BetweenCondition<?>) condition;
+
+                if (between.isSymmetric())
+                    throw notSupported(condition);
+
+                int column = column(between.getField());
+                DataType<?> type = table.fields[column].getDataType();
+                Predicate result = new Between(column, slot(between.getMinValue(), type), slot(between.getMaxValue(), type));
+                return between.isNot() ? new Not(result) : result;
+            }
+            else if (condition instanceof InCondition) {
+                InCondition<?> in = (InCondition<?>) condition;
+                int column = column(in.getField());
+                DataType<?> type = table.fields[column].getDataType();
+                Field<?>[] values = in.getValues();
+                int[] slots = new int[values.length];
+
+                for (int i = 0; i < slots.length; i++)
+                    slots[i] = slot(values[i], type);
+
+                Predicate result = new In(column, slots);
+                return in.getComparator() == Comparator.NOT_IN ? new Not(result) : result;
+            }
+            else if (condition instanceof IsNull) {
+                IsNull isNull = (IsNull) condition;
+                return new Null(column(isNull.getField()), isNull.isNull());
+            }
+
+            throw notSupported(condition);
+        }
+
+        private static Comparator flip(Comparator comparator) {
+            switch (comparator) {
+                case EQUALS:           return Comparator.EQUALS;
+                case NOT_EQUALS:       return Comparator.NOT_EQUALS;
+                case LESS:             return Comparator.GREATER;
+                case LESS_OR_EQUAL:    return Comparator.GREATER_OR_EQUAL;
+                case GREATER:          return Comparator.LESS;
+                case GREATER_OR_EQUAL: return Comparator.LESS_OR_EQUAL;
+                default:               return null;
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Statements
+    // -------------------------------------------------------------------------
+
+    private static abstract class Statement {
+        final InMemoryTable table;
+        final Compiler      compiler;
+        final Predicate     where;
+
+        Statement(Compiler compiler, Predicate where) {
+            this.table = compiler.table;
+            this.compiler = compiler;
+            this.where = where;
+        }
+
+        final MockResult execute(Object[] bindings) throws SQLException {
+            Object[] args = compiler.args(bindings);
+            Lock lock = readOnly() ? table.lock.readLock() : table.lock.writeLock();
+
+            lock.lock();
+            try {
+                return execute0(args);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * The ids of all rows matching the <code>WHERE</code> clause, in
+         * insertion order.
+         */
+        final List<Long> matches(Object[] args) {
+            List<Long> result = new ArrayList<Long>();
+            Collection<Long> candidates = where == null ? null : where.candidates(table, args);
+
+            if (candidates == null) {
+                for (Map.Entry<Long, Object[]> entry : table.rows.entrySet())
+                    if (where == null || where.test(entry.getValue(), args))
+                        result.add(entry.getKey());
+            }
+            else {
+                for (Long id : candidates)
+                    if (where.test(table.rows.get(id), args))
+                        result.add(id);
+
+                Collections.sort(result);
+            }
+
+            return result;
+        }
+
+        abstract boolean readOnly();
+
+        abstract MockResult execute0(Object[] args) throws SQLException;
+    }
+
+    private static final class SelectStatement extends Statement {
+        final int[]     columns;
+        final RowImpl   row;
+        final int[]     sortColumns;
+        final boolean[] sortDesc;
+        final int       limitSlot;
+        final int       offsetSlot;
+
+        SelectStatement(Compiler compiler, Predicate where, int[] columns, RowImpl row, int[] sortColumns, boolean[] sortDesc, int limitSlot, int offsetSlot) {
+            super(compiler, where);
+
+            this.columns = columns;
+            this.row = row;
+            this.sortColumns = sortColumns;
+            this.sortDesc = sortDesc;
+            this.limitSlot = limitSlot;
+            this.offsetSlot = offsetSlot;
+        }
+
+        @Override
+        boolean readOnly() {
+            return true;
+        }
+
+        @Override
+        MockResult execute0(Object[] args) {
+            List<Long> ids = matches(args);
+            List<Object[]> rows = new ArrayList<Object[]>(ids.size());
+
+            for (Long id : ids)
+                rows.add(table.rows.get(id));
+
+            if (sortColumns.length > 0) {
+                Collections.sort(rows, new java.util.Comparator<Object[]>() {
+                    @Override
+                    public int compare(Object[] o1, Object[] o2) {
+                        for (int i = 0; i < sortColumns.length; i++) {
+                            int c = InMemoryDatabase.compare(o1[sortColumns[i]], o2[sortColumns[i]]);
+
+                            if (c != 0)
+                                return sortDesc[i] ? -c : c;
+                        }
+
+                        return 0;
+                    }
+                });
+            }
+
+            int offset = offsetSlot < 0 || args[offsetSlot] == null ? 0 : (Integer) args[offsetSlot];
+            int limit = limitSlot < 0 || args[limitSlot] == null ? Integer.MAX_VALUE : (Integer) args[limitSlot];
+            int from = Math.min(offset, rows.size());
+            int to = (int) Math.min((long) from + limit, rows.size());
+
+            ResultImpl<Record> result = new ResultImpl<Record>(null, row.fields);
+            for (int r = from; r < to; r++) {
+                Object[] source = rows.get(r);
+                RecordImpl record = new RecordImpl(row);
+
+                for (int i = 0; i < columns.length; i++)
+                    record.values[i] = record.originals[i] = source[columns[i]];
+
+                result.add(record);
+            }
+
+            return new MockResult(result.size(), result);
+        }
+    }
+
+    private static final class InsertStatement extends Statement {
+        final int[][] slots;
+
+        InsertStatement(Compiler compiler, int[][] slots) {
+            super(compiler, null);
+
+            this.slots = slots;
+        }
+
+        @Override
+        boolean readOnly() {
+            return false;
+        }
+
+        @Override
+        MockResult execute0(Object[] args) throws SQLException {
+            List<Object[]> rows = new ArrayList<Object[]>(slots.length);
+
+            for (int[] s : slots) {
+                Object[] row = new Object[s.length];
+
+                for (int i = 0; i < s.length; i++)
+                    if (s[i] >= 0)
+                        row[i] = args[s[i]];
+
+                rows.add(row);
+            }
+
+            table.insert(rows);
+            return new MockResult(rows.size(), null);
+        }
+    }
+
+    private static final class UpdateStatement extends Statement {
+        final int[] columns;
+        final int[] slots;
+
+        UpdateStatement(Compiler compiler, Predicate where, int[] columns, int[] slots) {
+            super(compiler, where);
+
+            this.columns = columns;
+            this.slots = slots;
+        }
+
+        @Override
+        boolean readOnly() {
+            return false;
+        }
+
+        @Override
+        MockResult execute0(Object[] args) throws SQLException {
+            List<Long> ids = matches(args);
+            List<Object[]> rows = new ArrayList<Object[]>(ids.size());
+
+            for (Long id : ids) {
+                Object[] row = table.rows.get(id).clone();
+
+                for (int i = 0; i < columns.length; i++)
+                    row[columns[i]] = args[slots[i]];
+
+                rows.add(row);
+            }
+
+            table.update(ids, rows);
+            return new MockResult(ids.size(), null);
+        }
+    }
+
+    private static final class DeleteStatement extends Statement {
+
+        DeleteStatement(Compiler compiler, Predicate where) {
+            super(compiler, where);
+        }
+
+        @Override
+        boolean readOnly() {
+            return false;
+        }
+
+        @Override
+        MockResult execute0(Object[] args) {
+            List<Long> ids = matches(args);
+
+            for (Long id : ids)
+                table.delete(id);
+
+            return new MockResult(ids.size(), null);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Predicates
+    // -------------------------------------------------------------------------
+
+    private static abstract class Predicate {
+
+        /**
+         * Whether a row satisfies this predicate, i.e. whether the predicate
+         * evaluates to <code>TRUE</code>.
+         */
+        final boolean test(Object[] row, Object[] args) {
+            return evaluate(row, args) == TRUE;
+        }
+
+        /**
+         * Evaluate this predicate using three-valued logic, returning
+         * <code>null</code> for <code>UNKNOWN</code>.
+         */
+        abstract Boolean evaluate(Object[] row, Object[] args);
+
+        /**
+         * A superset of the ids of all rows that satisfy this predicate, as
+         * obtained from indexes, or <code>null</code> if all rows need to be
+         * scanned.
+         */
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            return null;
+        }
+    }
+
+    private static final class Compare extends Predicate {
+        final int        column;
+        final Comparator comparator;
+        final int        slot;
+
+        Compare(int column, Comparator comparator, int slot) {
+            this.column = column;
+            this.comparator = comparator;
+            this.slot = slot;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            Object value = row[column];
+            Object arg = args[slot];
+
+            if (value == null || arg == null)
+                return null;
+
+            int c = compare(value, arg);
+            switch (comparator) {
+                case EQUALS:           return c == 0;
+                case NOT_EQUALS:       return c != 0;
+                case LESS:             return c < 0;
+                case LESS_OR_EQUAL:    return c <= 0;
+                case GREATER:          return c > 0;
+                case GREATER_OR_EQUAL: return c >= 0;
+                default:               return FALSE;
+            }
+        }
+
+        @Override
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            Object arg = args[slot];
+
+            if (arg == null)
+                return Collections.emptySet();
+
+            switch (comparator) {
+                case EQUALS:           return table.lookup(column, arg);
+                case LESS:             return table.range(column, null, false, arg, false);
+                case LESS_OR_EQUAL:    return table.range(column, null, false, arg, true);
+                case GREATER:          return table.range(column, arg, false, null, false);
+                case GREATER_OR_EQUAL: return table.range(column, arg, true, null, false);
+                default:               return null;
+            }
+        }
+    }
+
+    private static final class Between extends Predicate {
+        final int column;
+        final int minSlot;
+        final int maxSlot;
+
+        Between(int column, int minSlot, int maxSlot) {
+            this.column = column;
+            this.minSlot = minSlot;
+            this.maxSlot = maxSlot;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            Object value = row[column];
+            Object min = args[minSlot];
+            Object max = args[maxSlot];
+
+            // value BETWEEN min AND max is value >= min AND value <= max
+            Boolean lower = value == null || min == null ? null : compare(value, min) >= 0;
+            Boolean upper = value == null || max == null ? null : compare(value, max) <= 0;
+
+            if (lower == FALSE || upper == FALSE)
+                return FALSE;
+            else if (lower == null || upper == null)
+                return null;
+            else
+                return TRUE;
+        }
+
+        @Override
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            Object min = args[minSlot];
+            Object max = args[maxSlot];
+
+            if (min == null || max == null || compare(min, max) > 0)
+                return Collections.emptySet();
+
+            return table.range(column, min, true, max, true);
+        }
+    }
+
+    private static final class In extends Predicate {
+        final int   column;
+        final int[] slots;
+
+        In(int column, int[] slots) {
+            this.column = column;
+            this.slots = slots;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            Object value = row[column];
+
+            if (value == null)
+                return null;
+
+            // If no value matches, a NULL in the list makes the result UNKNOWN
+            boolean unknown = false;
+            for (int slot : slots)
+                if (args[slot] == null)
+                    unknown = true;
+                else if (compare(value, args[slot]) == 0)
+                    return TRUE;
+
+            return unknown ? null : FALSE;
+        }
+
+        @Override
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            Set<Long> result = new LinkedHashSet<Long>();
+
+            for (int slot : slots) {
+                if (args[slot] == null)
+                    continue;
+
+                Collection<Long> ids = table.lookup(column, args[slot]);
+                if (ids == null)
+                    return null;
+
+                result.addAll(ids);
+            }
+
+            return result;
+        }
+    }
+
+    private static final class Null extends Predicate {
+        final int     column;
+        final boolean isNull;
+
+        Null(int column, boolean isNull) {
+            this.column = column;
+            this.isNull = isNull;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            return (row[column] == null) == isNull;
+        }
+    }
+
+    private static final class Not extends Predicate {
+        final Predicate predicate;
+
+        Not(Predicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            Boolean result = predicate.evaluate(row, args);
+            return result == null ? null : !result;
+        }
+    }
+
+    private static final class And extends Predicate {
+        final List<Predicate> predicates;
+
+        And(List<Predicate> predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            boolean unknown = false;
+
+            for (Predicate p : predicates) {
+                Boolean result = p.evaluate(row, args);
+
+                if (result == null)
+                    unknown = true;
+                else if (!result)
+                    return FALSE;
+            }
+
+            return unknown ? null : TRUE;
+        }
+
+        @Override
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            Collection<Long> result = null;
+
+            for (Predicate p : predicates) {
+                Collection<Long> c = p.candidates(table, args);
+
+                if (c != null && (result == null || c.size() < result.size()))
+                    result = c;
+            }
+
+            return result;
+        }
+    }
+
+    private static final class Or extends Predicate {
+        final List<Predicate> predicates;
+
+        Or(List<Predicate> predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        Boolean evaluate(Object[] row, Object[] args) {
+            boolean unknown = false;
+
+            for (Predicate p : predicates) {
+                Boolean result = p.evaluate(row, args);
+
+                if (result == null)
+                    unknown = true;
+                else if (result)
+                    return TRUE;
+            }
+
+            return unknown ? null : FALSE;
+        }
+
+        @Override
+        Collection<Long> candidates(InMemoryTable table, Object[] args) {
+            Set<Long> result = new LinkedHashSet<Long>();
+
+            for (Predicate p : predicates) {
+                Collection<Long> c = p.candidates(table, args);
+
+                if (c == null)
+                    return null;
+
+                result.addAll(c);
+            }
+
+            return result;
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static final int compare(Object o1, Object o2) {
+        if (o1 == o2)
+            return 0;
+        else if (o1 == null)
+            return -1;
+        else if (o2 == null)
+            return 1;
+        else
+            return ((Comparable) o1).compareTo(o2);
+    }
+
+    // -------------------------------------------------------------------------
+    // Table storage
+    // -------------------------------------------------------------------------
+
+    private static final class InMemoryTable {
+        final Field<?>[]                                  fields;
+        final Map<String, Integer>                        indexes;
+        final ReadWriteLock                               lock;
+        final Map<Long, Object[]>                         rows;
+        final Map<Integer, Map<Object, Set<Long>>>        hash;
+        final Map<Integer, NavigableMap<Object, Set<Long>>> sorted;
+        int                                               unique = -1;
+        long                                              nextId;
+
+        InMemoryTable(Field<?>[] fields) {
+            this.fields = fields;
+            this.indexes = new HashMap<String, Integer>();
+            this.lock = new ReentrantReadWriteLock();
+            this.rows = new LinkedHashMap<Long, Object[]>();
+            this.hash = new HashMap<Integer, Map<Object, Set<Long>>>();
+            this.sorted = new HashMap<Integer, NavigableMap<Object, Set<Long>>>();
+
+            for (int i = 0; i < fields.length; i++)
+                indexes.put(key(fields[i].getName()), i);
+        }
+
+        int indexOf(String name) {
+            Integer result = indexes.get(key(name));
+            return result == null ? -1 : result;
+        }
+
+        void index(int column) {
+            Lock l = lock.writeLock();
+
+            l.lock();
+            try {
+                if (hash.containsKey(column))
+                    return;
+
+                Map<Object, Set<Long>> h = new HashMap<Object, Set<Long>>();
+                NavigableMap<Object, Set<Long>> s = new TreeMap<Object, Set<Long>>();
+
+                for (Map.Entry<Long, Object[]> entry : rows.entrySet()) {
+                    add(h, entry.getValue()[column], entry.getKey());
+                    add(s, entry.getValue()[column], entry.getKey());
+                }
+
+                hash.put(column, h);
+                sorted.put(column, s);
+            }
+            finally {
+                l.unlock();
+            }
+        }
+
+        Collection<Long> lookup(int column, Object value) {
+            Map<Object, Set<Long>> h = hash.get(column);
+
+            if (h == null)
+                return null;
+
+            Set<Long> result = h.get(value);
+            return result == null ? Collections.<Long>emptySet() : result;
+        }
+
+        Collection<Long> range(int column, Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+            NavigableMap<Object, Set<Long>> s = sorted.get(column);
+
+            if (s == null)
+                return null;
+
+            NavigableMap<Object, Set<Long>> sub =
+                  from == null && to == null ? s
+                : from == null ? s.headMap(to, toInclusive)
+                : to == null ? s.tailMap(from, fromInclusive)
+                : s.subMap(from, fromInclusive, to, toInclusive);
+
+            List<Long> result = new ArrayList<Long>();
+            for (Set<Long> ids : sub.values())
+                result.addAll(ids);
+
+            return result;
+        }
+
+        /**
+         * Insert rows, either all of them or none.
+         */
+        void insert(List<Object[]> newRows) throws SQLException {
+            check(null, newRows);
+
+            for (Object[] row : newRows)
+                insert(row);
+        }
+
+        /**
+         * Update rows, either all of them or none.
+         */
+        void update(List<Long> ids, List<Object[]> newRows) throws SQLException {
+            check(ids, newRows);
+
+            for (int i = 0; i < ids.size(); i++)
+                update(ids.get(i), newRows.get(i));
+        }
+
+        private void insert(Object[] row) {
+            Long id = nextId++;
+            rows.put(id, row);
+
+            for (Map.Entry<Integer, Map<Object, Set<Long>>> entry : hash.entrySet())
+                add(entry.getValue(), row[entry.getKey()], id);
+            for (Map.Entry<Integer, NavigableMap<Object, Set<Long>>> entry : sorted.entrySet())
+                add(entry.getValue(), row[entry.getKey()], id);
+        }
+
+        private void update(Long id, Object[] row) {
+            Object[] old = rows.put(id, row);
+
+            for (Map.Entry<Integer, Map<Object, Set<Long>>> entry : hash.entrySet()) {
+                remove(entry.getValue(), old[entry.getKey()], id);
+                add(entry.getValue(), row[entry.getKey()], id);
+            }
+
+            for (Map.Entry<Integer, NavigableMap<Object, Set<Long>>> entry : sorted.entrySet()) {
+                remove(entry.getValue(), old[entry.getKey()], id);
+                add(entry.getValue(), row[entry.getKey()], id);
+            }
+        }
+
+        void delete(Long id) {
+            Object[] old = rows.remove(id);
+
+            for (Map.Entry<Integer, Map<Object, Set<Long>>> entry : hash.entrySet())
+                remove(entry.getValue(), old[entry.getKey()], id);
+            for (Map.Entry<Integer, NavigableMap<Object, Set<Long>>> entry : sorted.entrySet())
+                remove(entry.getValue(), old[entry.getKey()], id);
+        }
+
+        /**
+         * Check whether replacing the rows with the argument ids (or inserting
+         * rows, if <code>ids</code> is <code>null</code>) by new rows keeps the
+         * unique column unique.
+         */
+        private void check(List<Long> ids, List<Object[]> newRows) throws SQLException {
+            if (unique < 0)
+                return;
+
+            Set<Long> replaced = ids == null ? Collections.<Long>emptySet() : new HashSet<Long>(ids);
+            Set<Object> values = new HashSet<Object>();
+
+            for (Object[] row : newRows) {
+                Object value = row[unique];
+
+                if (value == null)
+                    continue;
+
+                boolean violation = !values.add(value);
+                Set<Long> existing = hash.get(unique).get(value);
+
+                if (existing != null)
+                    for (Long id : existing)
+                        if (!replaced.contains(id))
+                            violation = true;
+
+                if (violation)
+                    throw new SQLException("Unique constraint violation on " + fields[unique] + ": " + value, "23505");
+            }
+        }
+
+        private static void add(Map<Object, Set<Long>> index, Object value, Long id) {
+            if (value == null)
+                return;
+
+            Set<Long> ids = index.get(value);
+
+            if (ids == null) {
+                ids = new LinkedHashSet<Long>();
+                index.put(value, ids);
+            }
+
+            ids.add(id);
+        }
+
+        private static void remove(Map<Object, Set<Long>> index, Object value, Long id) {
+            if (value == null)
+                return;
+
+            Set<Long> ids = index.get(value);
+
+            if (ids != null) {
+                ids.remove(id);
+
+                if (ids.isEmpty())
+                    index.remove(value);
+            }
+        }
+    }
+}
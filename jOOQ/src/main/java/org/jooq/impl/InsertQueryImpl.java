@@ -127,6 +127,10 @@ final class InsertQueryImpl<R extends Record> extends AbstractStoreQuery<R> impl
         return insertMaps.lastMap();
     }
 
+    final FieldMapsForInsert getInsertMaps() {
+        return insertMaps;
+    }
+
     @Override
     public final void addRecord(R record) {
         newRecord();
@@ -62,6 +62,14 @@ final class IsNull extends AbstractCondition {
         this.isNull = isNull;
     }
 
+    final Field<?> getField() {
+        return field;
+    }
+
+    final boolean isNull() {
+        return isNull;
+    }
+
     @Override
     public final void accept(Context<?> ctx) {
         ctx.visit(field).sql(' ').visit(isNull ? K_IS_NULL : K_IS_NOT_NULL);
@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+
+/**
+ * An iterator over the records of a {@link SelectQueryImpl}, which are fetched
+ * page by page using keyset pagination.
+ *
+ * @author Lukas Eder
+ */
+final class KeysetIterator<R extends Record> implements Iterator<R> {
+
+    private final SelectQueryImpl<R>           query;
+    private final List<Field<?>>               orderBy;
+    private final int                          pageSize;
+    private final Executor                     executor;
+
+    private Result<R>                          page;
+    private int                                index;
+    private boolean                            last;
+    private List<Field<?>>                     seek;
+    private CompletableFuture<Result<R>>       prefetched;
+
+    KeysetIterator(SelectQueryImpl<R> query, List<Field<?>> orderBy, int pageSize, Executor executor) {
+        this.query = query;
+        this.orderBy = orderBy;
+        this.pageSize = pageSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public final boolean hasNext() {
+        if (page != null && index < page.size())
+            return true;
+
+        if (last)
+            return false;
+
+        page = nextPage();
+        index = 0;
+
+        if (page.size() < pageSize) {
+            last = true;
+        }
+        else {
+            seek = seek(page.get(page.size() - 1));
+
+            // The page query is created in this thread, such that the
+            // prefetching thread never accesses the iterated query
+            if (executor != null) {
+                final SelectQueryImpl<R> next = query.page(pageSize, seek);
+                prefetched = CompletableFuture.supplyAsync(() -> next.fetch(), executor);
+            }
+        }
+
+        return index < page.size();
+    }
+
+    @Override
+    public final R next() {
+        if (!hasNext())
+            throw new NoSuchElementException("There are no more records to fetch");
+
+        return page.get(index++);
+    }
+
+    @Override
+    public final void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stop prefetching pages.
+     * <p>
+     * A page that is already being fetched is not interrupted, but it is
+     * fetched through its own copy of the query, not the iterated query.
+     */
+    final void close() {
+        last = true;
+
+        if (prefetched != null)
+            prefetched.cancel(false);
+    }
+
+    private final Result<R> nextPage() {
+        if (prefetched == null)
+            return query.page(pageSize, seek).fetch();
+
+        try {
+            return prefetched.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            else
+                throw e;
+        }
+        finally {
+            prefetched = null;
+        }
+    }
+
+    /**
+     * Extract the values to seek after from the last record of a page.
+     */
+    private final List<Field<?>> seek(R record) {
+        List<Field<?>> result = new ArrayList<Field<?>>(orderBy.size());
+
+        for (Field<?> field : orderBy) {
+            Field<?> f = record.field(field);
+
+            if (f == null)
+                throw new IllegalStateException("Keyset pagination requires ORDER BY field " + field + " to be contained in the SELECT clause");
+
+            Object value = record.get(f);
+
+            // Seeking after NULL would silently end the pagination
+            if (value == null)
+                throw new IllegalStateException("Keyset pagination does not support NULL values in ORDER BY field " + field);
+
+            result.add(Tools.field(value, field));
+        }
+
+        return result;
+    }
+}
@@ -351,6 +351,20 @@ final class Limit extends AbstractQueryPart {
         return offset == null;
     }
 
+    /**
+     * The number of rows, or <code>null</code> if there is no limit
+     */
+    final Field<Integer> getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * The offset, or <code>null</code> if there is no offset
+     */
+    final Field<Integer> getOffset() {
+        return offset;
+    }
+
     /**
      * The lower bound, such that ROW_NUMBER() > getLowerRownum()
      */
@@ -416,4 +430,17 @@ final class Limit extends AbstractQueryPart {
     final boolean withTies() {
         return withTies;
     }
+
+    /**
+     * Copy the state of another limit into this one.
+     */
+    final void setFrom(Limit other) {
+        this.numberOfRows = other.numberOfRows;
+        this.numberOfRowsOrMax = other.numberOfRowsOrMax;
+        this.offset = other.offset;
+        this.offsetOrZero = other.offsetOrZero;
+        this.offsetPlusOne = other.offsetPlusOne;
+        this.rendersParams = other.rendersParams;
+        this.withTies = other.withTies;
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} that compares keys by identity, like {@link IdentityHashMap},
+ * and that iterates in insertion order, like {@link java.util.LinkedHashMap}.
+ * <p>
+ * This is useful to associate {@link org.jooq.Record} instances with values,
+ * as records implement {@link Object#equals(Object)} by value, such that
+ * several equal records would otherwise collapse into a single entry.
+ * Removing entries is a linear operation.
+ *
+ * @author Lukas Eder
+ */
+final class LinkedIdentityHashMap<K, V> extends AbstractMap<K, V> {
+
+    private final IdentityHashMap<K, V> map;
+    private final List<K>               keys;
+
+    LinkedIdentityHashMap() {
+        this.map = new IdentityHashMap<K, V>();
+        this.keys = new ArrayList<K>();
+    }
+
+    @Override
+    public final int size() {
+        return keys.size();
+    }
+
+    @Override
+    public final boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public final V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public final V put(K key, V value) {
+        boolean contained = map.containsKey(key);
+        V result = map.put(key, value);
+
+        if (!contained)
+            keys.add(key);
+
+        return result;
+    }
+
+    @Override
+    public final V remove(Object key) {
+        if (!map.containsKey(key))
+            return null;
+
+        removeKey(key);
+        return map.remove(key);
+    }
+
+    @Override
+    public final void clear() {
+        map.clear();
+        keys.clear();
+    }
+
+    private final void removeKey(Object key) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) == key) {
+                keys.remove(i);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public final Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public final int size() {
+                return keys.size();
+            }
+
+            @Override
+            public final Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    int     index;
+                    K       last;
+                    boolean removable;
+
+                    @Override
+                    public final boolean hasNext() {
+                        return index < keys.size();
+                    }
+
+                    @Override
+                    public final Entry<K, V> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+
+                        final K key = last = keys.get(index++);
+                        removable = true;
+
+                        return new SimpleEntry<K, V>(key, map.get(key)) {
+
+                            /**
+                             * Generated UID
+                             */
+                            private static final long serialVersionUID = 3046470488718493097L;
+
+                            @Override
+                            public V setValue(V value) {
+                                super.setValue(value);
+                                return map.put(key, value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public final void remove() {
+                        if (!removable)
+                            throw new IllegalStateException();
+
+                        keys.remove(--index);
+                        map.remove(last);
+                        removable = false;
+                    }
+                };
+            }
+        };
+    }
+}
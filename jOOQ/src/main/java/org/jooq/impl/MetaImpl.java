@@ -91,7 +91,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.jooq.CachedMeta;
 import org.jooq.Catalog;
 import org.jooq.Condition;
 import org.jooq.Configuration;
@@ -120,10 +124,14 @@ import org.jooq.exception.SQLDialectNotSupportedException;
  * <p>
  * This implementation implements {@link Serializable}, without taking care of
  * properly deserialising the referenced executor.
+ * <p>
+ * Unless constructed with a time to live, meta information is re-read from
+ * {@link DatabaseMetaData} on each access, and the {@link CachedMeta}
+ * invalidation methods have no effect.
  *
  * @author Lukas Eder
  */
-final class MetaImpl implements Meta, Serializable {
+final class MetaImpl implements CachedMeta, Serializable {
 
     /**
      * Generated UID
@@ -133,11 +141,191 @@ final class MetaImpl implements Meta, Serializable {
     private final DSLContext                    ctx;
     private final Configuration                 configuration;
     private final boolean                       inverseSchemaCatalog;
+    private final boolean                       cached;
+    private final long                          ttl;
+    private final AtomicInteger                 epoch;
+    private final Cache<List<Catalog>>          catalogs;
 
     MetaImpl(Configuration configuration) {
+        this(configuration, false, 0L);
+    }
+
+    /**
+     * Create a caching meta implementation.
+     *
+     * @param ttl The time to live of cached objects. A non-positive value
+     *            keeps objects cached until they are invalidated.
+     */
+    MetaImpl(Configuration configuration, long ttl, TimeUnit unit) {
+        this(configuration, true, ttl > 0 ? Math.max(1L, unit.toNanos(ttl)) : 0L);
+    }
+
+    private MetaImpl(Configuration configuration, boolean cached, long ttl) {
         this.ctx = DSL.using(configuration);
         this.configuration = configuration;
         this.inverseSchemaCatalog = asList(MYSQL, MARIADB).contains(configuration.family());
+        this.cached = cached;
+        this.ttl = ttl;
+        this.epoch = new AtomicInteger();
+        this.catalogs = new Cache<List<Catalog>>() {
+
+            /**
+             * Generated UID
+             */
+            private static final long serialVersionUID = -1207938563451375117L;
+
+            @Override
+            List<Catalog> load() {
+                return getCatalogs0();
+            }
+        };
+    }
+
+    /**
+     * A lazily loaded meta information value, which is cached if this
+     * {@link Meta} is a caching one.
+     * <p>
+     * Reads of valid values don't acquire any locks. Loading locks the
+     * individual cache only, such that concurrent accesses to different
+     * catalogs, schemas, or tables don't block each other, while concurrent
+     * accesses to the same object load it only once. A {@link ReentrantLock}
+     * is used rather than a monitor, as loading performs JDBC calls, which
+     * would otherwise pin virtual threads to their carrier threads.
+     */
+    private abstract class Cache<T> implements Serializable {
+
+        /**
+         * Generated UID
+         */
+        private static final long             serialVersionUID = 5416398232519541233L;
+        private final ReentrantLock           lock             = new ReentrantLock();
+        private transient volatile Value<T>   value;
+
+        abstract T load();
+
+        final T get() {
+            if (!cached)
+                return load();
+
+            Value<T> v = value;
+            if (valid(v))
+                return v.value;
+
+            lock.lock();
+            try {
+                v = value;
+                if (valid(v))
+                    return v.value;
+
+                // The epoch is read before loading, such that a concurrent
+                // invalidation discards the value that is being loaded
+                int e = epoch.get();
+                T result = load();
+                value = new Value<T>(result, e, ttl == 0L ? 0L : System.nanoTime() + ttl);
+                return result;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Get the cached value without loading it, or <code>null</code> if
+         * there is no valid cached value.
+         */
+        final T peek() {
+            Value<T> v = value;
+            return valid(v) ? v.value : null;
+        }
+
+        /**
+         * Replace a valid cached value, retaining its expiry.
+         */
+        final void replace(T replacement) {
+            lock.lock();
+            try {
+                Value<T> v = value;
+
+                if (valid(v))
+                    value = new Value<T>(replacement, v.epoch, v.expiry);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        final void invalidate() {
+            value = null;
+        }
+
+        private final boolean valid(Value<T> v) {
+            return v != null
+                && v.epoch == epoch.get()
+                && (v.expiry == 0L || v.expiry - System.nanoTime() > 0L);
+        }
+    }
+
+    private static final class Value<T> {
+        final T    value;
+        final int  epoch;
+        final long expiry;
+
+        Value(T value, int epoch, long expiry) {
+            this.value = value;
+            this.epoch = epoch;
+            this.expiry = expiry;
+        }
+    }
+
+    /**
+     * Cached lists are shared among callers, so they must not be modified.
+     */
+    private final <T> List<T> result(List<T> list) {
+        return cached ? Collections.unmodifiableList(list) : list;
+    }
+
+    @Override
+    public final void invalidate() {
+        epoch.incrementAndGet();
+    }
+
+    @Override
+    public final void invalidate(Schema schema) {
+        if (schema instanceof MetaSchema)
+            ((MetaSchema) schema).tables.invalidate();
+
+        for (MetaSchema s : cachedSchemas(schema.getName()))
+            s.tables.invalidate();
+    }
+
+    @Override
+    public final void invalidate(Table<?> table) {
+        if (table instanceof MetaTable)
+            ((MetaTable) table).invalidate();
+
+        Schema schema = table.getSchema();
+        for (MetaSchema s : cachedSchemas(schema == null ? "" : schema.getName()))
+            s.refresh(table.getName());
+    }
+
+    /**
+     * Find the cached schemas with a given name, without loading them.
+     */
+    private final List<MetaSchema> cachedSchemas(String name) {
+        List<MetaSchema> result = new ArrayList<MetaSchema>();
+        List<Catalog> c = catalogs.peek();
+
+        if (c != null)
+            for (Catalog catalog : c) {
+                List<Schema> s = ((MetaCatalog) catalog).schemas.peek();
+
+                if (s != null)
+                    for (Schema schema : s)
+                        if (schema.getName().equals(name))
+                            result.add((MetaSchema) schema);
+            }
+
+        return result;
     }
 
     private interface MetaFunction {
@@ -155,6 +343,10 @@ final class MetaImpl implements Meta, Serializable {
 
     @Override
     public final List<Catalog> getCatalogs() {
+        return catalogs.get();
+    }
+
+    private final List<Catalog> getCatalogs0() {
         List<Catalog> result = new ArrayList<Catalog>();
 
         // [#2760] MySQL JDBC confuses "catalog" and "schema"
@@ -177,7 +369,7 @@ final class MetaImpl implements Meta, Serializable {
         if (result.isEmpty())
             result.add(new MetaCatalog(""));
 
-        return result;
+        return result(result);
     }
 
     @Override
@@ -229,14 +421,32 @@ final class MetaImpl implements Meta, Serializable {
         /**
          * Generated UID
          */
-        private static final long serialVersionUID = -2821093577201327275L;
+        private static final long        serialVersionUID = -2821093577201327275L;
+        private final Cache<List<Schema>> schemas;
 
         MetaCatalog(String name) {
             super(name);
+
+            this.schemas = new Cache<List<Schema>>() {
+
+                /**
+                 * Generated UID
+                 */
+                private static final long serialVersionUID = -6212845436327011382L;
+
+                @Override
+                List<Schema> load() {
+                    return getSchemas0();
+                }
+            };
         }
 
         @Override
         public final List<Schema> getSchemas() {
+            return schemas.get();
+        }
+
+        private final List<Schema> getSchemas0() {
             List<Schema> result = new ArrayList<Schema>();
 
 
@@ -289,7 +499,7 @@ final class MetaImpl implements Meta, Serializable {
                 result.add(new MetaSchema("", MetaCatalog.this));
             }
 
-            return result;
+            return result(result);
         }
     }
 
@@ -298,15 +508,59 @@ final class MetaImpl implements Meta, Serializable {
         /**
          * Generated UID
          */
-        private static final long                            serialVersionUID = -2621899850912554198L;
-        private transient volatile Map<Name, Result<Record>> columnCache;
+        private static final long          serialVersionUID = -2621899850912554198L;
+        private final Cache<List<Table<?>>> tables;
 
         MetaSchema(String name, Catalog catalog) {
             super(name, catalog);
+
+            this.tables = new Cache<List<Table<?>>>() {
+
+                /**
+                 * Generated UID
+                 */
+                private static final long serialVersionUID = 2392506180549862313L;
+
+                @Override
+                List<Table<?>> load() {
+                    return getTables0();
+                }
+            };
         }
 
         @Override
-        public final synchronized List<Table<?>> getTables() {
+        public final List<Table<?>> getTables() {
+            return tables.get();
+        }
+
+        /**
+         * Reload a single cached table, retaining all other cached tables.
+         */
+        final void refresh(String tableName) {
+            List<Table<?>> list = tables.peek();
+
+            if (list != null) {
+                List<Table<?>> result = new ArrayList<Table<?>>(list.size());
+
+                for (Table<?> table : list) {
+                    if (table.getName().equals(tableName)) {
+                        Result<Record> columns = getColumns0(getName(), tableName);
+
+                        // The table has been dropped in the meantime
+                        if (columns.isEmpty())
+                            continue;
+
+                        table = new MetaTable(tableName, this, columns);
+                    }
+
+                    result.add(table);
+                }
+
+                tables.replace(result(result));
+            }
+        }
+
+        private final List<Table<?>> getTables0() {
             Result<Record> tables = meta(new MetaFunction() {
                 @Override
                 public Result<Record> run(DatabaseMetaData meta) throws SQLException {
@@ -368,6 +622,10 @@ final class MetaImpl implements Meta, Serializable {
                 }
             });
 
+            // SQLite JDBC's DatabaseMetaData.getColumns() can only return a single
+            // table's columns
+            Map<Name, Result<Record>> columns = configuration.dialect() != SQLITE ? getColumns() : null;
+
             List<Table<?>> result = new ArrayList<Table<?>>();
             for (Record table : tables) {
                 String catalog = table.get(0, String.class);
@@ -375,10 +633,11 @@ final class MetaImpl implements Meta, Serializable {
                 String name = table.get(2, String.class);
 
                 // [#2760] MySQL JDBC confuses "catalog" and "schema"
-                result.add(new MetaTable(name, this, getColumns(
-                    inverseSchemaCatalog ? catalog : schema,
-                    name
-                )));
+                String s = inverseSchemaCatalog ? catalog : schema;
+                result.add(new MetaTable(name, this, columns != null
+                    ? columns.get(name(s, name))
+                    : getColumns0(s, name)
+                ));
 
 //              TODO: Find a more efficient way to do this
 //              Result<Record> pkColumns = executor.fetch(meta().getPrimaryKeys(catalog, schema, name))
@@ -387,42 +646,35 @@ final class MetaImpl implements Meta, Serializable {
 //              result.add(new MetaTable(name, this, columnCache.get(name)));
             }
 
-            return result;
+            return result(result);
         }
 
+        /**
+         * Fetch all of this schema's columns at once, grouped by table.
+         */
         @SuppressWarnings("unchecked")
-        private final Result<Record> getColumns(String schema, String table) {
+        private final Map<Name, Result<Record>> getColumns() {
+            Result<Record> columns = getColumns0(getName(), "%");
 
-            // SQLite JDBC's DatabaseMetaData.getColumns() can only return a single
-            // table's columns
-            if (columnCache == null && configuration.dialect() != SQLITE) {
-                Result<Record> columns = getColumns0(schema, "%");
-
-                Field<String> tableCat   = (Field<String>) columns.field(0); // TABLE_CAT
-                Field<String> tableSchem = (Field<String>) columns.field(1); // TABLE_SCHEM
-                Field<String> tableName  = (Field<String>) columns.field(2); // TABLE_NAME
+            Field<String> tableCat   = (Field<String>) columns.field(0); // TABLE_CAT
+            Field<String> tableSchem = (Field<String>) columns.field(1); // TABLE_SCHEM
+            Field<String> tableName  = (Field<String>) columns.field(2); // TABLE_NAME
 
-                Map<Record, Result<Record>> groups =
-                columns.intoGroups(new Field[] {
-                    inverseSchemaCatalog ? tableCat : tableSchem,
-                    tableName
-                });
+            Map<Record, Result<Record>> groups =
+            columns.intoGroups(new Field[] {
+                inverseSchemaCatalog ? tableCat : tableSchem,
+                tableName
+            });
 
-                columnCache = new LinkedHashMap<Name, Result<Record>>();
+            Map<Name, Result<Record>> result = new LinkedHashMap<Name, Result<Record>>();
 
-                for (Entry<Record, Result<Record>> entry : groups.entrySet()) {
-                    Record key = entry.getKey();
-                    Result<Record> value = entry.getValue();
-                    columnCache.put(name(key.get(inverseSchemaCatalog ? tableCat : tableSchem), key.get(tableName)), value);
-                }
+            for (Entry<Record, Result<Record>> entry : groups.entrySet()) {
+                Record key = entry.getKey();
+                Result<Record> value = entry.getValue();
+                result.put(name(key.get(inverseSchemaCatalog ? tableCat : tableSchem), key.get(tableName)), value);
             }
 
-            if (columnCache != null) {
-                return columnCache.get(name(schema, table));
-            }
-            else {
-                return getColumns0(schema, table);
-            }
+            return result;
         }
 
         private final Result<Record> getColumns0(final String schema, final String table) {
@@ -468,7 +720,10 @@ final class MetaImpl implements Meta, Serializable {
         /**
          * Generated UID
          */
-        private static final long serialVersionUID = 4843841667753000233L;
+        private static final long                        serialVersionUID = 4843841667753000233L;
+        private final Cache<List<Index>>                 indexes;
+        private final Cache<UniqueKey<Record>>           primaryKey;
+        private final Cache<List<ForeignKey<Record, ?>>> references;
 
         MetaTable(String name, Schema schema, Result<Record> columns) {
             super(name, schema);
@@ -478,10 +733,57 @@ final class MetaImpl implements Meta, Serializable {
             if (columns != null) {
                 init(columns);
             }
+
+            this.indexes = new Cache<List<Index>>() {
+
+                /**
+                 * Generated UID
+                 */
+                private static final long serialVersionUID = 7183302941262327766L;
+
+                @Override
+                List<Index> load() {
+                    return getIndexes0();
+                }
+            };
+            this.primaryKey = new Cache<UniqueKey<Record>>() {
+
+                /**
+                 * Generated UID
+                 */
+                private static final long serialVersionUID = -3569103498021553621L;
+
+                @Override
+                UniqueKey<Record> load() {
+                    return getPrimaryKey0();
+                }
+            };
+            this.references = new Cache<List<ForeignKey<Record, ?>>>() {
+
+                /**
+                 * Generated UID
+                 */
+                private static final long serialVersionUID = 1840962275301446911L;
+
+                @Override
+                List<ForeignKey<Record, ?>> load() {
+                    return getReferences0();
+                }
+            };
+        }
+
+        final void invalidate() {
+            indexes.invalidate();
+            primaryKey.invalidate();
+            references.invalidate();
         }
 
         @Override
         public final List<Index> getIndexes() {
+            return indexes.get();
+        }
+
+        private final List<Index> getIndexes0() {
             final String schema = getSchema() == null ? null : getSchema().getName();
             Result<Record> result = meta(new MetaFunction() {
                 @Override
@@ -519,7 +821,7 @@ final class MetaImpl implements Meta, Serializable {
 
             // Sort by INDEX_NAME (5), ORDINAL_POSITION (7)
             result.sortAsc(7).sortAsc(5);
-            return createIndexes(result);
+            return result(createIndexes(result));
         }
 
         @Override
@@ -530,6 +832,10 @@ final class MetaImpl implements Meta, Serializable {
 
         @Override
         public final UniqueKey<Record> getPrimaryKey() {
+            return primaryKey.get();
+        }
+
+        private final UniqueKey<Record> getPrimaryKey0() {
             SQLDialect family = configuration.family();
 
 
@@ -572,8 +878,12 @@ final class MetaImpl implements Meta, Serializable {
         }
 
         @Override
+        public final List<ForeignKey<Record, ?>> getReferences() {
+            return references.get();
+        }
+
         @SuppressWarnings("unchecked")
-        public List<ForeignKey<Record, ?>> getReferences() {
+        private final List<ForeignKey<Record, ?>> getReferences0() {
             List<ForeignKey<Record, ?>> references = new ArrayList<ForeignKey<Record, ?>>();
             Result<Record> result = meta(new MetaFunction() {
                 @Override
@@ -631,7 +941,7 @@ final class MetaImpl implements Meta, Serializable {
                 references.add(new ReferenceImpl<Record, Record>(new MetaPrimaryKey(pkTable, pkName, pkFields), this, fkFields));
             }
 
-            return references;
+            return result(references);
         }
 
 
@@ -53,6 +53,10 @@ final class NotCondition extends AbstractCondition {
         this.condition = condition;
     }
 
+    final Condition getCondition() {
+        return condition;
+    }
+
     @Override
     public final void accept(Context<?> ctx) {
         ctx.visit(K_NOT).sql('(').visit(condition).sql(')');
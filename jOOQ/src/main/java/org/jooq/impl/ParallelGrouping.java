@@ -0,0 +1,250 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static java.util.Arrays.asList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jooq.Record;
+
+/**
+ * A utility for grouping the records of large in-memory {@link org.jooq.Result}
+ * objects by key in parallel.
+ * <p>
+ * Grouping happens in two parallel phases on the
+ * {@link ForkJoinPool#commonPool()}:
+ * <ol>
+ * <li>Key extraction: each row's key is extracted and hashed exactly once.
+ * Composite keys are represented by a lightweight {@link Key} with a
+ * precomputed hash code, not by a {@link Record}.</li>
+ * <li>Hash partitioning: rows are partitioned by key hash, such that each
+ * partition can be grouped independently without any synchronisation.</li>
+ * </ol>
+ * The resulting {@link Group}s are ordered by the index of their first row,
+ * and each group contains its row indexes in ascending order, which is the
+ * same ordering as produced by the sequential algorithms.
+ *
+ * @author Lukas Eder
+ */
+final class ParallelGrouping {
+
+    /**
+     * Below this number of rows, the sequential algorithms are faster.
+     */
+    static final int THRESHOLD = 8192;
+
+    /**
+     * Group records by the values at the given key indexes.
+     * <p>
+     * If there is exactly one key index, the group key is the value itself,
+     * with the usual {@link Object#equals(Object)} semantics. Otherwise, the
+     * group key is a {@link Key}, with {@link AbstractStore#equals(Object)}
+     * semantics.
+     */
+    static final List<Group> group(final List<? extends Record> records, final int[] indexes) {
+        final int size = records.size();
+        final int partitions = partitions(size);
+        final Object[] keys = new Object[size];
+        final int[] partition = new int[size];
+
+        // Phase 1: Extract and hash keys
+        IntStream.range(0, size).parallel().forEach(i -> {
+            Object key = key(records.get(i), indexes);
+            int h = key == null ? 0 : key.hashCode();
+
+            keys[i] = key;
+            partition[i] = ((h ^ (h >>> 16)) & 0x7FFFFFFF) % partitions;
+        });
+
+        // Stable counting sort of row indexes by partition
+        final int[] offsets = new int[partitions + 1];
+        for (int i = 0; i < size; i++)
+            offsets[partition[i] + 1]++;
+
+        for (int p = 0; p < partitions; p++)
+            offsets[p + 1] += offsets[p];
+
+        final int[] rows = new int[size];
+        final int[] next = Arrays.copyOf(offsets, partitions);
+        for (int i = 0; i < size; i++)
+            rows[next[partition[i]]++] = i;
+
+        // Phase 2: Group each partition independently
+        List<List<Group>> result = IntStream.range(0, partitions).parallel().mapToObj(p -> {
+            Map<Object, Group> map = new HashMap<Object, Group>();
+            List<Group> list = new ArrayList<Group>();
+
+            for (int j = offsets[p]; j < offsets[p + 1]; j++) {
+                int i = rows[j];
+                Group group = map.get(keys[i]);
+
+                if (group == null) {
+                    map.put(keys[i], group = new Group(keys[i]));
+                    list.add(group);
+                }
+
+                group.add(i);
+            }
+
+            return list;
+        }).collect(Collectors.toList());
+
+        List<Group> groups = new ArrayList<Group>();
+        for (List<Group> list : result)
+            groups.addAll(list);
+
+        Collections.sort(groups, FIRST_ROW);
+        return groups;
+    }
+
+    private static final int partitions(int size) {
+        return Math.max(1, Math.min(size / 1024, 4 * ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    private static final Object key(Record record, int[] indexes) {
+        if (indexes.length == 1)
+            return record.get(indexes[0]);
+
+        Object[] values = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++)
+            values[i] = record.get(indexes[i]);
+
+        return new Key(values);
+    }
+
+    private static final Comparator<Group> FIRST_ROW = new Comparator<Group>() {
+        @Override
+        public int compare(Group g1, Group g2) {
+            return Integer.compare(g1.rows[0], g2.rows[0]);
+        }
+    };
+
+    /**
+     * The row indexes sharing the same key.
+     */
+    static final class Group {
+        final Object key;
+        int[]        rows = new int[1];
+        int          size;
+
+        Group(Object key) {
+            this.key = key;
+        }
+
+        final void add(int row) {
+            if (size == rows.length)
+                rows = Arrays.copyOf(rows, size * 2);
+
+            rows[size++] = row;
+        }
+    }
+
+    /**
+     * A composite key with a precomputed hash code.
+     * <p>
+     * Equality is in-sync with {@link AbstractStore#equals(Object)} and
+     * {@link AbstractStore#hashCode()}, such that grouping by composite keys
+     * produces the same groups as grouping by {@link Record} keys.
+     */
+    static final class Key {
+        final Object[] values;
+        final int      hash;
+
+        Key(Object[] values) {
+            int h = 1;
+
+            // [#985] [#2045] Don't use obj.hashCode() on arrays
+            for (Object value : values)
+                h = 31 * h + (value == null || value.getClass().isArray() ? 0 : value.hashCode());
+
+            this.values = values;
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key that = (Key) obj;
+            if (hash != that.hash || values.length != that.values.length)
+                return false;
+
+            for (int i = 0; i < values.length; i++) {
+                Object v1 = values[i];
+                Object v2 = that.values[i];
+
+                if (v1 == null && v2 == null)
+                    continue;
+                else if (v1 == null || v2 == null)
+                    return false;
+                else if (v1 instanceof byte[] && v2 instanceof byte[]) {
+                    if (!Arrays.equals((byte[]) v1, (byte[]) v2))
+                        return false;
+                }
+                else if (v1 instanceof Object[] && v2 instanceof Object[]) {
+                    if (!Arrays.equals((Object[]) v1, (Object[]) v2))
+                        return false;
+                }
+                else if (v1.getClass().isArray() || v2.getClass().isArray() || !v1.equals(v2))
+                    return false;
+            }
+
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return asList(values).toString();
+        }
+    }
+}
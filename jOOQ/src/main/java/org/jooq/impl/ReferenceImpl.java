@@ -40,9 +40,15 @@ import static org.jooq.impl.Tools.first;
 import static org.jooq.impl.Tools.list;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.jooq.Configuration;
 import org.jooq.Constraint;
 import org.jooq.DSLContext;
 import org.jooq.Field;
@@ -136,6 +142,9 @@ final class ReferenceImpl<R extends Record, O extends Record> extends AbstractKe
 
     /**
      * Do the actual fetching
+     * <p>
+     * Distinct key values are fetched in chunks, each of which binds at most
+     * as many values as supported by the dialect.
      */
     @SuppressWarnings("unchecked")
     private static <R1 extends Record, R2 extends Record> Result<R1> fetch(
@@ -144,51 +153,148 @@ final class ReferenceImpl<R extends Record, O extends Record> extends AbstractKe
         TableField<R1, ?>[] fields1,
         TableField<R2, ?>[] fields2) {
 
-        // Use regular predicates
-        if (fields1.length == 1) {
-            return extractDSLContext(records)
-                .selectFrom(table)
-                .where(((Field<Object>) fields1[0]).in(extractValues(records, fields2[0])))
-                .fetch();
-        }
-
-        // Use row value expressions
-        else {
-            return extractDSLContext(records)
-                .selectFrom(table)
-                .where(row(fields1).in(extractRows(records, fields2)))
-                .fetch();
+        DSLContext ctx = extractDSLContext(records);
+        List<List<Object>> keys = new ArrayList<List<Object>>(extractKeys(records, fields2));
+        int chunkSize = Math.max(1, Tools.maxBindValues(ctx.configuration()) / fields1.length);
+        Result<R1> result = ctx.newResult(table);
+
+        for (int i = 0; i < keys.size(); i += chunkSize) {
+            List<List<Object>> chunk = keys.subList(i, Math.min(i + chunkSize, keys.size()));
+            Result<R1> r;
+
+            // Use regular predicates
+            if (fields1.length == 1) {
+                r = ctx.selectFrom(table)
+                       .where(((Field<Object>) fields1[0]).in(extractValues(chunk)))
+                       .fetch();
+            }
+
+            // Use row value expressions
+            else {
+                r = ctx.selectFrom(table)
+                       .where(row(fields1).in(extractRows(chunk)))
+                       .fetch();
+            }
+
+            result.addAll(r);
         }
 
+        return result;
     }
 
     /**
-     * Extract a list of values from a set of records given some fields
+     * Fetch the parent records of a set of records, and associate each record
+     * with its parent.
      */
-    private static <R extends Record> List<Object> extractValues(Collection<? extends R> records, TableField<R, ?> field2) {
-        List<Object> result = new ArrayList<Object>();
+    static <R extends Record, O extends Record> Map<R, O> fetchParentMap(ForeignKey<R, O> key, Collection<? extends R> records) {
+        Map<R, O> result = new LinkedIdentityHashMap<R, O>();
+
+        if (records.isEmpty())
+            return result;
+
+        TableField<R, ?>[] fields = key.getFieldsArray();
+        TableField<O, ?>[] parentFields = key.getKey().getFieldsArray();
+        Map<List<Object>, O> parents = new HashMap<List<Object>, O>();
+
+        for (O parent : key.fetchParents(records))
+            parents.put(keyValues(parent, parentFields, parentFields), parent);
 
         for (R record : records)
-            result.add(record.get(field2));
+            result.put(record, parents.get(keyValues(record, fields, parentFields)));
+
+        return result;
+    }
+
+    /**
+     * Fetch the child records of a set of records, and associate each record
+     * with its children.
+     */
+    static <R extends Record, O extends Record> Map<O, Result<R>> fetchChildrenMap(ForeignKey<R, O> key, Collection<? extends O> records) {
+        Map<O, Result<R>> result = new LinkedIdentityHashMap<O, Result<R>>();
+
+        if (records.isEmpty())
+            return result;
+
+        Configuration configuration = first(records).configuration();
+        TableField<R, ?>[] fields = key.getFieldsArray();
+        TableField<O, ?>[] parentFields = key.getKey().getFieldsArray();
+        Map<List<Object>, Result<R>> children = new HashMap<List<Object>, Result<R>>();
+
+        for (R child : key.fetchChildren(records)) {
+            List<Object> k = keyValues(child, fields, parentFields);
+            Result<R> list = children.get(k);
+
+            if (list == null) {
+                list = new ResultImpl<R>(configuration, key.getTable().fields());
+                children.put(k, list);
+            }
+
+            list.add(child);
+        }
+
+        for (O record : records) {
+            Result<R> list = children.get(keyValues(record, parentFields, parentFields));
+            result.put(record, list != null ? list : new ResultImpl<R>(configuration, key.getTable().fields()));
+        }
 
         return result;
     }
 
     /**
-     * Extract a list of row value expressions from a set of records given some fields
+     * Extract the key values of a record, converted to the types of the
+     * referenced key, such that foreign key values and unique key values can
+     * be compared.
      */
-    private static <R extends Record> List<RowN> extractRows(Collection<? extends R> records, TableField<R, ?>[] fields) {
-        List<RowN> rows = new ArrayList<RowN>();
+    private static <R extends Record> List<Object> keyValues(R record, TableField<R, ?>[] fields, TableField<?, ?>[] types) {
+        Object[] result = new Object[fields.length];
 
+        for (int i = 0; i < fields.length; i++)
+            result[i] = types[i].getDataType().convert(record.get(fields[i]));
+
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Extract the distinct, non-null key values from a set of records
+     */
+    private static <R extends Record> Set<List<Object>> extractKeys(Collection<? extends R> records, TableField<R, ?>[] fields) {
+        Set<List<Object>> result = new LinkedHashSet<List<Object>>();
+
+        records:
         for (R record : records) {
             Object[] values = new Object[fields.length];
 
             for (int i = 0; i < fields.length; i++)
-                values[i] = record.get(fields[i]);
+                if ((values[i] = record.get(fields[i])) == null)
+                    continue records;
 
-            rows.add(row(values));
+            result.add(Arrays.asList(values));
         }
 
+        return result;
+    }
+
+    /**
+     * Extract a list of values from a set of single-valued keys
+     */
+    private static List<Object> extractValues(List<List<Object>> keys) {
+        List<Object> result = new ArrayList<Object>(keys.size());
+
+        for (List<Object> key : keys)
+            result.add(key.get(0));
+
+        return result;
+    }
+
+    /**
+     * Extract a list of row value expressions from a set of keys
+     */
+    private static List<RowN> extractRows(List<List<Object>> keys) {
+        List<RowN> rows = new ArrayList<RowN>(keys.size());
+
+        for (List<Object> key : keys)
+            rows.add(row(key.toArray()));
+
         return rows;
     }
 
@@ -0,0 +1,546 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.impl.Tools.DataKey.DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jooq.Configuration;
+import org.jooq.ConnectionProvider;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.Table;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionListener;
+import org.jooq.tools.JooqLogger;
+import org.jooq.tools.jdbc.MockResultSet;
+
+/**
+ * An {@link org.jooq.ExecuteListener} that caches the results of
+ * {@link Select} queries and invalidates them when tables are modified.
+ * <p>
+ * Results are cached by their rendered SQL, their bind values and the
+ * {@link ConnectionProvider} of the executing {@link Configuration}, such that
+ * configurations connecting to different databases never share results. When
+ * a cached query is executed again, the cached result is supplied to the
+ * {@link ExecuteContext} as a {@link MockResultSet}, and no statement is
+ * prepared or executed, nor is any connection acquired. Only results that
+ * are fetched completely, and at once, are cached. Queries that contain
+ * plain SQL or <code>FOR UPDATE</code> clauses, queries with a
+ * {@link org.jooq.ResultQuery#maxRows(int)} or
+ * {@link org.jooq.conf.Settings#getMaxRows()} limit, and queries executed in
+ * a transaction of the {@link DefaultTransactionProvider} are never cached.
+ * <p>
+ * A cached result is invalidated when its time to live expires, when it is
+ * evicted as the least recently used entry, or when an <code>INSERT</code>,
+ * <code>UPDATE</code>, <code>DELETE</code>, <code>MERGE</code>, or
+ * <code>TRUNCATE</code> statement that references any of the result's tables
+ * is executed through any {@link Configuration} using the same listener
+ * instance, regardless of its {@link ConnectionProvider}. Any other writing
+ * statement, such as plain SQL, routines and DDL, invalidates all cached
+ * results. Modifications made through configurations that do not use this
+ * listener, or by other clients, are not detected.
+ * <p>
+ * Modifications made in a transaction are invalidated when they are executed,
+ * but they become visible to other connections only when the transaction is
+ * committed. If this listener is also registered as a
+ * {@link TransactionListener}, then no results are cached from the tables
+ * that a pending transaction has modified, and those tables are invalidated
+ * again when the transaction is committed. Otherwise, another connection may
+ * cache the data that it read before the commit until the result expires or
+ * is evicted. Transactions are tracked on the thread that runs them, so
+ * modifications made on other threads within a transaction are not tracked.
+ * <p>
+ * Entries are scoped by {@link ConnectionProvider} instance, not by database.
+ * Configurations that reach the same database through different
+ * {@link ConnectionProvider} instances do not share results, nor do they
+ * detect each other's modifications unless they share this listener. All
+ * configurations writing to a database whose results are cached should thus
+ * use the same listener instance, e.g.:
+ * <code><pre>
+ * ResultCacheListener cache = new ResultCacheListener(1000, 1, TimeUnit.MINUTES);
+ * configuration.set(new DefaultExecuteListenerProvider(cache));
+ * configuration.set(new DefaultTransactionListenerProvider(cache));
+ * </pre></code>
+ * This listener is thread-safe.
+ *
+ * @author Lukas Eder
+ */
+public class ResultCacheListener extends DefaultExecuteListener implements TransactionListener {
+
+    /**
+     * Generated UID
+     */
+    private static final long         serialVersionUID = -4325981672398426367L;
+    private static final JooqLogger   log              = JooqLogger.getLogger(ResultCacheListener.class);
+
+    private static final Object       DATA_KEY         = new Object();
+    private static final Object       DATA_EPOCH       = new Object();
+    private static final Object       DATA_HIT         = new Object();
+    private static final Object       DATA_RESULTS     = new Object();
+
+    private final int                      maxSize;
+    private final long                     ttlNanos;
+    private final ReentrantLock            lock;
+    private final Map<Key, Entry>          entries;
+    private final AtomicLong               epoch;
+    private final ThreadLocal<Transaction> transaction;
+    private final Map<String, Integer>     pendingTables;
+    private int                            pendingAll;
+
+    /**
+     * Create a new result cache.
+     *
+     * @param maxSize The maximum number of cached results.
+     * @param ttl The time to live of a cached result. A value of
+     *            <code>0</code> or less means that results do not expire.
+     * @param unit The unit of <code>ttl</code>.
+     */
+    public ResultCacheListener(final int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("The cache size must be positive: " + maxSize);
+
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl > 0 ? unit.toNanos(ttl) : 0L;
+        this.lock = new ReentrantLock();
+        this.epoch = new AtomicLong();
+        this.transaction = new ThreadLocal<Transaction>();
+        this.pendingTables = new HashMap<String, Integer>();
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            /**
+             * Generated UID
+             */
+            private static final long serialVersionUID = 6238702136485476453L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * The number of currently cached results, including expired ones that
+     * have not yet been removed.
+     */
+    public final int size() {
+        lock.lock();
+
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidate all cached results.
+     */
+    public final void invalidate() {
+        lock.lock();
+
+        try {
+            epoch.incrementAndGet();
+            entries.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalidate all cached results that were read from a given table.
+     */
+    public final void invalidate(Table<?> table) {
+        invalidate(java.util.Collections.singleton(TableCollector.name(table)));
+    }
+
+    private final void invalidate(Set<String> tables) {
+        lock.lock();
+
+        try {
+            epoch.incrementAndGet();
+
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();)
+                for (String table : it.next().tables)
+                    if (tables.contains(table)) {
+                        it.remove();
+                        break;
+                    }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // ExecuteListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        if (ctx.type() != ExecuteType.READ || !cacheable(ctx))
+            return;
+
+        Key key = new Key(ctx.configuration().connectionProvider(), ctx.sql(), ctx.query().getBindValues());
+        Result<Record> result = null;
+
+        lock.lock();
+
+        try {
+            Entry entry = entries.get(key);
+
+            if (entry != null) {
+                if (entry.expired())
+                    entries.remove(key);
+                else
+                    result = entry.result;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        if (result != null) {
+            if (log.isDebugEnabled())
+                log.debug("Result cache hit", ctx.sql());
+
+            ctx.data(DATA_HIT, true);
+            ctx.resultSet(new MockResultSet(result));
+        }
+        else {
+            ctx.data(DATA_KEY, key);
+            ctx.data(DATA_EPOCH, epoch.get());
+        }
+    }
+
+    @Override
+    public void resultStart(ExecuteContext ctx) {
+        Integer results = (Integer) ctx.data(DATA_RESULTS);
+        ctx.data(DATA_RESULTS, results == null ? 1 : results + 1);
+    }
+
+    @Override
+    public void resultEnd(ExecuteContext ctx) {
+        Key key = (Key) ctx.data(DATA_KEY);
+
+        // Only cache results that were fetched completely, with a single
+        // fetch call, i.e. the cursor's ResultSet was exhausted and closed
+        // while fetching the first result.
+        if (key == null
+                || ctx.data(DATA_HIT) != null
+                || ctx.resultSet() != null
+                || !Integer.valueOf(1).equals(ctx.data(DATA_RESULTS))
+                || ctx.result() == null)
+            return;
+
+        TableCollector collector = new TableCollector(ctx.configuration());
+        collector.visit(ctx.query());
+
+        if (collector.unknown)
+            return;
+
+        // Copy the result, as client code may modify the fetched records
+        Result<?> fetched = ctx.result();
+        Entry entry = new Entry(fetched.into(fetched.fields()), collector.tables, ttlNanos);
+
+        lock.lock();
+
+        try {
+
+            // Don't cache results of queries that ran concurrently with
+            // modifications, as they may or may not reflect them, nor results
+            // of tables with uncommitted modifications.
+            if (epoch.get() == (Long) ctx.data(DATA_EPOCH) && !pending(collector.tables))
+                entries.put(key, entry);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        switch (ctx.type()) {
+            case READ:
+                break;
+
+            case WRITE:
+            case BATCH:
+            case DDL: {
+                Query[] queries = ctx.batchQueries();
+
+                if (queries.length == 0 || (ctx.type() == ExecuteType.DDL && !(ctx.query() instanceof TruncateImpl))) {
+                    modified(null);
+                }
+                else {
+                    TableCollector collector = new TableCollector(ctx.configuration());
+
+                    for (Query query : queries)
+                        collector.visit(query);
+
+                    modified(collector.unknown ? null : collector.tables);
+                }
+
+                break;
+            }
+
+            default:
+                modified(null);
+                break;
+        }
+    }
+
+    /**
+     * Invalidate the results of modified tables, or all results if the
+     * modified tables are unknown, and mark the tables as pending if the
+     * modification was made in a transaction.
+     */
+    private final void modified(Set<String> tables) {
+        Transaction tx = transaction.get();
+
+        lock.lock();
+
+        try {
+            if (tx != null) {
+                if (tables == null) {
+                    if (!tx.all) {
+                        tx.all = true;
+                        pendingAll++;
+                    }
+                }
+                else {
+                    for (String table : tables) {
+                        if (tx.tables.add(table)) {
+                            Integer count = pendingTables.get(table);
+                            pendingTables.put(table, count == null ? 1 : count + 1);
+                        }
+                    }
+                }
+            }
+
+            if (tables == null)
+                invalidate();
+            else
+                invalidate(tables);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether any of the tables has been modified by a pending transaction.
+     */
+    private final boolean pending(Set<String> tables) {
+        if (pendingAll > 0)
+            return true;
+
+        for (String table : tables)
+            if (pendingTables.containsKey(table))
+                return true;
+
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+    // TransactionListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void beginStart(TransactionContext ctx) {
+        Transaction tx = transaction.get();
+
+        if (tx == null)
+            transaction.set(tx = new Transaction());
+
+        tx.contexts.push(ctx);
+    }
+
+    @Override
+    public void beginEnd(TransactionContext ctx) {}
+
+    @Override
+    public void commitStart(TransactionContext ctx) {}
+
+    @Override
+    public void commitEnd(TransactionContext ctx) {
+        end(ctx, true);
+    }
+
+    @Override
+    public void rollbackStart(TransactionContext ctx) {}
+
+    @Override
+    public void rollbackEnd(TransactionContext ctx) {
+        end(ctx, false);
+    }
+
+    private final void end(TransactionContext ctx, boolean commit) {
+        Transaction tx = transaction.get();
+
+        // A failed commit is followed by a rollback of the same transaction,
+        // which has already been ended by the commit
+        if (tx == null || tx.contexts.peek() != ctx)
+            return;
+
+        tx.contexts.pop();
+
+        // Nested transactions are committed only with their top-level
+        // transaction
+        if (!tx.contexts.isEmpty())
+            return;
+
+        transaction.remove();
+        lock.lock();
+
+        try {
+            if (tx.all)
+                pendingAll--;
+
+            for (String table : tx.tables) {
+                Integer count = pendingTables.remove(table);
+
+                if (count > 1)
+                    pendingTables.put(table, count - 1);
+            }
+
+            // Concurrent queries that started before the commit must not
+            // cache what they read
+            if (commit) {
+                if (tx.all)
+                    invalidate();
+                else if (!tx.tables.isEmpty())
+                    invalidate(tx.tables);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static final boolean cacheable(ExecuteContext ctx) {
+        Query query = ctx.query();
+
+        return query instanceof SelectQueryImpl
+            && !((SelectQueryImpl<?>) query).isForUpdate()
+
+            // A cached result may be larger than what the JDBC driver would
+            // return to a limited statement
+            && ((SelectQueryImpl<?>) query).maxRows(ctx.configuration()) == 0
+
+            // Transactions have their own ConnectionProvider instances, whose
+            // entries could never be hit again after the transaction
+            && ctx.configuration().data(DATA_DEFAULT_TRANSACTION_PROVIDER_CONNECTION) == null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Cache internals
+    // -------------------------------------------------------------------------
+
+    private static final class Key {
+        final ConnectionProvider provider;
+        final String             sql;
+        final List<Object>       bindValues;
+        final int                hash;
+
+        Key(ConnectionProvider provider, String sql, List<Object> bindValues) {
+            this.provider = provider;
+            this.sql = sql;
+            this.bindValues = bindValues;
+            this.hash = 31 * (31 * System.identityHashCode(provider) + sql.hashCode()) + Arrays.deepHashCode(bindValues.toArray());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key that = (Key) obj;
+            return hash == that.hash
+                && provider == that.provider
+                && sql.equals(that.sql)
+                && Arrays.deepEquals(bindValues.toArray(), that.bindValues.toArray());
+        }
+    }
+
+    private static final class Transaction {
+        final Deque<TransactionContext> contexts = new ArrayDeque<TransactionContext>();
+        final Set<String>               tables   = new HashSet<String>();
+        boolean                         all;
+    }
+
+    private static final class Entry {
+        final Result<Record> result;
+        final Set<String>    tables;
+        final long           expiry;
+
+        Entry(Result<Record> result, Set<String> tables, long ttlNanos) {
+            this.result = result;
+            this.tables = tables;
+            this.expiry = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0L;
+        }
+
+        final boolean expired() {
+            return expiry != 0L && System.nanoTime() - expiry > 0;
+        }
+    }
+}
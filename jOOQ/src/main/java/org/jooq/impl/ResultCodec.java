@@ -0,0 +1,786 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jooq.Configuration;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.exception.IOException;
+
+/**
+ * A compact, versioned binary encoding for {@link Result} objects.
+ * <p>
+ * The format consists of:
+ * <ul>
+ * <li>A header with a magic number, a format version, and the record type,
+ * i.e. the qualified name, Java type and value encoding of each field.</li>
+ * <li>Any number of blocks of up to {@link #BLOCK_SIZE} records, each
+ * prefixed by its number of records. Within a block, values are written
+ * column by column, each column prefixed by a <code>NULL</code> bitmap if it
+ * contains any <code>NULL</code> values.</li>
+ * <li>An empty block, terminating the stream.</li>
+ * </ul>
+ * Integral numbers and temporal values are written as zig-zag encoded
+ * variable length integers. Strings are dictionary encoded per column, such
+ * that repeated values are written only once. Values of types without a
+ * dedicated encoding are written using Java serialisation.
+ * <p>
+ * The stream is not trusted when it is read. Field types are resolved only
+ * among the types that have a dedicated encoding and the types explicitly
+ * allowed by the reader, never by loading a class whose name was read from
+ * the stream. Java serialised values are rejected unless their types were
+ * explicitly allowed. Lengths and counts read from the stream are checked
+ * against their limits before anything is allocated for them.
+ * <p>
+ * As records are written block by block, a {@link Writer} can stream records
+ * from a {@link org.jooq.Cursor} without materialising a {@link Result}.
+ *
+ * @author Lukas Eder
+ */
+final class ResultCodec {
+
+    private static final int   MAGIC              = 0x6A4F4F51; // "jOOQ"
+    private static final int   VERSION            = 1;
+
+    /**
+     * The maximum number of records per block.
+     */
+    static final int           BLOCK_SIZE         = 1024;
+
+    /**
+     * The maximum number of dictionary entries per column. Further distinct
+     * strings are written inline.
+     */
+    private static final int   MAX_DICTIONARY     = 65536;
+
+    /**
+     * The maximum number of fields of a record type that is read.
+     */
+    private static final int   MAX_DEGREE         = 65536;
+
+    /**
+     * The maximum number of parts of a field's qualified name that is read.
+     */
+    private static final int   MAX_NAME_PARTS     = 16;
+
+    /**
+     * The increment in which byte arrays are read, such that a corrupt length
+     * fails when the stream ends rather than when allocating the array.
+     */
+    private static final int   READ_CHUNK         = 8192;
+
+    private static final byte  ENC_OBJECT         = 0;
+    private static final byte  ENC_BOOLEAN        = 1;
+    private static final byte  ENC_LONG           = 2;
+    private static final byte  ENC_DOUBLE         = 3;
+    private static final byte  ENC_FLOAT          = 4;
+    private static final byte  ENC_BIG_DECIMAL    = 5;
+    private static final byte  ENC_BIG_INTEGER    = 6;
+    private static final byte  ENC_STRING         = 7;
+    private static final byte  ENC_BYTES          = 8;
+    private static final byte  ENC_DATE           = 9;
+    private static final byte  ENC_TIME           = 10;
+    private static final byte  ENC_TIMESTAMP      = 11;
+    private static final byte  ENC_LOCAL_DATE     = 12;
+    private static final byte  ENC_LOCAL_TIME     = 13;
+    private static final byte  ENC_LOCAL_DATETIME = 14;
+    private static final byte  ENC_UUID           = 15;
+
+    /**
+     * The types that have a dedicated encoding, by class name.
+     */
+    private static final Map<String, Class<?>> TYPES;
+
+    /**
+     * The types that may appear in the object graph of any allowed Java
+     * serialised value.
+     */
+    private static final List<Class<?>> SERIALIZABLE_TYPES = Arrays.<Class<?>>asList(
+        Boolean.class, Character.class, Number.class, String.class, Enum.class
+    );
+
+    static {
+        TYPES = new HashMap<String, Class<?>>();
+
+        for (Class<?> type : Arrays.<Class<?>>asList(
+            Boolean.class, Byte.class, Short.class, Integer.class, Long.class,
+            Double.class, Float.class, BigDecimal.class, BigInteger.class,
+            String.class, byte[].class, Date.class, Time.class, Timestamp.class,
+            LocalDate.class, LocalTime.class, LocalDateTime.class, UUID.class
+        ))
+            TYPES.put(type.getName(), type);
+    }
+
+    private ResultCodec() {}
+
+    /**
+     * Write a complete result to an output stream.
+     */
+    static final void write(Result<?> result, OutputStream stream) {
+        Writer writer = new Writer(stream, result.fields());
+        writer.write(result);
+        writer.finish();
+    }
+
+    /**
+     * Read a complete result from an input stream.
+     *
+     * @param allowed The types whose values may be read using Java
+     *            serialisation, in addition to the types that have a dedicated
+     *            encoding.
+     */
+    static final Result<Record> read(Configuration configuration, InputStream stream, Class<?>... allowed) {
+        try {
+            DataInputStream in = new DataInputStream(stream);
+
+            if (in.readInt() != MAGIC)
+                throw new StreamCorruptedException("Not a binary jOOQ result");
+
+            int version = in.readUnsignedByte();
+            if (version != VERSION)
+                throw new StreamCorruptedException("Unsupported binary jOOQ result version: " + version);
+
+            int degree = readCount(in, MAX_DEGREE, "degree");
+            Field<?>[] fields = new Field[degree];
+            byte[] encodings = new byte[degree];
+            List<List<String>> dictionaries = new ArrayList<List<String>>(degree);
+
+            for (int i = 0; i < degree; i++) {
+                String[] name = new String[readCount(in, MAX_NAME_PARTS, "name parts")];
+                for (int j = 0; j < name.length; j++)
+                    name[j] = readString(in);
+
+                fields[i] = DSL.field(DSL.name(name), dataType(readString(in), allowed));
+                encodings[i] = in.readByte();
+                dictionaries.add(new ArrayList<String>());
+            }
+
+            RecordFactory<AbstractRecord> factory = (RecordFactory) Tools.recordFactory(RecordImpl.class, fields);
+            ResultImpl<Record> result = new ResultImpl<Record>(configuration, fields);
+            Object[][] block = new Object[degree][];
+
+            for (int size = readCount(in, BLOCK_SIZE, "block size"); size > 0; size = readCount(in, BLOCK_SIZE, "block size")) {
+                for (int i = 0; i < degree; i++) {
+                    boolean[] nulls = null;
+
+                    if (in.readBoolean()) {
+                        byte[] bitmap = new byte[(size + 7) / 8];
+                        in.readFully(bitmap);
+                        nulls = new boolean[size];
+
+                        for (int r = 0; r < size; r++)
+                            nulls[r] = (bitmap[r >>> 3] & (1 << (r & 7))) != 0;
+                    }
+
+                    Object[] values = block[i] = new Object[size];
+                    for (int r = 0; r < size; r++)
+                        if (nulls == null || !nulls[r])
+                            values[r] = fields[i].getDataType().convert(readValue(in, encodings[i], dictionaries.get(i), allowed));
+                }
+
+                for (int r = 0; r < size; r++) {
+                    final int row = r;
+
+                    result.add(Tools.newRecord(true, factory, configuration).operate(new RecordOperation<AbstractRecord, RuntimeException>() {
+                        @Override
+                        public AbstractRecord operate(AbstractRecord record) {
+                            for (int i = 0; i < block.length; i++)
+                                record.values[i] = record.originals[i] = block[i][row];
+
+                            return record;
+                        }
+                    }));
+                }
+            }
+
+            return result;
+        }
+        catch (java.io.IOException e) {
+            throw new IOException("Could not read binary result", e);
+        }
+    }
+
+    /**
+     * A writer that encodes records block by block.
+     */
+    static final class Writer {
+
+        private final DataOutputStream      out;
+        private final Field<?>[]            fields;
+        private final byte[]                encodings;
+        private final Map<String, Integer>[] dictionaries;
+        private final Object[][]            block;
+        private int                         size;
+
+        @SuppressWarnings("unchecked")
+        Writer(OutputStream stream, Field<?>[] fields) {
+            this.out = new DataOutputStream(stream);
+            this.fields = fields;
+            this.encodings = new byte[fields.length];
+            this.dictionaries = new Map[fields.length];
+            this.block = new Object[fields.length][BLOCK_SIZE];
+
+            try {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                writeLong(out, fields.length);
+
+                for (int i = 0; i < fields.length; i++) {
+                    String[] name = fields[i].getQualifiedName().getName();
+                    writeLong(out, name.length);
+
+                    for (String part : name)
+                        writeString(out, part);
+
+                    writeString(out, fields[i].getType().getName());
+                    out.writeByte(encodings[i] = encoding(fields[i].getType()));
+                    dictionaries[i] = new HashMap<String, Integer>();
+                }
+            }
+            catch (java.io.IOException e) {
+                throw new IOException("Could not write binary result", e);
+            }
+        }
+
+        /**
+         * Write records. Complete blocks are flushed to the underlying stream.
+         */
+        final void write(Iterable<? extends Record> records) {
+            for (Record record : records) {
+                for (int i = 0; i < fields.length; i++)
+                    block[i][size] = record.get(i);
+
+                if (++size == BLOCK_SIZE)
+                    flushBlock();
+            }
+        }
+
+        /**
+         * Write any pending records and the terminating empty block.
+         */
+        final void finish() {
+            flushBlock();
+
+            try {
+                writeLong(out, 0);
+                out.flush();
+            }
+            catch (java.io.IOException e) {
+                throw new IOException("Could not write binary result", e);
+            }
+        }
+
+        private final void flushBlock() {
+            if (size == 0)
+                return;
+
+            try {
+                writeLong(out, size);
+
+                for (int i = 0; i < fields.length; i++) {
+                    Object[] values = block[i];
+                    byte[] bitmap = null;
+
+                    for (int r = 0; r < size; r++) {
+                        if (values[r] == null) {
+                            if (bitmap == null)
+                                bitmap = new byte[(size + 7) / 8];
+
+                            bitmap[r >>> 3] |= 1 << (r & 7);
+                        }
+                    }
+
+                    out.writeBoolean(bitmap != null);
+                    if (bitmap != null)
+                        out.write(bitmap);
+
+                    for (int r = 0; r < size; r++) {
+                        if (values[r] != null)
+                            writeValue(out, encodings[i], fields[i].getDataType().convert(values[r]), dictionaries[i]);
+
+                        values[r] = null;
+                    }
+                }
+
+                size = 0;
+            }
+            catch (java.io.IOException e) {
+                throw new IOException("Could not write binary result", e);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Value encodings
+    // -------------------------------------------------------------------------
+
+    private static final byte encoding(Class<?> type) {
+        if (type == Boolean.class)
+            return ENC_BOOLEAN;
+        else if (type == Byte.class || type == Short.class || type == Integer.class || type == Long.class)
+            return ENC_LONG;
+        else if (type == Double.class)
+            return ENC_DOUBLE;
+        else if (type == Float.class)
+            return ENC_FLOAT;
+        else if (type == BigDecimal.class)
+            return ENC_BIG_DECIMAL;
+        else if (type == BigInteger.class)
+            return ENC_BIG_INTEGER;
+        else if (type == String.class)
+            return ENC_STRING;
+        else if (type == byte[].class)
+            return ENC_BYTES;
+        else if (type == Date.class)
+            return ENC_DATE;
+        else if (type == Time.class)
+            return ENC_TIME;
+        else if (type == Timestamp.class)
+            return ENC_TIMESTAMP;
+        else if (type == LocalDate.class)
+            return ENC_LOCAL_DATE;
+        else if (type == LocalTime.class)
+            return ENC_LOCAL_TIME;
+        else if (type == LocalDateTime.class)
+            return ENC_LOCAL_DATETIME;
+        else if (type == UUID.class)
+            return ENC_UUID;
+        else
+            return ENC_OBJECT;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final DataType<?> dataType(String className, Class<?>[] allowed) {
+        Class<?> type = TYPES.get(className);
+
+        if (type == null)
+            for (Class<?> a : allowed)
+                if (a.getName().equals(className))
+                    type = a;
+
+        // Unknown types are not loaded from the stream's class name
+        if (type == null)
+            return SQLDataType.OTHER;
+        else
+            return DefaultDataType.getDataType(SQLDialect.DEFAULT, (Class) type, SQLDataType.OTHER);
+    }
+
+    private static final void writeValue(DataOutputStream out, byte encoding, Object value, Map<String, Integer> dictionary) throws java.io.IOException {
+        switch (encoding) {
+            case ENC_BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+
+            case ENC_LONG:
+                writeLong(out, ((Number) value).longValue());
+                break;
+
+            case ENC_DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+
+            case ENC_FLOAT:
+                out.writeFloat((Float) value);
+                break;
+
+            case ENC_BIG_DECIMAL:
+                writeLong(out, ((BigDecimal) value).scale());
+                writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+                break;
+
+            case ENC_BIG_INTEGER:
+                writeBytes(out, ((BigInteger) value).toByteArray());
+                break;
+
+            case ENC_STRING: {
+                String string = (String) value;
+                Integer index = dictionary.get(string);
+
+                // 0 marks an inline string, other values refer to the dictionary
+                if (index != null) {
+                    writeLong(out, index + 1);
+                }
+                else {
+                    writeLong(out, 0);
+                    writeString(out, string);
+
+                    if (dictionary.size() < MAX_DICTIONARY)
+                        dictionary.put(string, dictionary.size());
+                }
+
+                break;
+            }
+
+            case ENC_BYTES:
+                writeBytes(out, (byte[]) value);
+                break;
+
+            case ENC_DATE:
+            case ENC_TIME:
+                writeLong(out, ((java.util.Date) value).getTime());
+                break;
+
+            case ENC_TIMESTAMP:
+                writeLong(out, ((Timestamp) value).getTime());
+                writeLong(out, ((Timestamp) value).getNanos());
+                break;
+
+            case ENC_LOCAL_DATE:
+                writeLong(out, ((LocalDate) value).toEpochDay());
+                break;
+
+            case ENC_LOCAL_TIME:
+                writeLong(out, ((LocalTime) value).toNanoOfDay());
+                break;
+
+            case ENC_LOCAL_DATETIME:
+                writeLong(out, ((LocalDateTime) value).toLocalDate().toEpochDay());
+                writeLong(out, ((LocalDateTime) value).toLocalTime().toNanoOfDay());
+                break;
+
+            case ENC_UUID:
+                out.writeLong(((UUID) value).getMostSignificantBits());
+                out.writeLong(((UUID) value).getLeastSignificantBits());
+                break;
+
+            default: {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ObjectOutputStream object = new ObjectOutputStream(bytes);
+                object.writeObject(value);
+                object.close();
+                writeBytes(out, bytes.toByteArray());
+                break;
+            }
+        }
+    }
+
+    private static final Object readValue(DataInputStream in, byte encoding, List<String> dictionary, Class<?>[] allowed) throws java.io.IOException {
+        switch (encoding) {
+            case ENC_BOOLEAN:
+                return in.readBoolean();
+
+            case ENC_LONG:
+                return readLong(in);
+
+            case ENC_DOUBLE:
+                return in.readDouble();
+
+            case ENC_FLOAT:
+                return in.readFloat();
+
+            case ENC_BIG_DECIMAL: {
+                int scale = readInt(in);
+                return new BigDecimal(new BigInteger(readBytes(in)), scale);
+            }
+
+            case ENC_BIG_INTEGER:
+                return new BigInteger(readBytes(in));
+
+            case ENC_STRING: {
+                int index = readInt(in);
+
+                if (index > dictionary.size())
+                    throw new StreamCorruptedException("Dictionary index out of range: " + index);
+                else if (index > 0)
+                    return dictionary.get(index - 1);
+
+                String string = readString(in);
+                if (dictionary.size() < MAX_DICTIONARY)
+                    dictionary.add(string);
+
+                return string;
+            }
+
+            case ENC_BYTES:
+                return readBytes(in);
+
+            case ENC_DATE:
+                return new Date(readLong(in));
+
+            case ENC_TIME:
+                return new Time(readLong(in));
+
+            case ENC_TIMESTAMP: {
+                Timestamp result = new Timestamp(readLong(in));
+                result.setNanos(readInt(in));
+                return result;
+            }
+
+            case ENC_LOCAL_DATE:
+                return LocalDate.ofEpochDay(readLong(in));
+
+            case ENC_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(readLong(in));
+
+            case ENC_LOCAL_DATETIME:
+                return LocalDateTime.of(LocalDate.ofEpochDay(readLong(in)), LocalTime.ofNanoOfDay(readLong(in)));
+
+            case ENC_UUID:
+                return new UUID(in.readLong(), in.readLong());
+
+            case ENC_OBJECT: {
+                if (allowed.length == 0)
+                    throw new InvalidObjectException("Reading Java serialised values requires their types to be allowed explicitly");
+
+                ObjectInputStream object = new AllowedTypesObjectInputStream(new ByteArrayInputStream(readBytes(in)), allowed);
+
+                try {
+                    Object result = object.readObject();
+
+                    // Serialisation proxies may resolve to other types than
+                    // the ones they were allowed for
+                    if (result != null && !isAllowedValue(result.getClass(), allowed))
+                        throw new InvalidObjectException("Type is not allowed for Java deserialisation: " + result.getClass().getName());
+
+                    return result;
+                }
+                catch (ClassNotFoundException e) {
+                    throw new java.io.IOException("Cannot deserialise value", e);
+                }
+                finally {
+                    object.close();
+                }
+            }
+
+            default:
+                throw new StreamCorruptedException("Unknown value encoding: " + encoding);
+        }
+    }
+
+    private static final boolean isAllowedValue(Class<?> type, Class<?>[] allowed) {
+        for (Class<?> a : allowed)
+            if (a.isAssignableFrom(type))
+                return true;
+
+        for (Class<?> s : SERIALIZABLE_TYPES)
+            if (s.isAssignableFrom(type) && type.getName().startsWith("java."))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * An {@link ObjectInputStream} that resolves only the allowed types, their
+     * supertypes, their serialisation proxies (e.g. <code>java.time.Ser</code>)
+     * and a few value types that commonly appear in their object graphs.
+     */
+    private static final class AllowedTypesObjectInputStream extends ObjectInputStream {
+
+        private final Class<?>[] allowed;
+
+        AllowedTypesObjectInputStream(InputStream in, Class<?>[] allowed) throws java.io.IOException {
+            super(in);
+
+            this.allowed = allowed;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws java.io.IOException, ClassNotFoundException {
+            Class<?> type = super.resolveClass(desc);
+
+            if (isAllowed(type))
+                return type;
+            else
+                throw new InvalidClassException(desc.getName(), "Type is not allowed for Java deserialisation");
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws java.io.IOException {
+            throw new InvalidClassException("Proxy classes are not allowed for Java deserialisation");
+        }
+
+        private final boolean isAllowed(Class<?> type) {
+            while (type.isArray())
+                type = type.getComponentType();
+
+            if (type.isPrimitive() || type == Object.class || type == Serializable.class)
+                return true;
+
+            for (Class<?> a : allowed)
+                if (type.isAssignableFrom(a) || isProxy(type, a))
+                    return true;
+
+            for (Class<?> s : SERIALIZABLE_TYPES)
+                if (s.isAssignableFrom(type) && type.getName().startsWith("java."))
+                    return true;
+
+            return false;
+        }
+
+        /**
+         * Whether a type is a serialisation proxy of an allowed type, i.e. a
+         * type that declares a <code>readResolve()</code> method, and that is
+         * either nested in the allowed type, or a non-public type of the
+         * allowed type's package, like <code>java.time.Ser</code>.
+         */
+        private static final boolean isProxy(Class<?> type, Class<?> allowed) {
+            try {
+                type.getDeclaredMethod("readResolve");
+            }
+            catch (NoSuchMethodException e) {
+                return false;
+            }
+
+            for (Class<?> c = type.getEnclosingClass(); c != null; c = c.getEnclosingClass())
+                if (c == allowed)
+                    return true;
+
+            return !Modifier.isPublic(type.getModifiers())
+                && type.getPackage() != null
+                && type.getPackage().equals(allowed.getPackage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Primitive encodings
+    // -------------------------------------------------------------------------
+
+    private static final void writeLong(DataOutputStream out, long value) throws java.io.IOException {
+
+        // Zig-zag encoding keeps small negative numbers small
+        long v = (value << 1) ^ (value >> 63);
+
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+
+        out.writeByte((int) v);
+    }
+
+    private static final long readLong(DataInputStream in) throws java.io.IOException {
+        long v = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return (v >>> 1) ^ -(v & 1);
+        }
+
+        throw new StreamCorruptedException("Malformed variable length integer");
+    }
+
+    private static final int readInt(DataInputStream in) throws java.io.IOException {
+        long result = readLong(in);
+
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE)
+            throw new StreamCorruptedException("Integer out of range: " + result);
+
+        return (int) result;
+    }
+
+    private static final int readCount(DataInputStream in, int max, String what) throws java.io.IOException {
+        int result = readInt(in);
+
+        if (result < 0 || result > max)
+            throw new StreamCorruptedException("Invalid " + what + ": " + result);
+
+        return result;
+    }
+
+    private static final void writeBytes(DataOutputStream out, byte[] bytes) throws java.io.IOException {
+        writeLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static final byte[] readBytes(DataInputStream in) throws java.io.IOException {
+        int length = readInt(in);
+
+        if (length < 0)
+            throw new EOFException("Negative length: " + length);
+
+        byte[] buffer = new byte[Math.min(length, READ_CHUNK)];
+
+        if (length == buffer.length) {
+            in.readFully(buffer);
+            return buffer;
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(READ_CHUNK);
+        for (int remaining = length; remaining > 0;) {
+            int chunk = Math.min(remaining, buffer.length);
+
+            in.readFully(buffer, 0, chunk);
+            result.write(buffer, 0, chunk);
+            remaining -= chunk;
+        }
+
+        return result.toByteArray();
+    }
+
+    private static final void writeString(DataOutputStream out, String string) throws java.io.IOException {
+        writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final String readString(DataInputStream in) throws java.io.IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+}
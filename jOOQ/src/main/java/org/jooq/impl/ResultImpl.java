@@ -116,6 +116,8 @@ import org.jooq.RecordType;
 import org.jooq.Result;
 import org.jooq.Row;
 import org.jooq.Schema;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.TableRecord;
@@ -402,6 +404,11 @@ final class ResultImpl<R extends Record> implements Result<R> {
         format(new OutputStreamWriter(stream));
     }
 
+    @Override
+    public final void writeTo(OutputStream stream) {
+        ResultCodec.write(this, stream);
+    }
+
     @Override
     public final void format(Writer writer) {
         format(writer, 50);
@@ -1716,6 +1723,25 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return map;
     }
 
+    @Override
+    public final <K> Map<K, R> intoMapParallel(Field<K> key) {
+        int index = indexOrFail(fieldsRow(), key);
+
+        if (size() < ParallelGrouping.THRESHOLD)
+            return intoMap0(index);
+
+        Map<K, R> map = new LinkedHashMap<K, R>();
+
+        for (ParallelGrouping.Group group : ParallelGrouping.group(records, new int[] { index })) {
+            if (group.size > 1)
+                throw new InvalidResultException("Key " + index + " is not unique in Result for " + this);
+
+            map.put((K) group.key, records.get(group.rows[0]));
+        }
+
+        return map;
+    }
+
     @Override
     public final <K, V> Map<K, V> intoMap(Field<K> key, Field<V> value) {
         int kIndex = indexOrFail(fieldsRow(), key);
@@ -1783,6 +1809,27 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return map;
     }
 
+    @Override
+    public final Map<Record, R> intoMapParallel(Field<?>[] keys) {
+        if (keys == null)
+            keys = new Field[0];
+
+        if (size() < ParallelGrouping.THRESHOLD)
+            return intoMap(keys);
+
+        Map<Record, R> map = new LinkedHashMap<Record, R>();
+
+        for (ParallelGrouping.Group group : ParallelGrouping.group(records, indexesOrFail(fieldsRow(), keys))) {
+            if (group.size > 1)
+                throw new InvalidResultException("Key list " + Arrays.asList(keys) + " is not unique in Result for " + this);
+
+            R record = records.get(group.rows[0]);
+            map.put(groupKey(keys, record), record);
+        }
+
+        return map;
+    }
+
     @Override
     public final Map<Record, Record> intoMap(int[] keyFieldIndexes, int[] valueFieldIndexes) {
         return intoMap(fields(keyFieldIndexes), fields(valueFieldIndexes));
@@ -2062,6 +2109,21 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return map;
     }
 
+    @Override
+    public final <K> Map<K, Result<R>> intoGroupsParallel(Field<K> key) {
+        int index = indexOrFail(fieldsRow(), key);
+
+        if (size() < ParallelGrouping.THRESHOLD)
+            return intoGroups0(index);
+
+        Map<K, Result<R>> map = new LinkedHashMap<K, Result<R>>();
+
+        for (ParallelGrouping.Group group : ParallelGrouping.group(records, new int[] { index }))
+            map.put((K) group.key, groupResult(group));
+
+        return map;
+    }
+
     @Override
     public final <K, V> Map<K, List<V>> intoGroups(Field<K> key, Field<V> value) {
         int kIndex = indexOrFail(fieldsRow(), key);
@@ -2195,6 +2257,49 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return map;
     }
 
+    @Override
+    public final Map<Record, Result<R>> intoGroupsParallel(Field<?>[] keys) {
+        if (keys == null)
+            keys = new Field[0];
+
+        if (size() < ParallelGrouping.THRESHOLD)
+            return intoGroups(keys);
+
+        Map<Record, Result<R>> map = new LinkedHashMap<Record, Result<R>>();
+
+        for (ParallelGrouping.Group group : ParallelGrouping.group(records, indexesOrFail(fieldsRow(), keys)))
+            map.put(groupKey(keys, records.get(group.rows[0])), groupResult(group));
+
+        return map;
+    }
+
+    private static final int[] indexesOrFail(Row row, Field<?>[] keys) {
+        int[] result = new int[keys.length];
+
+        for (int i = 0; i < keys.length; i++)
+            result[i] = indexOrFail(row, keys[i]);
+
+        return result;
+    }
+
+    private final Record groupKey(Field<?>[] keys, R record) {
+        RecordImpl key = new RecordImpl(keys);
+
+        for (Field<?> field : keys)
+            Tools.copyValue(key, field, record, field);
+
+        return key;
+    }
+
+    private final Result<R> groupResult(ParallelGrouping.Group group) {
+        ResultImpl<R> result = new ResultImpl<R>(configuration, fields);
+
+        for (int i = 0; i < group.size; i++)
+            result.records.add(records.get(group.rows[i]));
+
+        return result;
+    }
+
     @Override
     public final Map<Record, Result<Record>> intoGroups(int[] keyFieldIndexes, int[] valueFieldIndexes) {
         return intoGroups(fields(keyFieldIndexes), fields(valueFieldIndexes));
@@ -2730,22 +2835,22 @@ final class ResultImpl<R extends Record> implements Result<R> {
 
     @Override
     public final <T extends Comparable<? super T>> Result<R> sortAsc(Field<T> field) {
-        return sortAsc(field, new NaturalComparator<T>());
+        return sortAsc(indexOrFail(fieldsRow(), field));
     }
 
     @Override
     public final Result<R> sortAsc(int fieldIndex) {
-        return sortAsc(fieldIndex, new NaturalComparator());
+        return sort0(new int[] { fieldIndex }, new boolean[] { false }, new boolean[] { true }, false);
     }
 
     @Override
     public final Result<R> sortAsc(String fieldName) {
-        return sortAsc(fieldName, new NaturalComparator());
+        return sortAsc(indexOrFail(fieldsRow(), fieldName));
     }
 
     @Override
     public final Result<R> sortAsc(Name fieldName) {
-        return sortAsc(fieldName, new NaturalComparator());
+        return sortAsc(indexOrFail(fieldsRow(), fieldName));
     }
 
     @Override
@@ -2776,22 +2881,22 @@ final class ResultImpl<R extends Record> implements Result<R> {
 
     @Override
     public final <T extends Comparable<? super T>> Result<R> sortDesc(Field<T> field) {
-        return sortAsc(field, Collections.reverseOrder(new NaturalComparator<T>()));
+        return sortDesc(indexOrFail(fieldsRow(), field));
     }
 
     @Override
     public final Result<R> sortDesc(int fieldIndex) {
-        return sortAsc(fieldIndex, Collections.reverseOrder(new NaturalComparator()));
+        return sort0(new int[] { fieldIndex }, new boolean[] { true }, new boolean[] { false }, false);
     }
 
     @Override
     public final Result<R> sortDesc(String fieldName) {
-        return sortAsc(fieldName, Collections.reverseOrder(new NaturalComparator()));
+        return sortDesc(indexOrFail(fieldsRow(), fieldName));
     }
 
     @Override
     public final Result<R> sortDesc(Name fieldName) {
-        return sortAsc(fieldName, Collections.reverseOrder(new NaturalComparator()));
+        return sortDesc(indexOrFail(fieldsRow(), fieldName));
     }
 
     @Override
@@ -2819,6 +2924,41 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return sortAsc(Collections.reverseOrder(comparator));
     }
 
+    @Override
+    public final Result<R> sortBy(SortField<?>... sortFields) {
+        return sortBy0(sortFields, false);
+    }
+
+    @Override
+    public final Result<R> parallelSortBy(SortField<?>... sortFields) {
+        return sortBy0(sortFields, true);
+    }
+
+    private final Result<R> sortBy0(SortField<?>[] sortFields, boolean parallel) {
+        int[] indexes = new int[sortFields.length];
+        boolean[] desc = new boolean[sortFields.length];
+        boolean[] nullsFirst = new boolean[sortFields.length];
+
+        for (int i = 0; i < sortFields.length; i++) {
+            if (!(sortFields[i] instanceof SortFieldImpl))
+                throw new IllegalArgumentException("Sort field not supported: " + sortFields[i]);
+
+            SortFieldImpl<?> s = (SortFieldImpl<?>) sortFields[i];
+            indexes[i] = indexOrFail(fieldsRow(), s.getField());
+            desc[i] = s.getOrder() == SortOrder.DESC;
+
+            // NULL values are considered smaller than any other value, by default
+            nullsFirst[i] = s.getNullsFirst() || (!s.getNullsLast() && !desc[i]);
+        }
+
+        return sort0(indexes, desc, nullsFirst, parallel);
+    }
+
+    private final Result<R> sort0(int[] indexes, boolean[] desc, boolean[] nullsFirst, boolean parallel) {
+        new ResultSorter(records, indexes, desc, nullsFirst).sort(records, parallel);
+        return this;
+    }
+
     @Override
     public final Result<R> intern(Field<?>... f) {
         return intern(fields.indexesOf(f));
@@ -2847,6 +2987,80 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return intern(fields.indexesOf(fieldNames));
     }
 
+    @Override
+    public final Result<Record> join(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) {
+        final int[] leftIndexes = indexesOrFail(fieldsRow(), keys);
+        final int[] rightIndexes = indexesOrFail(other.fieldsRow(), otherKeys);
+        final int leftSize = fields.size();
+        final int rightSize = other.fieldsRow().size();
+
+        Field<?>[] f = new Field[leftSize + rightSize];
+        System.arraycopy(fields.fields, 0, f, 0, leftSize);
+        System.arraycopy(other.fields(), 0, f, leftSize, rightSize);
+
+        Configuration c = Tools.configuration(this);
+        RecordFactory<AbstractRecord> factory = (RecordFactory) Tools.recordFactory(RecordImpl.class, f);
+        ResultImpl<Record> result = new ResultImpl<Record>(c, f);
+
+        for (long pair : HashJoin.join(records, leftIndexes, other, rightIndexes, joinTypes(keys, otherKeys))) {
+            final Record left = records.get(HashJoin.left(pair));
+            final Record right = other.get(HashJoin.right(pair));
+
+            result.records.add(Tools.newRecord(true, factory, c).operate(new RecordOperation<AbstractRecord, RuntimeException>() {
+                @Override
+                public AbstractRecord operate(AbstractRecord record) {
+                    for (int i = 0; i < leftSize; i++)
+                        record.values[i] = record.originals[i] = left.get(i);
+
+                    for (int i = 0; i < rightSize; i++)
+                        record.values[leftSize + i] = record.originals[leftSize + i] = right.get(i);
+
+                    return record;
+                }
+            }));
+        }
+
+        return result;
+    }
+
+    @Override
+    public final Result<R> semiJoin(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) {
+        return semiJoin0(other, keys, otherKeys, true);
+    }
+
+    @Override
+    public final Result<R> antiJoin(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys) {
+        return semiJoin0(other, keys, otherKeys, false);
+    }
+
+    private final Result<R> semiJoin0(Result<?> other, Field<?>[] keys, Field<?>[] otherKeys, boolean semi) {
+        boolean[] matches = HashJoin.matches(
+            records, indexesOrFail(fieldsRow(), keys),
+            other, indexesOrFail(other.fieldsRow(), otherKeys),
+            joinTypes(keys, otherKeys)
+        );
+
+        ResultImpl<R> result = new ResultImpl<R>(configuration, fields);
+
+        for (int i = 0; i < matches.length; i++)
+            if (matches[i] == semi)
+                result.records.add(records.get(i));
+
+        return result;
+    }
+
+    private static final DataType<?>[] joinTypes(Field<?>[] keys, Field<?>[] otherKeys) {
+        if (keys.length != otherKeys.length)
+            throw new IllegalArgumentException("Number of keys must match: " + Arrays.asList(keys) + ", " + Arrays.asList(otherKeys));
+
+        DataType<?>[] result = new DataType[keys.length];
+
+        for (int i = 0; i < keys.length; i++)
+            result[i] = keys[i].getDataType();
+
+        return result;
+    }
+
     /**
      * A comparator for records, wrapping another comparator for &lt;T&gt;
      */
@@ -2866,26 +3080,6 @@ final class ResultImpl<R extends Record> implements Result<R> {
         }
     }
 
-    /**
-     * A natural comparator
-     */
-    private static class NaturalComparator<T extends Comparable<? super T>> implements Comparator<T> {
-
-        @Override
-        public final int compare(T o1, T o2) {
-            if (o1 == null && o2 == null) {
-                return 0;
-            }
-            else if (o1 == null) {
-                return -1;
-            }
-            else if (o2 == null) {
-                return 1;
-            }
-            return o1.compareTo(o2);
-        }
-    }
-
     // -------------------------------------------------------------------------
     // XXX Fetching of parents or children
     // -------------------------------------------------------------------------
@@ -2900,6 +3094,41 @@ final class ResultImpl<R extends Record> implements Result<R> {
         return key.fetchChildren(this);
     }
 
+    @Override
+    public final <O extends UpdatableRecord<O>> Map<R, O> fetchParentMap(ForeignKey<R, O> key) {
+        return ReferenceImpl.fetchParentMap(key, this);
+    }
+
+    @Override
+    public final <O extends TableRecord<O>> Map<R, Result<O>> fetchChildrenMap(ForeignKey<O, R> key) {
+        return ReferenceImpl.fetchChildrenMap(key, this);
+    }
+
+    // -------------------------------------------------------------------------
+    // XXX Refreshing
+    // -------------------------------------------------------------------------
+
+    @Override
+    public final void refreshAll() {
+        refreshAll(fields.fields);
+    }
+
+    @Override
+    public final void refreshAll(Field<?>... refreshFields) {
+        if (isEmpty())
+            return;
+
+        List<UpdatableRecordImpl<?>> list = new ArrayList<UpdatableRecordImpl<?>>(size());
+
+        for (R record : this)
+            if (record instanceof UpdatableRecordImpl)
+                list.add((UpdatableRecordImpl<?>) record);
+            else
+                throw new IllegalStateException("Only UpdatableRecords can be refreshed: " + record.getClass());
+
+        UpdatableRecordImpl.refreshAll(list, refreshFields);
+    }
+
     // -------------------------------------------------------------------------
     // XXX Object API
     // -------------------------------------------------------------------------
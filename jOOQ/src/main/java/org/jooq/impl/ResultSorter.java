@@ -0,0 +1,377 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.jooq.Record;
+
+/**
+ * A stable multi-key sort for in-memory {@link org.jooq.Result} objects that
+ * avoids calling {@link Record#get(int)} and comparing boxed values for each
+ * comparison.
+ * <p>
+ * Sort keys are extracted once per column into a <code>long[]</code>:
+ * <ul>
+ * <li>Integral numbers are used as they are.</li>
+ * <li>Floating point numbers are encoded in a way that preserves
+ * {@link Double#compare(double, double)} ordering.</li>
+ * <li>{@link Date} values (except {@link java.sql.Timestamp}) are encoded as
+ * epoch milliseconds.</li>
+ * <li>All other {@link Comparable} values are de-duplicated by hashing and
+ * replaced by their rank among all distinct values of the column, such that
+ * sorting <code>d</code> distinct values takes only <code>O(d log d)</code>
+ * comparisons, regardless of the number of records.</li>
+ * </ul>
+ * An <code>int[]</code> permutation of record indexes is then merge sorted by
+ * these keys, optionally in parallel, and the records are reordered in one
+ * pass.
+ *
+ * @author Lukas Eder
+ */
+final class ResultSorter {
+
+    /**
+     * Below this number of records, parallel sorting does not pay off.
+     */
+    static final int         PARALLEL_THRESHOLD  = 8192;
+
+    /**
+     * Below this number of records, insertion sort is used.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private final long[][]    keys;
+    private final boolean[][] nulls;
+    private final boolean[]   desc;
+    private final boolean[]   nullsFirst;
+
+    /**
+     * Create a sorter.
+     *
+     * @param records The records to sort
+     * @param indexes The sort column indexes
+     * @param desc Whether to sort each column in descending order
+     * @param nullsFirst Whether to sort <code>NULL</code> values before other
+     *            values, for each column
+     */
+    ResultSorter(List<? extends Record> records, int[] indexes, boolean[] desc, boolean[] nullsFirst) {
+        this.keys = new long[indexes.length][];
+        this.nulls = new boolean[indexes.length][];
+        this.desc = desc;
+        this.nullsFirst = nullsFirst;
+
+        for (int k = 0; k < indexes.length; k++)
+            extract(records, indexes[k], k);
+    }
+
+    /**
+     * Sort the argument records in place.
+     */
+    @SuppressWarnings("unchecked")
+    final <R extends Record> void sort(List<R> records, boolean parallel) {
+        int size = records.size();
+        int[] permutation = new int[size];
+        int[] buffer = new int[size];
+
+        for (int i = 0; i < size; i++)
+            permutation[i] = i;
+
+        if (parallel && size >= PARALLEL_THRESHOLD)
+            ForkJoinPool.commonPool().invoke(new ParallelMergeSort(permutation, buffer, 0, size));
+        else
+            mergeSort(permutation, buffer, 0, size);
+
+        Object[] copy = records.toArray();
+        for (int i = 0; i < size; i++)
+            records.set(i, (R) copy[permutation[i]]);
+    }
+
+    // -------------------------------------------------------------------------
+    // Key extraction
+    // -------------------------------------------------------------------------
+
+    private final void extract(List<? extends Record> records, int index, int k) {
+        int size = records.size();
+        Object[] values = new Object[size];
+        boolean[] n = null;
+        boolean integral = true;
+        boolean floating = true;
+        boolean date = true;
+
+        for (int i = 0; i < size; i++) {
+            Object value = values[i] = records.get(i).get(index);
+
+            if (value == null) {
+                if (n == null)
+                    n = new boolean[size];
+
+                n[i] = true;
+            }
+            else {
+                integral &= value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+                floating &= value instanceof Double || value instanceof Float;
+                date &= value instanceof Date && !(value instanceof java.sql.Timestamp);
+            }
+        }
+
+        long[] result = new long[size];
+
+        if (integral) {
+            for (int i = 0; i < size; i++)
+                if (values[i] != null)
+                    result[i] = ((Number) values[i]).longValue();
+        }
+        else if (floating) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] != null) {
+                    long bits = Double.doubleToLongBits(((Number) values[i]).doubleValue());
+                    result[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                }
+            }
+        }
+        else if (date) {
+            for (int i = 0; i < size; i++)
+                if (values[i] != null)
+                    result[i] = ((Date) values[i]).getTime();
+        }
+        else {
+            rank(values, result);
+        }
+
+        keys[k] = result;
+        nulls[k] = n;
+    }
+
+    /**
+     * Replace comparable values by their rank among all distinct values.
+     */
+    @SuppressWarnings("unchecked")
+    private static final void rank(Object[] values, long[] result) {
+        int size = values.length;
+        Map<Object, Integer> ids = new HashMap<Object, Integer>();
+        int[] id = new int[size];
+        Object[] distinct = new Object[size];
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null) {
+                Integer existing = ids.get(values[i]);
+
+                if (existing == null) {
+                    ids.put(values[i], existing = count);
+                    distinct[count++] = values[i];
+                }
+
+                id[i] = existing;
+            }
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++)
+            order[i] = i;
+
+        sort(distinct, order, new int[count], 0, count);
+
+        // Values that are not equal may still compare as equal, e.g.
+        // BigDecimal values with different scales
+        long[] ranks = new long[count];
+        long rank = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && ((Comparable<Object>) distinct[order[i - 1]]).compareTo(distinct[order[i]]) != 0)
+                rank++;
+
+            ranks[order[i]] = rank;
+        }
+
+        for (int i = 0; i < size; i++)
+            if (values[i] != null)
+                result[i] = ranks[id[i]];
+    }
+
+    /**
+     * Merge sort an <code>int[]</code> of indexes into comparable values.
+     */
+    @SuppressWarnings("unchecked")
+    private static final void sort(Object[] values, int[] a, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int x = a[i];
+                int j = i - 1;
+
+                while (j >= from && ((Comparable<Object>) values[a[j]]).compareTo(values[x]) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+
+                a[j + 1] = x;
+            }
+
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        sort(values, a, buffer, from, mid);
+        sort(values, a, buffer, mid, to);
+
+        System.arraycopy(a, from, buffer, from, to - from);
+
+        int i = from;
+        int j = mid;
+        int k = from;
+
+        while (i < mid && j < to)
+            a[k++] = ((Comparable<Object>) values[buffer[j]]).compareTo(values[buffer[i]]) < 0 ? buffer[j++] : buffer[i++];
+
+        while (i < mid)
+            a[k++] = buffer[i++];
+
+        while (j < to)
+            a[k++] = buffer[j++];
+    }
+
+    // -------------------------------------------------------------------------
+    // Sorting
+    // -------------------------------------------------------------------------
+
+    private final int compare(int i1, int i2) {
+        for (int k = 0; k < keys.length; k++) {
+            boolean[] n = nulls[k];
+
+            if (n != null) {
+                if (n[i1] && n[i2])
+                    continue;
+                else if (n[i1])
+                    return nullsFirst[k] ? -1 : 1;
+                else if (n[i2])
+                    return nullsFirst[k] ? 1 : -1;
+            }
+
+            int c = Long.compare(keys[k][i1], keys[k][i2]);
+            if (c != 0)
+                return desc[k] ? -c : c;
+        }
+
+        return 0;
+    }
+
+    private final void mergeSort(int[] a, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(a, from, to);
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid);
+        mergeSort(a, buffer, mid, to);
+        merge(a, buffer, from, mid, to);
+    }
+
+    private final void insertionSort(int[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int x = a[i];
+            int j = i - 1;
+
+            while (j >= from && compare(a[j], x) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+
+            a[j + 1] = x;
+        }
+    }
+
+    private final void merge(int[] a, int[] buffer, int from, int mid, int to) {
+
+        // Already in order
+        if (compare(a[mid - 1], a[mid]) <= 0)
+            return;
+
+        System.arraycopy(a, from, buffer, from, to - from);
+
+        int i = from;
+        int j = mid;
+        int k = from;
+
+        while (i < mid && j < to)
+            a[k++] = compare(buffer[j], buffer[i]) < 0 ? buffer[j++] : buffer[i++];
+
+        while (i < mid)
+            a[k++] = buffer[i++];
+
+        while (j < to)
+            a[k++] = buffer[j++];
+    }
+
+    private final class ParallelMergeSort extends RecursiveAction {
+
+        /**
+         * Generated UID
+         */
+        private static final long serialVersionUID = -2580216066426633325L;
+
+        private final int[]       a;
+        private final int[]       buffer;
+        private final int         from;
+        private final int         to;
+
+        ParallelMergeSort(int[] a, int[] buffer, int from, int to) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                mergeSort(a, buffer, from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new ParallelMergeSort(a, buffer, from, mid),
+                new ParallelMergeSort(a, buffer, mid, to)
+            );
+            merge(a, buffer, from, mid, to);
+        }
+    }
+}
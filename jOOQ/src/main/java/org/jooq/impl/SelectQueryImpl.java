@@ -140,9 +140,13 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.jooq.Clause;
 import org.jooq.Condition;
@@ -159,6 +163,7 @@ import org.jooq.Operator;
 import org.jooq.OrderField;
 import org.jooq.Param;
 import org.jooq.Record;
+import org.jooq.Result;
 import org.jooq.Row;
 import org.jooq.SQLDialect;
 import org.jooq.Select;
@@ -1980,6 +1985,111 @@ final class SelectQueryImpl<R extends Record> extends AbstractResultQuery<R> imp
         getSeek().addAll(fields);
     }
 
+    @Override
+    public final Stream<R> fetchStreamByKeyset(int pageSize) {
+        return fetchStreamByKeyset(pageSize, null);
+    }
+
+    @Override
+    public final Stream<R> fetchStreamByKeyset(int pageSize, Executor executor) {
+        if (getOrderBy().isEmpty())
+            throw new IllegalStateException("Keyset pagination requires an ORDER BY clause");
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+
+        final KeysetIterator<R> iterator = new KeysetIterator<R>(this, getOrderBy().fields(), pageSize, executor);
+
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(() -> iterator.close());
+    }
+
+    /**
+     * Create the query of a single page of a keyset pagination.
+     * <p>
+     * The page is a copy of this query with its own <code>SEEK</code> and
+     * <code>LIMIT</code> clauses, such that it can be executed independently
+     * of this query, e.g. in another thread.
+     *
+     * @param seekValues The values to seek after, or <code>null</code> to
+     *            keep the current <code>SEEK</code> clause.
+     */
+    final SelectQueryImpl<R> page(int pageSize, List<Field<?>> seekValues) {
+        SelectQueryImpl<R> result = copy();
+
+        if (seekValues != null) {
+            result.getSeek().clear();
+            result.getSeek().addAll(seekValues);
+        }
+
+        Limit page = new Limit();
+        page.setNumberOfRows(pageSize);
+        result.getLimit().setFrom(page);
+
+        return result;
+    }
+
+    /**
+     * Create a copy of this query, whose clauses can be modified without
+     * affecting this query.
+     * <p>
+     * The copy shares this query's {@link org.jooq.QueryPart}s, but not its
+     * mutable clause lists.
+     */
+    private final SelectQueryImpl<R> copy() {
+        SelectQueryImpl<R> result = new SelectQueryImpl<R>(configuration(), with, distinct);
+        copyPropertiesTo(result);
+
+        result.select.addAll(select);
+        result.into = into;
+        result.hint = hint;
+        result.option = option;
+        result.distinctOn.addAll(distinctOn);
+        result.forUpdate = forUpdate;
+        result.forUpdateOf.addAll(forUpdateOf);
+        result.forUpdateOfTables.addAll(forUpdateOfTables);
+        result.forUpdateMode = forUpdateMode;
+        result.forUpdateWait = forUpdateWait;
+        result.forShare = forShare;
+        result.from.addAll(from);
+        copy(condition, result.condition);
+        copy(connectBy, result.connectBy);
+        result.connectByNoCycle = connectByNoCycle;
+        copy(connectByStartWith, result.connectByStartWith);
+        result.grouping = grouping;
+        result.groupBy.addAll(groupBy);
+        copy(having, result.having);
+        result.window.addAll(window);
+        result.orderBy.addAll(orderBy);
+        result.orderBySiblings = orderBySiblings;
+        result.seek.addAll(seek);
+        result.seekBefore = seekBefore;
+        result.limit.setFrom(limit);
+        result.unionOp.addAll(unionOp);
+
+        for (QueryPartList<Select<?>> u : union)
+            result.union.add(new QueryPartList<Select<?>>(u));
+
+        result.unionOrderBy.addAll(unionOrderBy);
+        result.unionOrderBySiblings = unionOrderBySiblings;
+        result.unionSeek.addAll(unionSeek);
+        result.unionSeekBefore = unionSeekBefore;
+        result.unionLimit.setFrom(unionLimit);
+
+        return result;
+    }
+
+    private static final void copy(ConditionProviderImpl from, ConditionProviderImpl to) {
+        Condition c = from.getWhere();
+
+        if (!(c instanceof TrueCondition))
+            to.addConditions(c);
+    }
+
     @Override
     public final void addSeekBefore(Field<?>... fields) {
         addSeekBefore(Arrays.asList(fields));
@@ -2036,6 +2146,31 @@ final class SelectQueryImpl<R extends Record> extends AbstractResultQuery<R> imp
         return forUpdate;
     }
 
+    /**
+     * Whether this query consists only of a <code>SELECT</code> list,
+     * <code>FROM</code>, <code>WHERE</code>, <code>GROUP BY</code>,
+     * <code>HAVING</code>, <code>ORDER BY</code>, and <code>LIMIT</code>
+     * clauses, i.e. it has no common table expressions, <code>DISTINCT</code>,
+     * hierarchical, window, <code>SEEK</code>, locking, or set operation
+     * clauses.
+     */
+    final boolean isSimple() {
+        return with == null
+            && into == null
+            && hint == null
+            && option == null
+            && !distinct
+            && distinctOn.isEmpty()
+            && !forUpdate
+            && !forShare
+            && connectBy.getWhere() instanceof TrueCondition
+            && !grouping
+            && window.isEmpty()
+            && !orderBySiblings
+            && seek.isEmpty()
+            && unionOp.isEmpty();
+    }
+
     @Override
     public final void addFrom(Collection<? extends TableLike<?>> f) {
         for (TableLike<?> provider : f) {
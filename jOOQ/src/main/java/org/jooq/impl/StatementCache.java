@@ -0,0 +1,221 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jooq.conf.Settings;
+import org.jooq.tools.jdbc.JDBCUtils;
+
+/**
+ * A least recently used cache of {@link PreparedStatement}s, which are
+ * prepared on a single JDBC connection.
+ * <p>
+ * Statements are checked out of the cache while they're in use, such that
+ * they're never shared among concurrent executions. Once they are closed by
+ * jOOQ, they're checked back in, evicting the least recently used statement
+ * if the cache exceeds {@link Settings#getStatementCacheSize()}.
+ *
+ * @author Lukas Eder
+ */
+final class StatementCache {
+
+    private final ReentrantLock                         lock;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache() {
+        this.lock = new ReentrantLock();
+        this.statements = new LinkedHashMap<Key, PreparedStatement>(16, 0.75f, true);
+    }
+
+    /**
+     * Remove a cached statement from the cache, or return <code>null</code>
+     * if no open statement is cached for the key.
+     */
+    final PreparedStatement checkout(Key key) {
+        PreparedStatement result;
+
+        lock.lock();
+        try {
+            result = statements.remove(key);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        try {
+            if (result != null && result.isClosed())
+                result = null;
+        }
+        catch (SQLException e) {
+            JDBCUtils.safeClose(result);
+            result = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Put a statement back into the cache, or close it if it cannot be
+     * cached.
+     */
+    final void checkin(Key key, PreparedStatement statement, int size) {
+        List<PreparedStatement> close = new ArrayList<PreparedStatement>();
+
+        // Reset all per-execution state, which may be left behind by failed
+        // executions, e.g. batch entries when binding or executeBatch() fails
+        try {
+            JDBCUtils.safeClose(statement.getResultSet());
+
+            try {
+                statement.clearBatch();
+            }
+
+            // Drivers that don't support batches don't have any batch state
+            catch (SQLFeatureNotSupportedException ignore) {}
+
+            statement.clearParameters();
+            statement.clearWarnings();
+        }
+
+        // Statements whose state cannot be reset are not cached
+        catch (SQLException e) {
+            size = 0;
+        }
+
+        lock.lock();
+        try {
+            if (size <= 0) {
+                close.add(statement);
+            }
+            else {
+                PreparedStatement previous = statements.put(key, statement);
+
+                // Another execution has checked in a statement of the same key
+                if (previous != null && previous != statement)
+                    close.add(previous);
+
+                Iterator<PreparedStatement> it = statements.values().iterator();
+                for (int i = statements.size(); i > size && it.hasNext(); i--) {
+                    close.add(it.next());
+                    it.remove();
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        // JDBC calls are made outside of the lock
+        for (PreparedStatement s : close)
+            JDBCUtils.safeClose(s);
+    }
+
+    /**
+     * Close all cached statements.
+     */
+    final void clear() {
+        List<PreparedStatement> close;
+
+        lock.lock();
+        try {
+            close = new ArrayList<PreparedStatement>(statements.values());
+            statements.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+
+        for (PreparedStatement s : close)
+            JDBCUtils.safeClose(s);
+    }
+
+    /**
+     * A cache key consisting of the SQL string and the statement options that
+     * were passed to {@link java.sql.Connection#prepareStatement(String)} and
+     * its overloads.
+     */
+    static final class Key {
+        final String   sql;
+        final int[]    options;
+        final int[]    columnIndexes;
+        final String[] columnNames;
+        final int      hash;
+
+        Key(String sql, int[] options, int[] columnIndexes, String[] columnNames) {
+            this.sql = sql;
+            this.options = options;
+            this.columnIndexes = columnIndexes;
+            this.columnNames = columnNames;
+            this.hash = 31 * (31 * (31 * sql.hashCode()
+                + Arrays.hashCode(options))
+                + Arrays.hashCode(columnIndexes))
+                + Arrays.hashCode(columnNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            return hash == other.hash
+                && sql.equals(other.sql)
+                && Arrays.equals(options, other.options)
+                && Arrays.equals(columnIndexes, other.columnIndexes)
+                && Arrays.equals(columnNames, other.columnNames);
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
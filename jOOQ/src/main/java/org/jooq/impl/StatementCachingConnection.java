@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.jooq.impl.StatementCache.Key;
+import org.jooq.tools.jdbc.DefaultConnection;
+
+/**
+ * A proxy for a JDBC {@link Connection} that reuses {@link PreparedStatement}s
+ * from a {@link StatementCache}, instead of preparing them again.
+ *
+ * @author Lukas Eder
+ */
+final class StatementCachingConnection extends DefaultConnection {
+
+    private static final int[] NO_OPTIONS = {};
+
+    private final StatementCache cache;
+    private final int            size;
+
+    StatementCachingConnection(Connection delegate, StatementCache cache, int size) {
+        super(delegate);
+
+        this.cache = cache;
+        this.size = size;
+    }
+
+    // ------------------------------------------------------------------------
+    // XXX Creation of PreparedStatements
+    // ------------------------------------------------------------------------
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql) throws SQLException {
+        Key key = new Key(sql, NO_OPTIONS, null, null);
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql));
+    }
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, new int[] { autoGeneratedKeys }, null, null);
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException {
+        Key key = new Key(sql, new int[] { resultSetType, resultSetConcurrency }, null, null);
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+        int resultSetHoldability) throws SQLException {
+        Key key = new Key(sql, new int[] { resultSetType, resultSetConcurrency, resultSetHoldability }, null, null);
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        Key key = new Key(sql, NO_OPTIONS, columnIndexes.clone(), null);
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql, columnIndexes));
+    }
+
+    @Override
+    public final PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        Key key = new Key(sql, NO_OPTIONS, null, columnNames.clone());
+        PreparedStatement result = cache.checkout(key);
+        return wrap(key, result != null ? result : getDelegate().prepareStatement(sql, columnNames));
+    }
+
+    private final PreparedStatement wrap(Key key, PreparedStatement statement) {
+        return new StatementCachingPreparedStatement(statement, this, cache, key, size);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.jooq.impl.StatementCache.Key;
+import org.jooq.tools.jdbc.DefaultPreparedStatement;
+
+/**
+ * A {@link PreparedStatement} that is checked back into its
+ * {@link StatementCache} when it is closed.
+ * <p>
+ * Statement properties that are set by jOOQ for an individual execution are
+ * restored to their original values before the statement is checked back in,
+ * such that subsequent executions are not affected.
+ *
+ * @author Lukas Eder
+ */
+final class StatementCachingPreparedStatement extends DefaultPreparedStatement {
+
+    private final Connection     creator;
+    private final StatementCache cache;
+    private final Key            key;
+    private final int            size;
+    private boolean              closed;
+    private int                  maxRows      = -1;
+    private int                  fetchSize    = -1;
+    private int                  queryTimeout = -1;
+
+    StatementCachingPreparedStatement(PreparedStatement delegate, Connection creator, StatementCache cache, Key key, int size) {
+        super(delegate);
+
+        this.creator = creator;
+        this.cache = cache;
+        this.key = key;
+        this.size = size;
+    }
+
+    @Override
+    public final Connection getConnection() throws SQLException {
+        return creator;
+    }
+
+    // ------------------------------------------------------------------------
+    // XXX Statement properties
+    // ------------------------------------------------------------------------
+
+    @Override
+    public final void setMaxRows(int max) throws SQLException {
+        if (maxRows == -1)
+            maxRows = getDelegate().getMaxRows();
+
+        getDelegate().setMaxRows(max);
+    }
+
+    @Override
+    public final void setFetchSize(int rows) throws SQLException {
+        if (fetchSize == -1)
+            fetchSize = getDelegate().getFetchSize();
+
+        getDelegate().setFetchSize(rows);
+    }
+
+    @Override
+    public final void setQueryTimeout(int seconds) throws SQLException {
+        if (queryTimeout == -1)
+            queryTimeout = getDelegate().getQueryTimeout();
+
+        getDelegate().setQueryTimeout(seconds);
+    }
+
+    // ------------------------------------------------------------------------
+    // XXX Closing the statement
+    // ------------------------------------------------------------------------
+
+    @Override
+    public final boolean isClosed() throws SQLException {
+        return closed || super.isClosed();
+    }
+
+    @Override
+    public final void close() throws SQLException {
+        if (closed)
+            return;
+
+        closed = true;
+        PreparedStatement delegate = getDelegate();
+        int s = size;
+
+        try {
+            if (maxRows != -1)
+                delegate.setMaxRows(maxRows);
+            if (fetchSize != -1)
+                delegate.setFetchSize(fetchSize);
+            if (queryTimeout != -1)
+                delegate.setQueryTimeout(queryTimeout);
+        }
+
+        // Statements whose state cannot be restored are not cached
+        catch (SQLException e) {
+            s = 0;
+        }
+
+        cache.checkin(key, delegate, s);
+    }
+}
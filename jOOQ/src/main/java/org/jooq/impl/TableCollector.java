@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jooq.BindContext;
+import org.jooq.Configuration;
+import org.jooq.Field;
+import org.jooq.QueryPart;
+import org.jooq.QueryPartInternal;
+import org.jooq.Table;
+
+/**
+ * A stub {@link BindContext} that acts as a collector of the {@link Table}
+ * names referenced by a {@link QueryPart}.
+ * <p>
+ * Table names are collected case-insensitively and without their schema,
+ * which may produce false positives, but no false negatives, when comparing
+ * table sets. Plain SQL query parts may reference arbitrary tables, in case
+ * of which {@link #unknown} is set.
+ *
+ * @author Lukas Eder
+ */
+final class TableCollector extends AbstractBindContext {
+
+    final Set<String> tables = new HashSet<String>();
+    boolean           unknown;
+
+    TableCollector(Configuration configuration) {
+        super(configuration, null);
+    }
+
+    /**
+     * The normalised name of a table.
+     */
+    static final String name(Table<?> table) {
+        return table.getName().toLowerCase();
+    }
+
+    @Override
+    protected final void bindInternal(QueryPartInternal internal) {
+
+        // Aliased tables are collected when visiting the aliased table
+        if (internal instanceof TableImpl && ((TableImpl<?>) internal).alias == null)
+            tables.add(name((TableImpl<?>) internal));
+        else if (internal instanceof SQLImpl
+              || internal instanceof SQLTable
+              || internal instanceof SQLField
+              || internal instanceof SQLCondition
+              || internal instanceof SQLQuery
+              || internal instanceof SQLResultQuery)
+            unknown = true;
+
+        super.bindInternal(internal);
+    }
+
+    @Override
+    protected final BindContext bindValue0(Object value, Field<?> field) throws SQLException {
+        return this;
+    }
+}
@@ -163,6 +163,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -294,6 +295,12 @@ final class Tools {
          */
         DATA_LOCK_ROWS_FOR_UPDATE,
 
+        /**
+         * The {@link FetchMetrics} of a lazily fetched result, whose fetch
+         * size is adapted to {@link Settings#getFetchBufferSize()}.
+         */
+        DATA_FETCH_METRICS,
+
         /**
          * [#1520] Count the number of bind values, and potentially enforce a static
          * statement.
@@ -758,6 +765,34 @@ final class Tools {
         return configuration(configuration).settings();
     }
 
+    /**
+     * The maximum number of bind values that can safely be sent to the
+     * database in a single statement, for a configuration's dialect.
+     * <p>
+     * Some drivers and databases fail when a hard limit is exceeded, e.g.
+     * SQLite (999), SQL Server (2100), or PostgreSQL and MySQL (65535). Others
+     * are limited by the size of the statement or of the code generated for it,
+     * e.g. Derby. Dialects without a known limit get a conservative default,
+     * which is below the lowest limit of commonly used databases.
+     */
+    static final int maxBindValues(Configuration configuration) {
+        switch (configuration(configuration).family()) {
+            case SQLITE:
+                return 999;
+
+            case FIREBIRD:
+                return 1500;
+
+            case MARIADB:
+            case MYSQL:
+            case POSTGRES:
+                return 32767;
+
+            default:
+                return 2000;
+        }
+    }
+
     static final boolean attachRecords(Configuration configuration) {
         if (configuration != null) {
             Settings settings = configuration.settings();
@@ -2640,16 +2675,15 @@ final class Tools {
             Object key = key(keys);
             Object result = cache.get(key);
 
+            // Cached operations are idempotent, so they're run without holding
+            // a lock. Concurrent callers may compute the same value, but the
+            // first one to be published wins.
             if (result == null) {
+                result = operation.call();
+                Object previous = cache.putIfAbsent(key, result == null ? NULL : result);
 
-                synchronized (cache) {
-                    result = cache.get(key);
-
-                    if (result == null) {
-                        result = operation.call();
-                        cache.put(key, result == null ? NULL : result);
-                    }
-                }
+                if (previous != null)
+                    result = previous;
             }
 
             return (V) (result == NULL ? null : result);
@@ -3959,11 +3993,16 @@ final class Tools {
         //         no ManagedBlocker is needed as we're guaranteed by API contract to always
         //         remain on the same thread.
 
+        // Only ForkJoinPool worker threads profit from a ManagedBlocker. Other
+        // threads, including virtual threads, can simply block on the supplier.
         return threadLocal ? supplier : new Supplier<T>() {
             volatile T asyncResult;
 
             @Override
             public T get() {
+                if (!(Thread.currentThread() instanceof ForkJoinWorkerThread))
+                    return supplier.get();
+
                 try {
                     ForkJoinPool.managedBlock(new ManagedBlocker() {
                         @Override
@@ -0,0 +1,346 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import static org.jooq.conf.SettingsTools.executeStaticStatements;
+
+import java.math.BigInteger;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jooq.BatchBindStep;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.InsertQuery;
+import org.jooq.Query;
+import org.jooq.StoreQuery;
+import org.jooq.TableField;
+import org.jooq.TransactionalCallable;
+import org.jooq.TransactionalRunnable;
+import org.jooq.UnitOfWork;
+import org.jooq.UpdatableRecord;
+import org.jooq.UpdateQuery;
+import org.jooq.exception.DataChangedException;
+
+/**
+ * @author Lukas Eder
+ */
+final class UnitOfWorkImpl implements UnitOfWork {
+
+    private final Configuration                      configuration;
+    private final List<UpdatableRecord<?>>           records;
+    private final Map<UpdatableRecord<?>, Object>    registered;
+
+    UnitOfWorkImpl(Configuration configuration) {
+        this.configuration = configuration;
+        this.records = new ArrayList<UpdatableRecord<?>>();
+        this.registered = new IdentityHashMap<UpdatableRecord<?>, Object>();
+    }
+
+    // -------------------------------------------------------------------------
+    // Registration
+    // -------------------------------------------------------------------------
+
+    @Override
+    public final <R extends UpdatableRecord<R>> R register(R record) {
+        register0(record);
+        return record;
+    }
+
+    @Override
+    public final UnitOfWork register(UpdatableRecord<?>... r) {
+        for (UpdatableRecord<?> record : r)
+            register0(record);
+
+        return this;
+    }
+
+    @Override
+    public final UnitOfWork register(Collection<? extends UpdatableRecord<?>> r) {
+        for (UpdatableRecord<?> record : r)
+            register0(record);
+
+        return this;
+    }
+
+    private final void register0(UpdatableRecord<?> record) {
+        if (!(record instanceof UpdatableRecordImpl))
+            throw new IllegalArgumentException("Record type not supported: " + record.getClass());
+
+        // Records are compared by identity, not by equality
+        if (registered.put(record, record) == null)
+            records.add(record);
+    }
+
+    @Override
+    public final UnitOfWork unregister(UpdatableRecord<?>... r) {
+        for (UpdatableRecord<?> record : r) {
+            if (registered.remove(record) != null) {
+                for (Iterator<UpdatableRecord<?>> it = records.iterator(); it.hasNext();) {
+                    if (it.next() == record) {
+                        it.remove();
+                        break;
+                    }
+                }
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public final void clear() {
+        records.clear();
+        registered.clear();
+    }
+
+    @Override
+    public final int size() {
+        return records.size();
+    }
+
+    @Override
+    public final int pending() {
+        int result = 0;
+
+        for (UpdatableRecord<?> record : records)
+            if (record.changed())
+                result++;
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Flushing
+    // -------------------------------------------------------------------------
+
+    @Override
+    public final int[] flush() {
+        return flush(configuration);
+    }
+
+    @Override
+    public final void transaction(final TransactionalRunnable transactional) {
+        DSL.using(configuration).transaction(new TransactionalRunnable() {
+            @Override
+            public void run(Configuration c) throws Throwable {
+                transactional.run(c);
+                flush(c);
+            }
+        });
+    }
+
+    @Override
+    public final <T> T transactionResult(final TransactionalCallable<T> transactional) {
+        return DSL.using(configuration).transactionResult(new TransactionalCallable<T>() {
+            @Override
+            public T run(Configuration c) throws Throwable {
+                T result = transactional.run(c);
+                flush(c);
+                return result;
+            }
+        });
+    }
+
+    private final int[] flush(Configuration c) {
+        DSLContext create = DSL.using(c);
+        List<UpdatableRecordImpl<?>> pending = pendingRecords();
+        int size = pending.size();
+        boolean[] updates = new boolean[size];
+        Query[] queries = new Query[size];
+        BigInteger[] versions = new BigInteger[size];
+        Timestamp[] timestamps = new Timestamp[size];
+        Configuration[] previous = new Configuration[size];
+        Map<String, List<Integer>> groups = new LinkedHashMap<String, List<Integer>>();
+        int[] result = new int[size];
+        int attached = 0;
+
+        // The record's Settings (e.g. optimistic locking) are evaluated with
+        // the record attached to the configuration of the flush
+        try {
+            for (int i = 0; i < size; i++) {
+                UpdatableRecordImpl<?> record = pending.get(i);
+                previous[i] = record.configuration();
+                record.attach(c);
+                attached++;
+
+                boolean update = record.storeAsUpdate();
+                StoreQuery<?> query = update
+                    ? updateQuery(create, record)
+                    : insertQuery(create, record);
+
+                versions[i] = record.addRecordVersion(query);
+                timestamps[i] = record.addRecordTimestamp(query);
+
+                if (update && record.isExecuteWithOptimisticLocking()) {
+                    if (record.isTimestampOrVersionAvailable())
+                        record.addConditionForVersionAndTimestamp((UpdateQuery<?>) query);
+                    else if (record.isExecuteWithOptimisticLockingIncludeUnversioned())
+                        checkIfChanged(record);
+                }
+
+                updates[i] = update;
+                queries[i] = query;
+
+                // Records of the same table with the same changed columns may
+                // still produce different SQL, e.g. when a NULL version or key
+                // value renders an IS NULL predicate. Just like BatchCRUD,
+                // group records by identical SQL
+                String sql = create.render(query);
+                List<Integer> group = groups.get(sql);
+
+                if (group == null) {
+                    group = new ArrayList<Integer>();
+                    groups.put(sql, group);
+                }
+
+                group.add(i);
+            }
+
+            for (List<Integer> group : groups.values())
+                if (flush(create, updates[group.get(0)], pending, group, queries, versions, timestamps, result))
+                    throw new DataChangedException("Database record has been changed or doesn't exist any longer");
+
+            return result;
+        }
+        finally {
+            for (int i = 0; i < attached; i++)
+                pending.get(i).attach(previous[i]);
+        }
+    }
+
+    /**
+     * Execute a single batch statement for a group of records with identical
+     * SQL.
+     *
+     * @return Whether an optimistic locking failure was detected.
+     */
+    private final boolean flush(
+        DSLContext create,
+        boolean update,
+        List<UpdatableRecordImpl<?>> pending,
+        List<Integer> group,
+        Query[] allQueries,
+        BigInteger[] versions,
+        Timestamp[] timestamps,
+        int[] result
+    ) {
+        Configuration c = create.configuration();
+        int size = group.size();
+        Query[] queries = new Query[size];
+
+        for (int i = 0; i < size; i++)
+            queries[i] = allQueries[group.get(i)];
+
+        int[] counts;
+
+        // Generated identity values are fetched using multi-row INSERT
+        // statements where this is supported
+        if (!update && pending.get(group.get(0)).getTable().getIdentity() != null && BatchCRUD.returnIdentityOnBatchInsert(c)) {
+            List<UpdatableRecordImpl<?>> records = new ArrayList<UpdatableRecordImpl<?>>(size);
+
+            for (int i = 0; i < size; i++)
+                records.add(pending.get(group.get(i)));
+
+            counts = BatchCRUD.executeInsertReturning(create, Arrays.asList(queries), records);
+        }
+        else if (executeStaticStatements(c.settings())) {
+            counts = create.batch(queries).execute();
+        }
+        else {
+            BatchBindStep batch = create.batch(queries[0]);
+
+            for (Query query : queries)
+                batch.bind(query.getBindValues().toArray());
+
+            counts = batch.execute();
+        }
+
+        boolean dataChanged = false;
+        for (int i = 0; i < size; i++) {
+            int index = group.get(i);
+            UpdatableRecordImpl<?> record = pending.get(index);
+            int count = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+            result[index] = count;
+
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                record.changed(false);
+                record.setRecordVersionAndTimestamp(versions[index], timestamps[index]);
+                record.fetched = true;
+            }
+            else if (update && record.isExecuteWithOptimisticLocking()) {
+                dataChanged = true;
+            }
+        }
+
+        return dataChanged;
+    }
+
+    private final List<UpdatableRecordImpl<?>> pendingRecords() {
+        List<UpdatableRecordImpl<?>> result = new ArrayList<UpdatableRecordImpl<?>>();
+
+        for (UpdatableRecord<?> record : records)
+            if (record.changed())
+                result.add((UpdatableRecordImpl<?>) record);
+
+        return result;
+    }
+
+    private static final <R extends UpdatableRecord<R>> UpdateQuery<R> updateQuery(DSLContext create, UpdatableRecordImpl<R> record) {
+        UpdateQuery<R> result = create.updateQuery(record.getTable());
+        record.addChangedValues(record.fields.fields.fields, result);
+        Tools.addConditions(result, record, record.getPrimaryKey().getFieldsArray());
+        return result;
+    }
+
+    private static final <R extends UpdatableRecord<R>> InsertQuery<R> insertQuery(DSLContext create, UpdatableRecordImpl<R> record) {
+        InsertQuery<R> result = create.insertQuery(record.getTable());
+        record.addChangedValues(record.fields.fields.fields, result);
+        return result;
+    }
+
+    private static final <R extends UpdatableRecord<R>> void checkIfChanged(UpdatableRecordImpl<R> record) {
+        TableField<R, ?>[] keys = record.getPrimaryKey().getFieldsArray();
+        record.checkIfChanged(keys);
+    }
+}
@@ -39,6 +39,7 @@ import static java.util.Arrays.asList;
 // ...
 import static org.jooq.SQLDialect.SQLITE;
 import static org.jooq.conf.SettingsTools.updatablePrimaryKeys;
+import static org.jooq.impl.DSL.row;
 import static org.jooq.impl.RecordDelegate.delegate;
 import static org.jooq.impl.RecordDelegate.RecordLifecycleType.DELETE;
 import static org.jooq.impl.RecordDelegate.RecordLifecycleType.REFRESH;
@@ -49,15 +50,21 @@ import static org.jooq.impl.Tools.settings;
 
 import java.math.BigInteger;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.jooq.Condition;
 import org.jooq.Configuration;
+import org.jooq.DSLContext;
 import org.jooq.DeleteQuery;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.RowN;
 import org.jooq.SelectQuery;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -157,6 +164,19 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
 
     private final int store0(Field<?>[] storeFields) {
         TableField<R, ?>[] keys = getPrimaryKey().getFieldsArray();
+
+        if (storeAsUpdate())
+            return storeUpdate(storeFields, keys);
+        else
+            return storeInsert(storeFields);
+    }
+
+    /**
+     * Whether {@link #store()} results in an <code>UPDATE</code> (as opposed to
+     * an <code>INSERT</code>) statement.
+     */
+    final boolean storeAsUpdate() {
+        TableField<R, ?>[] keys = getPrimaryKey().getFieldsArray();
         boolean executeUpdate = false;
 
         // [#2764] If primary key values are allowed to be changed,
@@ -181,16 +201,7 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
             }
         }
 
-        int result = 0;
-
-        if (executeUpdate) {
-            result = storeUpdate(storeFields, keys);
-        }
-        else {
-            result = storeInsert(storeFields);
-        }
-
-        return result;
+        return executeUpdate;
     }
 
     private final int storeUpdate(final Field<?>[] storeFields, final TableField<R, ?>[] keys) {
@@ -345,6 +356,96 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
         refresh(refreshFields.toArray(EMPTY_FIELD));
     }
 
+    /**
+     * Refresh a list of records of the same table in as few queries as
+     * possible.
+     */
+    @SuppressWarnings("unchecked")
+    static final void refreshAll(List<UpdatableRecordImpl<?>> records, final Field<?>[] refreshFields) {
+        UpdatableRecordImpl<?> first = records.get(0);
+        Table<?> table = first.getTable();
+        TableField<?, ?>[] keys = first.getPrimaryKey().getFieldsArray();
+        DSLContext create = first.create();
+
+        List<Field<?>> select = new ArrayList<Field<?>>(asList(refreshFields));
+        for (TableField<?, ?> key : keys)
+            if (!select.contains(key))
+                select.add(key);
+
+        // Several records with the same primary key may be contained in the list
+        Map<List<Object>, List<UpdatableRecordImpl<?>>> pending = new LinkedHashMap<List<Object>, List<UpdatableRecordImpl<?>>>();
+        for (UpdatableRecordImpl<?> record : records) {
+            if (!table.equals(record.getTable()))
+                throw new IllegalStateException("Only records of the same table can be refreshed together: " + table + ", " + record.getTable());
+
+            boolean original = updatablePrimaryKeys(settings(record));
+            Object[] values = new Object[keys.length];
+
+            for (int i = 0; i < keys.length; i++)
+                values[i] = original ? record.original(keys[i]) : record.get(keys[i]);
+
+            List<Object> key = asList(values);
+            List<UpdatableRecordImpl<?>> list = pending.get(key);
+
+            if (list == null) {
+                list = new ArrayList<UpdatableRecordImpl<?>>();
+                pending.put(key, list);
+            }
+
+            list.add(record);
+        }
+
+        List<List<Object>> all = new ArrayList<List<Object>>(pending.keySet());
+        int chunkSize = Math.max(1, Tools.maxBindValues(create.configuration()) / keys.length);
+
+        for (int i = 0; i < all.size(); i += chunkSize) {
+            List<List<Object>> chunk = all.subList(i, Math.min(i + chunkSize, all.size()));
+            Condition condition;
+
+            if (keys.length == 1) {
+                List<Object> values = new ArrayList<Object>(chunk.size());
+
+                for (List<Object> key : chunk)
+                    values.add(key.get(0));
+
+                condition = ((Field<Object>) keys[0]).in(values);
+            }
+            else {
+                List<RowN> rows = new ArrayList<RowN>(chunk.size());
+
+                for (List<Object> key : chunk)
+                    rows.add(row(key.toArray()));
+
+                condition = row(keys).in(rows);
+            }
+
+            for (Record r : create.select(select).from(table).where(condition).fetch()) {
+                final AbstractRecord source = (AbstractRecord) r;
+                Object[] values = new Object[keys.length];
+
+                for (int j = 0; j < keys.length; j++)
+                    values[j] = source.get(keys[j]);
+
+                List<UpdatableRecordImpl<?>> targets = pending.remove(asList(values));
+                if (targets != null) {
+                    for (final UpdatableRecordImpl<?> target : targets) {
+                        delegate(target.configuration(), (Record) target, REFRESH)
+                            .operate(new RecordOperation<Record, RuntimeException>() {
+                                @Override
+                                public Record operate(Record record) throws RuntimeException {
+                                    target.setValues(refreshFields, source);
+                                    return record;
+                                }
+                            });
+                    }
+                }
+            }
+        }
+
+        if (!pending.isEmpty())
+            throw new NoDataFoundException(pending.size() + " record(s) expected for refresh do not exist in database.");
+    }
+
     @Override
     public final R copy() {
 
@@ -377,7 +478,7 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
         });
     }
 
-    private final boolean isExecuteWithOptimisticLocking() {
+    final boolean isExecuteWithOptimisticLocking() {
         Configuration configuration = configuration();
 
         // This can be null when the current record is detached
@@ -386,7 +487,7 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
             : false;
     }
 
-    private final boolean isExecuteWithOptimisticLockingIncludeUnversioned() {
+    final boolean isExecuteWithOptimisticLockingIncludeUnversioned() {
         Configuration configuration = configuration();
 
         // This can be null when the current record is detached
@@ -396,7 +497,7 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
     }
 
     @SuppressWarnings("deprecation")
-    private final void addConditionForVersionAndTimestamp(org.jooq.ConditionProvider query) {
+    final void addConditionForVersionAndTimestamp(org.jooq.ConditionProvider query) {
         TableField<R, ?> v = getTable().getRecordVersion();
         TableField<R, ?> t = getTable().getRecordTimestamp();
 
@@ -408,7 +509,7 @@ public class UpdatableRecordImpl<R extends UpdatableRecord<R>> extends TableReco
      * Perform an additional SELECT .. FOR UPDATE to check if the underlying
      * database record has been changed compared to this record.
      */
-    private final void checkIfChanged(TableField<R, ?>[] keys) {
+    final void checkIfChanged(TableField<R, ?>[] keys) {
         SelectQuery<R> select = create().selectQuery(getTable());
         Tools.addConditions(select, this, keys);
 
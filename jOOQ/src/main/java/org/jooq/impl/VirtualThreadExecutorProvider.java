@@ -0,0 +1,94 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.impl;
+
+import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.jooq.ExecutorProvider;
+import org.jooq.tools.JooqLogger;
+
+/**
+ * An {@link ExecutorProvider} that runs each asynchronous task in its own
+ * virtual thread.
+ * <p>
+ * Asynchronous JDBC calls spend most of their time blocking on I/O. Virtual
+ * threads make such blocking cheap, so thousands of concurrent asynchronous
+ * queries don't need to occupy as many platform threads, nor compete for the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, which is used by
+ * the {@link DefaultExecutorProvider}.
+ * <p>
+ * Virtual threads are available from Java 21 onwards. On older JVMs, this
+ * provider falls back to the behaviour of the
+ * {@link DefaultExecutorProvider}. Use {@link #isSupported()} to check if
+ * virtual threads are available.
+ *
+ * @author Lukas Eder
+ */
+public class VirtualThreadExecutorProvider implements ExecutorProvider, Serializable {
+
+    /**
+     * Generated UID
+     */
+    private static final long       serialVersionUID = 2871535398632479101L;
+    private static final JooqLogger log              = JooqLogger.getLogger(VirtualThreadExecutorProvider.class);
+    private static final Executor   EXECUTOR         = executor();
+
+    private static final Executor executor() {
+        try {
+
+            // The virtual thread per task executor does not keep any threads
+            // alive between tasks, so it never needs to be shut down
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (Exception e) {
+            log.debug("Virtual threads", "Virtual threads are not supported by this JVM. Falling back to DefaultExecutor");
+            return null;
+        }
+    }
+
+    /**
+     * Whether the JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return EXECUTOR != null;
+    }
+
+    @Override
+    public final Executor provide() {
+        return EXECUTOR != null ? EXECUTOR : new DefaultExecutor();
+    }
+}
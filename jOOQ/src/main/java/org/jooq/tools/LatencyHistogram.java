@@ -0,0 +1,267 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.tools;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram.
+ * <p>
+ * Values are recorded in nanoseconds into logarithmically sized buckets that
+ * are linearly subdivided, similar to what
+ * <a href="http://hdrhistogram.org">HdrHistogram</a> does. Every bucket covers
+ * a value range whose width is less than <code>1 / 16</code> of its lower
+ * bound, which limits the relative error of reported percentiles to roughly
+ * 6%. Values beyond approximately 36 minutes are recorded as that maximum.
+ * <p>
+ * Recording is wait-free and allocation-free and can be done concurrently from
+ * any number of threads. {@link #snapshot()} produces an immutable copy of the
+ * current state, which may be slightly inconsistent with respect to
+ * concurrently recorded values.
+ *
+ * @author Lukas Eder
+ */
+public final class LatencyHistogram implements Serializable {
+
+    /**
+     * Generated UID
+     */
+    private static final long serialVersionUID = 5315843617093316524L;
+
+    /**
+     * The number of bits used for linear sub-buckets.
+     */
+    private static final int  SUB_BUCKET_BITS  = 5;
+    private static final int  SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int  SUB_BUCKET_HALF  = SUB_BUCKET_COUNT >> 1;
+    private static final long MAX_VALUE        = (1L << 41) - 1;
+    private static final int  BUCKET_COUNT     = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong      count;
+    private final AtomicLong      sum;
+    private final AtomicLong      min;
+    private final AtomicLong      max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.min = new AtomicLong(Long.MAX_VALUE);
+        this.max = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Record a latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        else if (nanos > MAX_VALUE)
+            nanos = MAX_VALUE;
+
+        counts.incrementAndGet(index(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+
+        long m;
+        while (nanos < (m = min.get()) && !min.compareAndSet(m, nanos));
+        while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos));
+    }
+
+    /**
+     * Reset this histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            counts.set(i, 0L);
+
+        count.set(0L);
+        sum.set(0L);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Take an immutable snapshot of this histogram.
+     */
+    public Snapshot snapshot() {
+        long[] c = new long[BUCKET_COUNT];
+        long total = 0L;
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+            total += (c[i] = counts.get(i));
+
+        long mn = min.get();
+        long mx = max.get();
+
+        return new Snapshot(c, total, sum.get(), total == 0 ? 0L : mn, total == 0 ? 0L : mx);
+    }
+
+    static final int index(long value) {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >>> shift) - SUB_BUCKET_HALF;
+    }
+
+    static final long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+
+        int k = index - SUB_BUCKET_COUNT;
+        int shift = k / SUB_BUCKET_HALF + 1;
+        long sub = k % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * An immutable snapshot of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot implements Serializable {
+
+        /**
+         * Generated UID
+         */
+        private static final long serialVersionUID = -3370297545826768458L;
+
+        private final long[]      counts;
+        private final long        count;
+        private final long        sum;
+        private final long        min;
+        private final long        max;
+
+        Snapshot(long[] counts, long count, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * The number of recorded values.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * The sum of all recorded values in nanoseconds.
+         */
+        public long sum() {
+            return sum;
+        }
+
+        /**
+         * The smallest recorded value in nanoseconds, or <code>0</code> if no
+         * values were recorded.
+         */
+        public long min() {
+            return min;
+        }
+
+        /**
+         * The largest recorded value in nanoseconds, or <code>0</code> if no
+         * values were recorded.
+         */
+        public long max() {
+            return max;
+        }
+
+        /**
+         * The mean of all recorded values in nanoseconds.
+         */
+        public double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * The value in nanoseconds below which the given percentage of
+         * recorded values fall.
+         *
+         * @param percentile A percentile between <code>0.0</code> and
+         *            <code>100.0</code>
+         */
+        public long percentile(double percentile) {
+            if (count == 0)
+                return 0L;
+
+            long rank = Math.max(1L, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * count));
+            long seen = 0L;
+
+            for (int i = 0; i < counts.length; i++)
+                if ((seen += counts[i]) >= rank)
+                    return Math.max(min, Math.min(max, highestValue(i)));
+
+            return max;
+        }
+
+        /**
+         * Merge this snapshot with another one.
+         */
+        public Snapshot merge(Snapshot other) {
+            if (other.count == 0)
+                return this;
+            else if (count == 0)
+                return other;
+
+            long[] c = counts.clone();
+            for (int i = 0; i < c.length; i++)
+                c[i] += other.counts[i];
+
+            return new Snapshot(c, count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count
+                + ", min=" + StopWatch.format(min)
+                + ", mean=" + StopWatch.format((long) mean())
+                + ", p50=" + StopWatch.format(percentile(50.0))
+                + ", p90=" + StopWatch.format(percentile(90.0))
+                + ", p99=" + StopWatch.format(percentile(99.0))
+                + ", max=" + StopWatch.format(max);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Other licenses:
+ * -----------------------------------------------------------------------------
+ * Commercial licenses for this work are available. These replace the above
+ * ASL 2.0 and offer limited warranties, support, maintenance, and commercial
+ * database integrations.
+ *
+ * For more information, please visit: http://www.jooq.org/licenses
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package org.jooq.tools;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * An {@link ExecuteListener} that records latency distributions of query
+ * execution phases.
+ * <p>
+ * For every execution, the time spent in each {@link Phase} is recorded in a
+ * {@link LatencyHistogram}, keyed by a fingerprint of the executed SQL. The
+ * fingerprint is obtained from the SQL string by replacing inline literals by
+ * <code>?</code>, collapsing lists of bind values, removing comments, and
+ * normalising whitespace and case, such that executions of the same query
+ * shape share their statistics.
+ * <p>
+ * Unlike the {@link StopWatchListener}, a single instance of this listener is
+ * meant to be shared by all executions, e.g. through a
+ * {@link org.jooq.impl.DefaultExecuteListenerProvider}. Recording is lock-free.
+ * The recorded statistics can be exported at any time using
+ * {@link #snapshot()}.
+ *
+ * @author Lukas Eder
+ */
+public class LatencyListener extends DefaultExecuteListener {
+
+    /**
+     * Generated UID
+     */
+    private static final long                     serialVersionUID = -2349125626713446317L;
+
+    /**
+     * The key under which the fingerprint of query shapes that exceed
+     * {@link #LatencyListener(int)} are recorded.
+     */
+    public static final String                    OTHER            = "other";
+
+    private static final String                   DATA_KEY         = "org.jooq.tools.LatencyListener.timestamps";
+    private static final int                      MAX_CACHED       = 10000;
+
+    private final int                             maxFingerprints;
+    private final ConcurrentMap<String, Phases>   phases;
+    private final ConcurrentMap<String, String>   fingerprints;
+
+    /**
+     * The phases of an execution, whose latencies are recorded.
+     */
+    public enum Phase {
+
+        /**
+         * The time between {@link ExecuteListener#renderStart(ExecuteContext)}
+         * and {@link ExecuteListener#renderEnd(ExecuteContext)}.
+         */
+        RENDER,
+
+        /**
+         * The time between {@link ExecuteListener#prepareStart(ExecuteContext)}
+         * and {@link ExecuteListener#prepareEnd(ExecuteContext)}.
+         */
+        PREPARE,
+
+        /**
+         * The time between {@link ExecuteListener#bindStart(ExecuteContext)}
+         * and {@link ExecuteListener#bindEnd(ExecuteContext)}.
+         */
+        BIND,
+
+        /**
+         * The time between {@link ExecuteListener#executeStart(ExecuteContext)}
+         * and {@link ExecuteListener#executeEnd(ExecuteContext)}.
+         */
+        EXECUTE,
+
+        /**
+         * The time between {@link ExecuteListener#fetchStart(ExecuteContext)}
+         * and {@link ExecuteListener#fetchEnd(ExecuteContext)}.
+         */
+        FETCH
+    }
+
+    /**
+     * Create a new listener recording statistics for at most
+     * <code>1000</code> distinct query fingerprints.
+     */
+    public LatencyListener() {
+        this(1000);
+    }
+
+    /**
+     * Create a new listener recording statistics for at most
+     * <code>maxFingerprints</code> distinct query fingerprints.
+     * <p>
+     * Executions of further query shapes are recorded under {@link #OTHER}.
+     */
+    public LatencyListener(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+        this.phases = new ConcurrentHashMap<String, Phases>();
+        this.fingerprints = new ConcurrentHashMap<String, String>();
+    }
+
+    // -------------------------------------------------------------------------
+    // Snapshot API
+    // -------------------------------------------------------------------------
+
+    /**
+     * Take a snapshot of all recorded latencies, keyed by query fingerprint.
+     */
+    public final Map<String, Map<Phase, LatencyHistogram.Snapshot>> snapshot() {
+        Map<String, Map<Phase, LatencyHistogram.Snapshot>> result = new LinkedHashMap<String, Map<Phase, LatencyHistogram.Snapshot>>();
+
+        for (Map.Entry<String, Phases> entry : phases.entrySet())
+            result.put(entry.getKey(), entry.getValue().snapshot());
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Take a snapshot of all recorded latencies of a phase, across all query
+     * fingerprints.
+     */
+    public final LatencyHistogram.Snapshot snapshot(Phase phase) {
+        LatencyHistogram.Snapshot result = new LatencyHistogram().snapshot();
+
+        for (Phases p : phases.values())
+            result = result.merge(p.histograms[phase.ordinal()].snapshot());
+
+        return result;
+    }
+
+    /**
+     * Discard all recorded latencies.
+     */
+    public final void reset() {
+        phases.clear();
+    }
+
+    // -------------------------------------------------------------------------
+    // ExecuteListener API
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        start(ctx, Phase.RENDER);
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        end(ctx, Phase.RENDER);
+    }
+
+    @Override
+    public void prepareStart(ExecuteContext ctx) {
+        start(ctx, Phase.PREPARE);
+    }
+
+    @Override
+    public void prepareEnd(ExecuteContext ctx) {
+        end(ctx, Phase.PREPARE);
+    }
+
+    @Override
+    public void bindStart(ExecuteContext ctx) {
+        start(ctx, Phase.BIND);
+    }
+
+    @Override
+    public void bindEnd(ExecuteContext ctx) {
+        end(ctx, Phase.BIND);
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        start(ctx, Phase.EXECUTE);
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        end(ctx, Phase.EXECUTE);
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        start(ctx, Phase.FETCH);
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        end(ctx, Phase.FETCH);
+    }
+
+    private final void start(ExecuteContext ctx, Phase phase) {
+        long[] timestamps = (long[]) ctx.data(DATA_KEY);
+
+        if (timestamps == null)
+            ctx.data(DATA_KEY, timestamps = new long[Phase.values().length]);
+
+        timestamps[phase.ordinal()] = System.nanoTime();
+    }
+
+    private final void end(ExecuteContext ctx, Phase phase) {
+        long[] timestamps = (long[]) ctx.data(DATA_KEY);
+
+        if (timestamps != null && timestamps[phase.ordinal()] != 0L) {
+            long nanos = System.nanoTime() - timestamps[phase.ordinal()];
+            timestamps[phase.ordinal()] = 0L;
+            phases(fingerprint(ctx)).histograms[phase.ordinal()].record(nanos);
+        }
+    }
+
+    private final Phases phases(String fingerprint) {
+        Phases result = phases.get(fingerprint);
+
+        if (result == null) {
+            if (phases.size() >= maxFingerprints) {
+                fingerprint = OTHER;
+
+                // Avoid allocating histograms for every event once the
+                // fingerprint limit has been reached
+                result = phases.get(OTHER);
+
+                if (result != null)
+                    return result;
+            }
+
+            Phases p = new Phases();
+            result = phases.putIfAbsent(fingerprint, p);
+
+            if (result == null)
+                result = p;
+        }
+
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // Fingerprints
+    // -------------------------------------------------------------------------
+
+    /**
+     * Produce the fingerprint of an execution.
+     * <p>
+     * Subclasses may override this to provide custom fingerprints, e.g. based
+     * on {@link ExecuteContext#query()}.
+     */
+    protected String fingerprint(ExecuteContext ctx) {
+        String sql = ctx.sql();
+
+        if (sql == null) {
+            String[] batchSQL = ctx.batchSQL();
+
+            if (batchSQL.length == 0 || batchSQL[0] == null)
+                return OTHER;
+
+            sql = batchSQL[0];
+        }
+
+        String result = fingerprints.get(sql);
+
+        if (result == null) {
+            result = fingerprint(sql);
+
+            if (fingerprints.size() < MAX_CACHED)
+                fingerprints.put(sql, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Normalise a SQL string to a fingerprint that is shared by all SQL
+     * strings of the same shape.
+     */
+    public static String fingerprint(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        int length = sql.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+
+            // Comments
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i + 1 < length && sql.charAt(i + 1) != '\n')
+                    i++;
+
+                space(sb);
+            }
+            else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                space(sb);
+            }
+
+            // String literals
+            else if (c == '\'') {
+                while (++i < length)
+                    if (sql.charAt(i) == '\'')
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'')
+                            i++;
+                        else
+                            break;
+
+                bind(sb);
+            }
+
+            // Quoted identifiers
+            else if (c == '"' || c == '`' || c == '[') {
+                char close = c == '[' ? ']' : c;
+                int end = sql.indexOf(close, i + 1);
+                end = end < 0 ? length - 1 : end;
+
+                sb.append(sql, i, end + 1);
+                i = end;
+            }
+
+            // Numeric literals, unless part of an identifier
+            else if (Character.isDigit(c) && !identifierPart(sb)) {
+                while (i + 1 < length && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.'))
+                    i++;
+
+                bind(sb);
+            }
+            else if (c == '?') {
+                bind(sb);
+            }
+            else if (Character.isWhitespace(c)) {
+                space(sb);
+            }
+            else {
+                if (sb.length() > 0 && sb.charAt(sb.length() - 1) == ' ' && (c == ',' || c == ')'))
+                    sb.setLength(sb.length() - 1);
+
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+
+        int l = sb.length();
+        if (l > 0 && sb.charAt(l - 1) == ' ')
+            sb.setLength(l - 1);
+
+        return sb.toString();
+    }
+
+    private static final boolean identifierPart(StringBuilder sb) {
+        if (sb.length() == 0)
+            return false;
+
+        char c = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static final void space(StringBuilder sb) {
+        int l = sb.length();
+
+        if (l > 0 && sb.charAt(l - 1) != ' ' && sb.charAt(l - 1) != '(')
+            sb.append(' ');
+    }
+
+    /**
+     * Append a bind value placeholder, collapsing lists of placeholders to a
+     * single one.
+     */
+    private static final void bind(StringBuilder sb) {
+        int l = sb.length();
+
+        if (l >= 2 && sb.charAt(l - 1) == ',' && sb.charAt(l - 2) == '?')
+            sb.setLength(l - 1);
+        else if (l >= 3 && sb.charAt(l - 1) == ' ' && sb.charAt(l - 2) == ',' && sb.charAt(l - 3) == '?')
+            sb.setLength(l - 2);
+        else
+            sb.append('?');
+    }
+
+    private static final class Phases implements Serializable {
+
+        /**
+         * Generated UID
+         */
+        private static final long serialVersionUID = -8461395023655284127L;
+
+        final LatencyHistogram[]  histograms;
+
+        Phases() {
+            histograms = new LatencyHistogram[Phase.values().length];
+
+            for (int i = 0; i < histograms.length; i++)
+                histograms[i] = new LatencyHistogram();
+        }
+
+        Map<Phase, LatencyHistogram.Snapshot> snapshot() {
+            Map<Phase, LatencyHistogram.Snapshot> result = new EnumMap<Phase, LatencyHistogram.Snapshot>(Phase.class);
+
+            for (Phase phase : Phase.values())
+                result.put(phase, histograms[phase.ordinal()].snapshot());
+
+            return Collections.unmodifiableMap(result);
+        }
+    }
+}
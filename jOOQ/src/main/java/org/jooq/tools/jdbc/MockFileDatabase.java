@@ -46,14 +46,21 @@ import java.io.StringReader;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.jooq.DSLContext;
+import org.jooq.Query;
 import org.jooq.SQLDialect;
 import org.jooq.exception.MockFileDatabaseException;
 import org.jooq.impl.DSL;
@@ -111,6 +118,18 @@ import org.jooq.tools.JooqLogger;
  * CSV, XML, JSON</li>
  * </ul>
  * <p>
+ * Statements are looked up as follows:
+ * <ul>
+ * <li>By their exact SQL string, or their SQL string with inlined bind
+ * values</li>
+ * <li>By their SQL string normalised through the jOOQ parser and renderer, see
+ * {@link #normalise(boolean)}</li>
+ * <li>By regular expression, see {@link #patterns(boolean)}</li>
+ * </ul>
+ * <p>
+ * The file is loaded lazily, when the first statement is executed, or when
+ * {@link #load()} is called explicitly.
+ * <p>
  * This implementation is still very experimental and not officially supported!
  *
  * @author Lukas Eder
@@ -118,13 +137,23 @@ import org.jooq.tools.JooqLogger;
  */
 public class MockFileDatabase implements MockDataProvider {
 
-    private static final JooqLogger              log = JooqLogger.getLogger(MockFileDatabase.class);
+    private static final JooqLogger              log                 = JooqLogger.getLogger(MockFileDatabase.class);
+
+    /**
+     * The maximum number of normalised SQL strings that are cached.
+     */
+    private static final int                     MAX_NORMALISED      = 10000;
 
     private final LineNumberReader               in;
     private final Map<String, List<MockResult>>  matchExactly;
-    private final Map<Pattern, List<MockResult>> matchPattern;
+    private final Map<String, List<MockResult>>  matchNormalised;
+    private final Map<String, String>            normalised;
+    private final PatternIndex                   matchPattern;
     private final DSLContext                     create;
     private String                               nullLiteral;
+    private boolean                              normalise           = true;
+    private boolean                              patterns;
+    private volatile boolean                     loaded;
 
     public MockFileDatabase(File file) throws IOException {
         this(file, "UTF-8");
@@ -162,18 +191,98 @@ public class MockFileDatabase implements MockDataProvider {
         return this;
     }
 
+    /**
+     * Specify whether statements should also be looked up by their SQL
+     * string, normalised through the jOOQ parser and renderer.
+     * <p>
+     * This allows for matching statements that differ only in formatting,
+     * e.g. in whitespace or keyword case. Statements that cannot be parsed are
+     * looked up by their SQL string only. Normalisation is active by default.
+     * <p>
+     * This must be specified before the file is loaded.
+     */
+    public MockFileDatabase normalise(boolean n) {
+        this.normalise = n;
+        return this;
+    }
+
+    /**
+     * Specify whether statements in the file should also be interpreted as
+     * regular expressions, which are matched against executed statements if
+     * there is no exact match.
+     * <p>
+     * Patterns are indexed by their leading keyword and by the first table
+     * they reference, if these are literals, such that only a small number of
+     * patterns need to be evaluated per statement. If several patterns match
+     * a statement, the first one in the file is used.
+     * <p>
+     * This must be specified before the file is loaded.
+     */
+    public MockFileDatabase patterns(boolean p) {
+        this.patterns = p;
+        return this;
+    }
+
     private MockFileDatabase(LineNumberReader reader) throws IOException {
         this.in = reader;
         this.matchExactly = new LinkedHashMap<String, List<MockResult>>();
-        this.matchPattern = new LinkedHashMap<Pattern, List<MockResult>>();
+        this.matchNormalised = new HashMap<String, List<MockResult>>();
+        this.normalised = new ConcurrentHashMap<String, String>();
+        this.matchPattern = new PatternIndex();
         this.create = DSL.using(SQLDialect.DEFAULT);
-
-        load();
     }
 
     private static final Pattern END_OF_STATEMENT = Pattern.compile("^(.*?);[ \t]*$");
 
-    private void load() throws FileNotFoundException, IOException {
+    /**
+     * Load the file, if this hasn't happened yet.
+     * <p>
+     * Loading happens lazily, when the first statement is executed. Calling
+     * this method explicitly allows for detecting errors in the file early.
+     *
+     * @throws MockFileDatabaseException If the file contents are invalid.
+     */
+    public MockFileDatabase load() throws IOException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load0();
+                    index();
+                    loaded = true;
+                }
+            }
+        }
+
+        return this;
+    }
+
+    private void index() {
+        int ordinal = 0;
+
+        for (Entry<String, List<MockResult>> entry : matchExactly.entrySet()) {
+            if (entry.getValue() == null)
+                continue;
+
+            if (normalise) {
+                String n = normalise0(entry.getKey());
+
+                if (n != null && !matchNormalised.containsKey(n))
+                    matchNormalised.put(n, entry.getValue());
+            }
+
+            if (patterns) {
+                try {
+                    matchPattern.add(ordinal++, Pattern.compile(entry.getKey()), entry.getValue());
+                }
+                catch (PatternSyntaxException ignore) {
+                    if (log.isDebugEnabled())
+                        log.debug("Not a pattern", entry.getKey());
+                }
+            }
+        }
+    }
+
+    private void load0() throws FileNotFoundException, IOException {
 
         // Wrap the below code in a local scope
         new Object() {
@@ -329,11 +438,25 @@ public class MockFileDatabase implements MockDataProvider {
      */
     @Deprecated
     public Map<String, List<MockResult>> queries() {
+        try {
+            load();
+        }
+        catch (IOException e) {
+            throw new MockFileDatabaseException("Error while loading file: " + e.getMessage(), e);
+        }
+
         return matchExactly;
     }
 
     @Override
     public MockResult[] execute(MockExecuteContext ctx) throws SQLException {
+        try {
+            load();
+        }
+        catch (IOException e) {
+            throw new SQLException("Error while loading file", e);
+        }
+
         if (ctx.batch()) {
             throw new SQLFeatureNotSupportedException("Not yet supported");
         }
@@ -350,16 +473,18 @@ public class MockFileDatabase implements MockDataProvider {
                 list = matchExactly.get(inlined);
             }
 
-            // Check for the first pattern match
-            if (list == null) {
-                for (Entry<Pattern, List<MockResult>> entry : matchPattern.entrySet()) {
-                    if (    entry.getKey().matcher(sql).matches()
-                         || entry.getKey().matcher(inlined).matches()) {
-                        list = entry.getValue();
-                    }
-                }
+            // Check again, with normalised SQL
+            if (list == null && normalise && !matchNormalised.isEmpty()) {
+                String n = normalise(inlined);
+
+                if (n != null)
+                    list = matchNormalised.get(n);
             }
 
+            // Check for the first pattern match
+            if (list == null && patterns)
+                list = matchPattern.match(sql, inlined);
+
             if (list == null) {
                 throw new SQLException("Invalid SQL: " + sql);
             }
@@ -367,4 +492,158 @@ public class MockFileDatabase implements MockDataProvider {
             return list.toArray(new MockResult[list.size()]);
         }
     }
+
+    private String normalise(String sql) {
+        String result = normalised.get(sql);
+
+        if (result == null) {
+            result = normalise0(sql);
+
+            // The cache doesn't need to be exact, it just needs to be bounded
+            if (normalised.size() >= MAX_NORMALISED)
+                normalised.clear();
+
+            normalised.put(sql, result == null ? "" : result);
+        }
+
+        return result == null || result.isEmpty() ? null : result;
+    }
+
+    private String normalise0(String sql) {
+        try {
+            Query query = create.parser().parseQuery(sql);
+            return query == null ? null : create.render(query);
+        }
+        catch (RuntimeException e) {
+            if (log.isDebugEnabled())
+                log.debug("Cannot normalise", sql);
+
+            return null;
+        }
+    }
+
+    /**
+     * An index of {@link Pattern}s by leading keyword and first referenced
+     * table.
+     * <p>
+     * Keywords and tables are extracted from a pattern's source only if they
+     * are unambiguous literals, i.e. if any string matching the pattern must
+     * contain them. All other patterns are stored in wildcard buckets, which
+     * are checked for every statement.
+     */
+    private static final class PatternIndex {
+
+        private static final String  ANY           = "";
+        private static final Pattern SQL_KEYWORD   = Pattern.compile("^\\s*([A-Za-z]+)");
+        private static final Pattern REGEX_KEYWORD = Pattern.compile("^([A-Za-z]+)(?:\\s|$)");
+        private static final Pattern TABLE         = Pattern.compile("(?i)(?<=\\s)(?:from|into|update|join)\\s+([A-Za-z0-9_\"]+)");
+        private static final Pattern REGEX_TABLE   = Pattern.compile(TABLE.pattern() + "(?=[\\s,;]|$)");
+
+        private final Map<String, List<IndexedPattern>> buckets = new HashMap<String, List<IndexedPattern>>();
+
+        void add(int ordinal, Pattern pattern, List<MockResult> results) {
+            String source = pattern.pattern();
+            String keyword = ANY;
+            String table = ANY;
+
+            // Groups and alternations may make any literal optional
+            if (!hasGroupsOrAlternations(source)) {
+                Matcher m;
+
+                if ((m = REGEX_KEYWORD.matcher(source)).find())
+                    keyword = m.group(1).toLowerCase(Locale.ROOT);
+
+                if ((m = REGEX_TABLE.matcher(source)).find())
+                    table = key(m.group(1));
+            }
+
+            String bucket = keyword + " " + table;
+            List<IndexedPattern> list = buckets.get(bucket);
+
+            if (list == null) {
+                list = new ArrayList<IndexedPattern>();
+                buckets.put(bucket, list);
+            }
+
+            list.add(new IndexedPattern(ordinal, pattern, results));
+        }
+
+        List<MockResult> match(String sql, String inlined) {
+            if (buckets.isEmpty())
+                return null;
+
+            List<String> keywords = new ArrayList<String>();
+            List<String> tables = new ArrayList<String>();
+            Matcher m;
+
+            keywords.add(ANY);
+            if ((m = SQL_KEYWORD.matcher(sql)).find())
+                keywords.add(m.group(1).toLowerCase(Locale.ROOT));
+
+            tables.add(ANY);
+            m = TABLE.matcher(sql);
+            while (m.find()) {
+                String table = key(m.group(1));
+
+                if (!tables.contains(table))
+                    tables.add(table);
+            }
+
+            List<IndexedPattern> candidates = new ArrayList<IndexedPattern>();
+            for (String keyword : keywords) {
+                for (String table : tables) {
+                    List<IndexedPattern> list = buckets.get(keyword + " " + table);
+
+                    if (list != null)
+                        candidates.addAll(list);
+                }
+            }
+
+            Collections.sort(candidates, IndexedPattern.COMPARATOR);
+
+            for (IndexedPattern candidate : candidates)
+                if (    candidate.pattern.matcher(sql).matches()
+                     || inlined != null && candidate.pattern.matcher(inlined).matches())
+                    return candidate.results;
+
+            return null;
+        }
+
+        private static boolean hasGroupsOrAlternations(String source) {
+            for (int i = 0; i < source.length(); i++) {
+                char c = source.charAt(i);
+
+                if (c == '\\')
+                    i++;
+                else if (c == '(' || c == '|')
+                    return true;
+            }
+
+            return false;
+        }
+
+        private static String key(String table) {
+            return table.replace("\"", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class IndexedPattern {
+
+        static final Comparator<IndexedPattern> COMPARATOR = new Comparator<IndexedPattern>() {
+            @Override
+            public int compare(IndexedPattern o1, IndexedPattern o2) {
+                return o1.ordinal < o2.ordinal ? -1 : o1.ordinal == o2.ordinal ? 0 : 1;
+            }
+        };
+
+        final int                               ordinal;
+        final Pattern                           pattern;
+        final List<MockResult>                  results;
+
+        IndexedPattern(int ordinal, Pattern pattern, List<MockResult> results) {
+            this.ordinal = ordinal;
+            this.pattern = pattern;
+            this.results = results;
+        }
+    }
 }
@@ -85,6 +85,7 @@ public class MockStatement extends JDBC41Statement implements CallableStatement
     private final MockConnection        connection;
 
     private final MockDataProvider      data;
+    private final boolean               prepared;
     private final List<String>          sql;
     private final List<List<Object>>    bindings;
     private final List<Integer>         outParameterTypes;
@@ -112,6 +113,7 @@ public class MockStatement extends JDBC41Statement implements CallableStatement
     public MockStatement(MockConnection connection, MockDataProvider data, String sql) {
         this.connection = connection;
         this.data = data;
+        this.prepared = sql != null;
         this.sql = new ArrayList<String>();
         this.bindings = new ArrayList<List<Object>>();
         this.outParameterTypes = new ArrayList<Integer>();
@@ -310,7 +312,13 @@ public class MockStatement extends JDBC41Statement implements CallableStatement
     @Override
     public void clearBatch() throws SQLException {
         checkNotClosed();
-        sql.clear();
+
+        // A prepared statement's SQL is not part of its batch
+        if (prepared)
+            sql.subList(1, sql.size()).clear();
+        else
+            sql.clear();
+
         bindings.clear();
         bindings.add(new ArrayList<Object>());
     }
@@ -323,7 +331,14 @@ public class MockStatement extends JDBC41Statement implements CallableStatement
         for (int i = 0; i < bindings.size() - 1; i++)
             matrix[i] = bindings.get(i).toArray();
 
-        result = data.execute(new MockExecuteContext(sql.toArray(new String[0]), matrix));
+        try {
+            result = data.execute(new MockExecuteContext(sql.toArray(new String[0]), matrix));
+        }
+
+        // The batch is reset, regardless of the outcome
+        finally {
+            clearBatch();
+        }
 
         int[] rows = new int[result.length];
         for (int i = 0; i < result.length; i++)